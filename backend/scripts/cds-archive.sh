@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Builds a class data sharing (CDS) archive from a training run and a launcher that uses it.
+#
+#   scripts/cds-archive.sh            -> target/cds/run.sh
+#
+# 1. Packages the backend and the llm-simulator (SKIP_BUILD=true reuses the existing jars).
+# 2. Extracts the Spring Boot jar into target/cds, since CDS only archives classes from plain jars.
+# 3. Runs the application once with cds.training.enabled and -XX:ArchiveClassesAtExit: boot, one
+#    session with a photo and one streamed chat turn (see CdsTrainingRun). The LLM is the simulator
+#    without delays; database, uploads and archive live in a temporary directory.
+# 4. Writes target/cds/run.sh, which starts the same jar with the archive.
+#
+# The archive only matches the JDK and the jars it was built with: rebuild it with the jar, on the
+# JDK that runs it. A JVM that cannot use it logs a warning and starts without it.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+BACKEND=$(pwd)
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR_NAME=sinsay-poc-0.0.1-SNAPSHOT.jar
+SIMULATOR_JAR=$BACKEND/../llm-simulator/target/llm-simulator-0.0.1-SNAPSHOT.jar
+OUT=$BACKEND/target/cds
+SIM_PORT=${SIM_PORT:-8099}
+TRAIN_PORT=${TRAIN_PORT:-8098}
+
+if [ "${SKIP_BUILD:-false}" != true ]; then
+  ./mvnw -q -DskipTests package
+  ./mvnw -q -DskipTests -f ../llm-simulator/pom.xml package
+fi
+
+rm -rf "$OUT"
+"$JAVA" -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$OUT"
+
+WORK=$(mktemp -d)
+"$JAVA" -jar "$SIMULATOR_JAR" --port="$SIM_PORT" --ttft-ms=0 --tokens-per-second=0 --jitter=0 \
+  > "$WORK/simulator.log" 2>&1 &
+SIM_PID=$!
+trap 'kill $SIM_PID 2> /dev/null || true; rm -rf "$WORK"' EXIT
+# Up to 30 s; a simulator that exits or never answers fails the build instead of hanging it
+for attempt in $(seq 1 300); do
+  curl -s -o /dev/null "http://localhost:$SIM_PORT/" && break
+  if [ "$attempt" -eq 300 ] || ! kill -0 "$SIM_PID" 2> /dev/null; then
+    cat "$WORK/simulator.log" >&2
+    echo "llm-simulator did not start on port $SIM_PORT" >&2
+    exit 1
+  fi
+  sleep 0.1
+done
+
+# Started from an empty directory, so a developer ../.env cannot point the run at a real provider.
+# The management server runs as in production, on a free port, so its classes land in the archive
+mkdir "$WORK/run"
+if ! (cd "$WORK/run" && \
+      SPRING_PROFILES_ACTIVE=prod SERVER_PORT=$TRAIN_PORT MANAGEMENT_PORT=0 CDS_TRAINING=true \
+      SQLITE_PATH="$WORK/training.db" POLICY_DOCS_PATH="$BACKEND/../docs" \
+      OPENAI_BASE_URL="http://localhost:$SIM_PORT/v1" OPENAI_API_KEY=simulator OPENAI_PREWARM_CONNECTIONS=0 \
+      "$JAVA" -XX:ArchiveClassesAtExit="$OUT/application.jsa" -jar "$OUT/$JAR_NAME" > "$WORK/training.log" 2>&1); then
+  cat "$WORK/training.log" >&2
+  rm -f "$OUT/application.jsa"
+  echo "Training run failed, no archive written" >&2
+  exit 1
+fi
+
+cat > "$OUT/run.sh" <<EOF
+#!/bin/sh
+# Starts the backend with the class data sharing archive built by scripts/cds-archive.sh
+DIR=\$(cd "\$(dirname "\$0")" && pwd)
+exec "\${JAVA_HOME:+\$JAVA_HOME/bin/}java" -XX:SharedArchiveFile="\$DIR/application.jsa" \$JAVA_OPTS -jar "\$DIR/$JAR_NAME" "\$@"
+EOF
+chmod +x "$OUT/run.sh"
+echo "Archive: $OUT/application.jsa ($(du -h "$OUT/application.jsa" | cut -f1)), launcher: $OUT/run.sh"
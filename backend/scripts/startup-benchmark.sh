@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Measures cold start and resident memory of one backend build.
+#
+#   scripts/startup-benchmark.sh <label> <command...>
+#
+# Starts the command RUNS times (default 5) against a fresh SQLite file, waits until
+# /actuator/health on the management port (MANAGEMENT_PORT, default 8081) reports UP and records
+# Spring's "Started ... in X seconds", the time until the health check answered, the RSS at that
+# moment and the latency of the first API request (an agent session search: MVC, JPA and Jackson
+# on a cold path). Prints the medians and appends them to startup-benchmark.md, so the JVM, CDS
+# and native builds can be compared on the same machine:
+#
+#   scripts/startup-benchmark.sh jvm java -jar target/sinsay-poc-0.0.1-SNAPSHOT.jar
+#   scripts/startup-benchmark.sh cds target/cds/run.sh
+#   scripts/startup-benchmark.sh native target/sinsay
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+  echo "usage: $0 <label> <command...>" >&2
+  exit 2
+fi
+
+LABEL=$1
+shift
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8081}
+RESULTS=${RESULTS:-startup-benchmark.md}
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+export SERVER_PORT=$PORT
+export MANAGEMENT_PORT
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-prod}
+export OPENAI_API_KEY=${OPENAI_API_KEY:-benchmark}
+export AGENT_API_TOKEN=${AGENT_API_TOKEN:-benchmark}
+# Measure the application, not the network: no connection prewarm to the provider
+export OPENAI_PREWARM_CONNECTIONS=0
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+for run in $(seq 1 "$RUNS"); do
+  export SQLITE_PATH="$WORK/run-$run.db"
+  start=$(date +%s%N)
+  "$@" > "$WORK/run-$run.log" 2>&1 &
+  pid=$!
+
+  until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health" > /dev/null; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "run $run: process exited, see log below" >&2
+      cat "$WORK/run-$run.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+  first_ms=$(curl -sf -o /dev/null -w '%{time_total}' -H "Authorization: Bearer $AGENT_API_TOKEN" \
+    "http://localhost:$PORT/api/agent/sessions" \
+    | awk '{ printf "%d", $1 * 1000 }')
+  started_s=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$WORK/run-$run.log" | awk '{ print $4 }')
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+
+  echo "$started_s $ready_ms $rss_kb $first_ms" >> "$WORK/samples"
+  echo "run $run: started in ${started_s}s, healthy after ${ready_ms} ms, RSS $((rss_kb / 1024)) MB, first request ${first_ms} ms"
+done
+
+started=$(awk '{ print $1 }' "$WORK/samples" | median)
+ready=$(awk '{ print $2 }' "$WORK/samples" | median)
+rss=$(awk '{ print $3 }' "$WORK/samples" | median)
+first=$(awk '{ print $4 }' "$WORK/samples" | median)
+rss_mb=$(awk -v kb="$rss" 'BEGIN { printf "%.0f", kb / 1024 }')
+
+if [ ! -f "$RESULTS" ]; then
+  printf '| Build | Date | Runs | Started (s) | Healthy (ms) | First request (ms) | RSS (MB) |\n|---|---|---|---|---|---|---|\n' > "$RESULTS"
+fi
+printf '| %s | %s | %s | %s | %s | %s | %s |\n' "$LABEL" "$(date +%F)" "$RUNS" "$started" "$ready" "$first" "$rss_mb" >> "$RESULTS"
+echo "$LABEL: median started ${started}s, healthy ${ready} ms, first request ${first} ms, RSS ${rss_mb} MB (appended to $RESULTS)"
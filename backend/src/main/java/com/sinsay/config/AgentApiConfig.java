@@ -0,0 +1,25 @@
+package com.sinsay.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Access to the agent API under {@code /api/agent}: lookups across all sessions, for support
+ * agents only. A session id is the only credential for the customer endpoints, so anything that
+ * lists sessions must not be reachable without the agent token ({@code agent.api-token}).
+ */
+@Configuration
+public class AgentApiConfig implements WebMvcConfigurer {
+
+    static final String AGENT_API_PATH = "/api/agent/**";
+
+    @Value("${agent.api-token:}")
+    private String agentApiToken;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AgentTokenInterceptor(agentApiToken)).addPathPatterns(AGENT_API_PATH);
+    }
+}
@@ -0,0 +1,473 @@
+package com.sinsay.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.openai.core.RequestOptions;
+import com.openai.core.http.Headers;
+import com.openai.core.http.HttpClient;
+import com.openai.core.http.HttpRequest;
+import com.openai.core.http.HttpRequestBody;
+import com.openai.core.http.HttpResponse;
+import com.openai.errors.OpenAIIoException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records OpenAI traffic to gzip-compressed cassette files and replays it, so that benchmarks of
+ * the streaming path run against identical model output with identical timing.
+ * <p>
+ * Each interaction is stored with its request fingerprint, status, headers and the response body
+ * as a timeline of chunks, each with its offset from the start of the request. Replay serves the
+ * chunks at the recorded offsets divided by the speed factor (0 = as fast as possible). Requests
+ * recorded several times are replayed in turn. A request with no cassette fails instead of going
+ * to the network.
+ * <p>
+ * Sits below the SDK's retrying client, so retried attempts are recorded and replayed as well.
+ */
+@Slf4j
+public class CassetteHttpClient implements HttpClient {
+
+    private static final String SUFFIX = ".json.gz";
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private final HttpClient delegate;
+    private final Mode mode;
+    private final Path directory;
+    private final double speed;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // RECORD: next file number per fingerprint; REPLAY: recordings per fingerprint and replay position
+    private final Map<String, AtomicInteger> recordCounters = new ConcurrentHashMap<>();
+    private final Map<String, List<JsonNode>> cassettes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> replayPositions = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate  Real transport; only called in RECORD mode
+     * @param mode      RECORD or REPLAY
+     * @param directory Cassette directory
+     * @param speed     Replay speed factor: 1 = recorded timing, 10 = ten times faster, 0 = no delays
+     */
+    public CassetteHttpClient(HttpClient delegate, Mode mode, Path directory, double speed) {
+        this.delegate = delegate;
+        this.mode = mode;
+        this.directory = directory;
+        this.speed = speed;
+        try {
+            if (mode == Mode.RECORD) {
+                Files.createDirectories(directory);
+            } else if (mode == Mode.REPLAY) {
+                load();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open cassette directory " + directory, e);
+        }
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request, RequestOptions requestOptions) {
+        byte[] body = bodyBytes(request);
+        String fingerprint = fingerprint(request, body);
+        if (mode == Mode.REPLAY) {
+            long start = System.nanoTime();
+            JsonNode interaction = next(fingerprint);
+            sleepUntil(start, interaction.path("headersMs").asLong());
+            return new ReplayResponse(interaction, start);
+        }
+        long start = System.nanoTime();
+        HttpResponse response = delegate.execute(withBody(request, body), requestOptions);
+        return new RecordingResponse(response, request, body, fingerprint, start);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request, RequestOptions requestOptions) {
+        byte[] body = bodyBytes(request);
+        String fingerprint = fingerprint(request, body);
+        if (mode == Mode.REPLAY) {
+            JsonNode interaction;
+            try {
+                interaction = next(fingerprint);
+            } catch (OpenAIIoException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            long start = System.nanoTime();
+            long delayMs = scaled(interaction.path("headersMs").asLong());
+            return CompletableFuture.supplyAsync(() -> new ReplayResponse(interaction, start),
+                    CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS));
+        }
+        long start = System.nanoTime();
+        return delegate.executeAsync(withBody(request, body), requestOptions)
+                .thenApply(response -> new RecordingResponse(response, request, body, fingerprint, start));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * @return Number of recorded interactions available for replay
+     */
+    public int size() {
+        return cassettes.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * SHA-256 of the method, path and request body with object keys sorted. The {@code model}
+     * field is left out: the router picks it from live latency, so it may differ between the
+     * recording and the replay of the same workload.
+     */
+    String fingerprint(HttpRequest request, byte[] body) {
+        StringBuilder canonical = new StringBuilder()
+                .append(request.method()).append(' ')
+                .append(String.join("/", request.pathSegments())).append('\n');
+        if (body.length > 0) {
+            try {
+                JsonNode json = objectMapper.readTree(body);
+                if (json instanceof ObjectNode object) {
+                    object.remove("model");
+                }
+                canonical.append(objectMapper.writeValueAsString(sorted(json)));
+            } catch (IOException e) {
+                // Not JSON: fingerprint the raw bytes
+                canonical.append(new String(body, StandardCharsets.UTF_8));
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object sorted(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, Object> fields = new TreeMap<>();
+            node.fields().forEachRemaining(field -> fields.put(field.getKey(), sorted(field.getValue())));
+            return fields;
+        }
+        if (node.isArray()) {
+            List<Object> items = new ArrayList<>();
+            node.forEach(item -> items.add(sorted(item)));
+            return items;
+        }
+        return node;
+    }
+
+    private JsonNode next(String fingerprint) {
+        List<JsonNode> recordings = cassettes.get(fingerprint);
+        if (recordings == null || recordings.isEmpty()) {
+            throw new OpenAIIoException("No cassette recorded for request " + fingerprint);
+        }
+        int position = replayPositions.computeIfAbsent(fingerprint, key -> new AtomicInteger()).getAndIncrement();
+        return recordings.get(position % recordings.size());
+    }
+
+    private void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Cassette directory does not exist");
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            List<Path> sorted = new ArrayList<>();
+            files.forEach(sorted::add);
+            // File names end with the recording number, so replay keeps the recorded order
+            sorted.sort(null);
+            for (Path file : sorted) {
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                    JsonNode interaction = objectMapper.readTree(in);
+                    cassettes.computeIfAbsent(interaction.path("fingerprint").asText(), key -> new ArrayList<>())
+                            .add(interaction);
+                }
+            }
+        }
+        log.info("Loaded {} recorded OpenAI interactions from {}", size(), directory);
+    }
+
+    private void save(ObjectNode interaction) {
+        String fingerprint = interaction.path("fingerprint").asText();
+        int number = recordCounters.computeIfAbsent(fingerprint, this::existingRecordings).getAndIncrement();
+        Path file = directory.resolve(String.format("%s-%04d%s", fingerprint, number, SUFFIX));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            objectMapper.writeValue(out, interaction);
+        } catch (IOException e) {
+            log.warn("Could not write cassette {}: {}", file, e.getMessage());
+        }
+    }
+
+    private AtomicInteger existingRecordings(String fingerprint) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, fingerprint + "-*" + SUFFIX)) {
+            int count = 0;
+            for (Iterator<Path> it = files.iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return new AtomicInteger(count);
+        } catch (IOException e) {
+            return new AtomicInteger();
+        }
+    }
+
+    private long scaled(long millis) {
+        return speed > 0 ? Math.round(millis / speed) : 0;
+    }
+
+    private void sleepUntil(long startNanos, long offsetMs) {
+        long remainingNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(scaled(offsetMs)) - System.nanoTime();
+        if (remainingNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OpenAIIoException("Interrupted while replaying", e);
+            }
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * The body is read once for the fingerprint, so the request is rebuilt with the buffered bytes.
+     */
+    private static byte[] bodyBytes(HttpRequest request) {
+        if (request.body() == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        request.body().writeTo(buffer);
+        return buffer.toByteArray();
+    }
+
+    private static HttpRequest withBody(HttpRequest request, byte[] body) {
+        if (request.body() == null) {
+            return request;
+        }
+        return request.toBuilder().body(new BufferedBody(body, request.body().contentType())).build();
+    }
+
+    private record BufferedBody(byte[] bytes, String contentType) implements HttpRequestBody {
+
+        @Override
+        public void writeTo(OutputStream outputStream) {
+            try {
+                outputStream.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long contentLength() {
+            return bytes.length;
+        }
+
+        @Override
+        public boolean repeatable() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Passes the real response through, noting when each chunk arrived; the cassette is written
+     * when the SDK closes the response.
+     */
+    private class RecordingResponse implements HttpResponse {
+
+        private final HttpResponse response;
+        private final ObjectNode interaction;
+        private final ArrayNode chunks;
+        private final long start;
+        private final InputStream body;
+        private boolean saved;
+
+        RecordingResponse(HttpResponse response, HttpRequest request, byte[] requestBody, String fingerprint,
+                          long start) {
+            this.response = response;
+            this.start = start;
+            interaction = objectMapper.createObjectNode();
+            interaction.put("fingerprint", fingerprint);
+            interaction.put("recordedAt", Instant.now().toString());
+            interaction.put("method", request.method().name());
+            interaction.put("path", String.join("/", request.pathSegments()));
+            interaction.put("request", new String(requestBody, StandardCharsets.UTF_8));
+            interaction.put("status", response.statusCode());
+            interaction.put("headersMs", elapsedMs(start));
+            ObjectNode headers = interaction.putObject("headers");
+            response.headers().names().forEach(name -> {
+                ArrayNode values = headers.putArray(name);
+                response.headers().values(name).forEach(values::add);
+            });
+            chunks = interaction.putArray("chunks");
+            body = new FilterInputStream(response.body()) {
+                @Override
+                public int read() throws IOException {
+                    byte[] single = new byte[1];
+                    int read = read(single, 0, 1);
+                    return read < 0 ? -1 : single[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        recordChunk(buffer, offset, read);
+                    }
+                    return read;
+                }
+            };
+        }
+
+        private synchronized void recordChunk(byte[] buffer, int offset, int length) {
+            ObjectNode chunk = chunks.addObject();
+            chunk.put("offsetMs", elapsedMs(start));
+            chunk.put("data", Base64.getEncoder().encodeToString(
+                    Arrays.copyOfRange(buffer, offset, offset + length)));
+        }
+
+        @Override
+        public int statusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public Headers headers() {
+            return response.headers();
+        }
+
+        @Override
+        public InputStream body() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            synchronized (this) {
+                if (!saved) {
+                    saved = true;
+                    save(interaction);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves a recorded response, releasing each chunk at its scaled offset.
+     */
+    private class ReplayResponse implements HttpResponse {
+
+        private final JsonNode interaction;
+        private final Headers headers;
+        private final InputStream body;
+
+        ReplayResponse(JsonNode interaction, long start) {
+            this.interaction = interaction;
+            Headers.Builder builder = Headers.builder();
+            interaction.path("headers").fields().forEachRemaining(header -> {
+                List<String> values = new ArrayList<>();
+                header.getValue().forEach(value -> values.add(value.asText()));
+                builder.put(header.getKey(), values);
+            });
+            headers = builder.build();
+            body = new ReplayInputStream(interaction.path("chunks").elements(), start);
+        }
+
+        @Override
+        public int statusCode() {
+            return interaction.path("status").asInt();
+        }
+
+        @Override
+        public Headers headers() {
+            return headers;
+        }
+
+        @Override
+        public InputStream body() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private class ReplayInputStream extends InputStream {
+
+        private final Iterator<JsonNode> chunks;
+        private final long start;
+        private byte[] current = new byte[0];
+        private int position;
+
+        ReplayInputStream(Iterator<JsonNode> chunks, long start) {
+            this.chunks = chunks;
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position == current.length) {
+                if (!chunks.hasNext()) {
+                    return -1;
+                }
+                JsonNode chunk = chunks.next();
+                try {
+                    sleepUntil(start, chunk.path("offsetMs").asLong());
+                } catch (OpenAIIoException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+                current = Base64.getDecoder().decode(chunk.path("data").asText());
+                position = 0;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sinsay.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Training workload for the class data sharing (CDS) archive built by {@code scripts/cds-archive.sh}.
+ * Only registered when {@code cds.training.enabled} is {@code true}: the application then goes
+ * through one customer journey over its own HTTP port as soon as it is ready, and exits. The JVM runs with
+ * {@code -XX:ArchiveClassesAtExit}, so the archive holds every class that boot and the journey
+ * loaded: Tomcat, multipart parsing, ImageIO, Jackson, Hibernate, the OpenAI SDK over OkHttp and
+ * the SSE path (see {@link CustomerJourney}). The LLM is the llm-simulator and the database a
+ * throwaway file, both set up by the script.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cds.training.enabled", havingValue = "true")
+public class CdsTrainingRun {
+
+    private final ObjectMapper objectMapper;
+
+    public CdsTrainingRun(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new CustomerJourney(objectMapper).run("http://localhost:" + port);
+            log.info("CDS training run finished, exiting so the class archive is written");
+        } catch (IOException | RuntimeException e) {
+            // A partial run still writes an archive; the exit code tells the script to discard it
+            log.error("CDS training run failed", e);
+            exitCode = 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,110 @@
+package com.sinsay.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * One customer journey over HTTP, as the frontend drives it: session creation with a photo, one
+ * streamed chat turn and the session read. Used as the workload of the CDS training run and the
+ * JIT warm-up.
+ */
+final class CustomerJourney {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+    CustomerJourney(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs the journey against the backend at {@code baseUrl}; any step not answered with 200 fails it.
+     */
+    void run(String baseUrl) throws IOException, InterruptedException {
+        String boundary = "----customer-journey-" + UUID.randomUUID();
+        byte[] multipart = multipart(boundary, samplePhoto());
+        HttpResponse<String> created = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sessions"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart)), HttpResponse.BodyHandlers.ofString());
+        JsonNode analysis = objectMapper.readTree(created.body());
+        String sessionId = analysis.path("sessionId").asText();
+
+        String chatBody = objectMapper.createObjectNode().set("messages", objectMapper.createArrayNode()
+                .add(objectMapper.createObjectNode()
+                        .put("role", "assistant")
+                        .put("content", analysis.path("message").asText()))
+                .add(objectMapper.createObjectNode()
+                        .put("role", "user")
+                        .put("content", "Ile czasu trwa rozpatrzenie reklamacji?"))).toString();
+        // The stream closes once both messages are persisted, so reading it to the end covers the write path
+        HttpResponse<InputStream> chat = send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/sessions/" + sessionId + "/messages"))
+                        .header("Content-Type", "application/json")
+                        .header("Accept", "text/event-stream")
+                        .POST(HttpRequest.BodyPublishers.ofString(chatBody)),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream stream = chat.body()) {
+            stream.transferTo(OutputStream.nullOutputStream());
+        }
+
+        send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/sessions/" + sessionId)).GET(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpResponse<T> response = client.send(request.timeout(REQUEST_TIMEOUT).build(), handler);
+        if (response.statusCode() != 200) {
+            throw new IOException(request.build().uri() + " answered " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static byte[] samplePhoto() throws IOException {
+        BufferedImage image = new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(0xC8B7A6));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.setColor(new Color(0x3F4A5C));
+        graphics.fillOval(300, 200, 600, 500);
+        graphics.dispose();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        return jpeg.toByteArray();
+    }
+
+    private static byte[] multipart(String boundary, byte[] photo) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (String[] field : new String[][]{
+                {"intent", "COMPLAINT"},
+                {"orderNumber", "PL123456"},
+                {"productName", "Sukienka midi"},
+                {"description", "Rozszedł się szew po pierwszym praniu"}}) {
+            body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field[0]
+                    + "\"\r\n\r\n" + field[1] + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"image\"; "
+                + "filename=\"photo.jpg\"\r\nContent-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(photo);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+}
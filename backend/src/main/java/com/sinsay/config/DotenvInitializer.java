@@ -8,6 +8,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -16,9 +18,19 @@ import java.util.Map;
 @Component
 public class DotenvInitializer implements EnvironmentAware {
 
+    private final ApplicationStartup applicationStartup;
+
+    public DotenvInitializer(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
     @Override
     public void setEnvironment(Environment environment) {
-        if (environment instanceof StandardEnvironment standardEnv) {
+        // Turned off for the JIT warm-up instance, which must keep its stub LLM (see WarmUpRunner)
+        if (environment instanceof StandardEnvironment standardEnv
+                && environment.getProperty("dotenv.enabled", Boolean.class, true)) {
+            // spring-dotenv has already parsed the same file while the environment was prepared
+            StartupStep step = applicationStartup.start("sinsay.dotenv.load");
             try {
                 Dotenv dotenv = Dotenv.configure()
                         .directory("../")
@@ -55,6 +67,7 @@ public class DotenvInitializer implements EnvironmentAware {
                     System.out.println("Dotenv: Set openrouter.api-key = " + openrouterApiKey.substring(0, Math.min(20, openrouterApiKey.length())) + "...");
                 }
 
+                step.tag("properties", String.valueOf(envMap.size()));
                 if (!envMap.isEmpty()) {
                     PropertySource<?> propertySource = new MapPropertySource("dotenvProperties", envMap);
                     standardEnv.getPropertySources().addFirst(propertySource);
@@ -62,6 +75,8 @@ public class DotenvInitializer implements EnvironmentAware {
                 }
             } catch (DotenvException e) {
                 System.out.println("Dotenv: No .env file found (using system env vars or defaults)");
+            } finally {
+                step.end();
             }
         }
     }
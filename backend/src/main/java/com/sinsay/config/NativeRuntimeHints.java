@@ -0,0 +1,84 @@
+package com.sinsay.config;
+
+import com.sinsay.model.CompressedTextConverter;
+import com.sinsay.model.SnapshotBodyConverter;
+import com.sinsay.model.UuidV7Generator;
+import com.sinsay.service.SseStreamEncoder;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Reachability metadata for the native image that Spring AOT cannot derive from the bean
+ * definitions. Entities, repositories and Lombok-generated accessors are covered by the hints
+ * AOT derives from the JPA managed types; the OpenAI SDK (openai-java-core) and the SQLite JDBC
+ * driver ship their own {@code META-INF/native-image} metadata.
+ * Anything only reached at runtime by a class name, a resource path or Jackson goes here.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** Community dialects are not in the metadata hibernate-core ships. */
+    static final String SQLITE_DIALECT = "org.hibernate.community.dialect.SQLiteDialect";
+
+    private static final String[] JACKSON_DTO_PACKAGES = {
+            "com/sinsay/controller/dto",
+            "com/sinsay/service/dto"};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Named by spring.jpa.database-platform in the prod profile and instantiated by Hibernate
+        hints.reflection().registerType(TypeReference.of(SQLITE_DIALECT),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // Created reflectively by Hibernate from @UuidV7 and @Convert
+        hints.reflection().registerType(UuidV7Generator.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(CompressedTextConverter.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(SnapshotBodyConverter.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // Flyway scans one migration folder per vendor; the compression dictionaries are loaded by path
+        hints.resources().registerPattern("db/migration/*/*.sql");
+        hints.resources().registerPattern("compression/*.txt");
+        // DotenvInitializer reads ../.env from disk, but dotenv-java and spring-dotenv both fall
+        // back to the classpath, which only works when these names are in the image
+        hints.resources().registerPattern(".env");
+        hints.resources().registerPattern(".env.properties");
+
+        // Request and response bodies, the archive/snapshot JSON and the SSE event records are
+        // (de)serialized by Jackson; ResponseEntity<?> handlers hide their types from AOT
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (String dtoPackage : JACKSON_DTO_PACKAGES) {
+            for (Class<?> type : classesIn(dtoPackage, classLoader)) {
+                bindings.registerReflectionHints(hints.reflection(), type);
+            }
+        }
+        bindings.registerReflectionHints(hints.reflection(), SseStreamEncoder.class.getDeclaredClasses());
+    }
+
+    private static Class<?>[] classesIn(String packagePath, ClassLoader classLoader) {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver(classLoader)
+                    .getResources("classpath*:" + packagePath + "/*.class");
+            Class<?>[] types = new Class<?>[resources.length];
+            for (int i = 0; i < resources.length; i++) {
+                String fileName = resources[i].getFilename();
+                String className = packagePath.replace('/', '.') + "."
+                        + fileName.substring(0, fileName.length() - ".class".length());
+                types[i] = Class.forName(className, false, classLoader);
+            }
+            return types;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan " + packagePath + " for native hints", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load a class from " + packagePath, e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sinsay.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-phase timings of each call to the LLM provider as the {@code llm.http.client}
+ * timer, tagged by phase: dns, connect, tls, ttfb (call start to response headers) and total
+ * (call start to end of body, i.e. the whole stream). Connection reuse is counted in
+ * {@code llm.http.connections}, tagged {@code reused=true|false}.
+ */
+class OkHttpTimingListener extends EventListener {
+
+    static final String TIMER = "llm.http.client";
+    static final String CONNECTIONS = "llm.http.connections";
+
+    private final Meters meters;
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long tlsStart;
+    private boolean connected;
+    private boolean firstByteSeen;
+
+    private OkHttpTimingListener(Meters meters) {
+        this.meters = meters;
+    }
+
+    /**
+     * @return Factory creating one listener per call, all reporting to the given registry
+     */
+    static EventListener.Factory factory(MeterRegistry registry) {
+        Meters meters = new Meters(registry);
+        return call -> new OkHttpTimingListener(meters);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        meters.dns.record(System.nanoTime() - dnsStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        connectStart = System.nanoTime();
+        connected = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        meters.tls.record(System.nanoTime() - tlsStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        meters.connect.record(System.nanoTime() - connectStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        (connected ? meters.newConnections : meters.reusedConnections).increment();
+        connected = false;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        // Redirects and auth follow-ups run inside the same call; time the first response only
+        if (!firstByteSeen) {
+            firstByteSeen = true;
+            meters.ttfb.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        meters.total.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException e) {
+        meters.failed.record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+    }
+
+    private static class Meters {
+        final Timer dns;
+        final Timer connect;
+        final Timer tls;
+        final Timer ttfb;
+        final Timer total;
+        final Timer failed;
+        final Counter newConnections;
+        final Counter reusedConnections;
+
+        Meters(MeterRegistry registry) {
+            dns = timer(registry, "dns", "success");
+            connect = timer(registry, "connect", "success");
+            tls = timer(registry, "tls", "success");
+            ttfb = timer(registry, "ttfb", "success");
+            total = timer(registry, "total", "success");
+            failed = timer(registry, "total", "failure");
+            newConnections = Counter.builder(CONNECTIONS).tag("reused", "false").register(registry);
+            reusedConnections = Counter.builder(CONNECTIONS).tag("reused", "true").register(registry);
+        }
+
+        private static Timer timer(MeterRegistry registry, String phase, String outcome) {
+            return Timer.builder(TIMER)
+                    .tag("phase", phase)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+        }
+    }
+}
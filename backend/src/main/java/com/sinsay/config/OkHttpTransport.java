@@ -0,0 +1,216 @@
+package com.sinsay.config;
+
+import com.openai.core.RequestOptions;
+import com.openai.core.Timeout;
+import com.openai.core.http.HttpClient;
+import com.openai.core.http.HttpMethod;
+import com.openai.core.http.HttpRequest;
+import com.openai.core.http.HttpRequestBody;
+import com.openai.core.http.HttpResponse;
+import com.openai.errors.OpenAIIoException;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.EventListener;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OpenAI SDK transport on top of a caller-built {@link OkHttpClient}.
+ * The SDK's own OkHttp client does not expose the connection pool, dispatcher, protocols or
+ * event listener, so this adapter lets {@link OpenAIConfig} tune and instrument them.
+ * Retries stay with the SDK, which wraps every transport in its retrying client.
+ */
+@Slf4j
+public class OkHttpTransport implements HttpClient {
+
+    private final OkHttpClient okHttpClient;
+
+    public OkHttpTransport(OkHttpClient okHttpClient) {
+        this.okHttpClient = okHttpClient;
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request, RequestOptions requestOptions) {
+        Call call = clientFor(requestOptions).newCall(toOkHttpRequest(request));
+        try {
+            return new OkHttpResponse(call.execute());
+        } catch (IOException e) {
+            throw new OpenAIIoException("Request failed", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request, RequestOptions requestOptions) {
+        Call call = clientFor(requestOptions).newCall(toOkHttpRequest(request));
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                future.complete(new OkHttpResponse(response));
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new OpenAIIoException("Request failed", e));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Opens connections to the given URL ahead of the first real call, so it does not pay for
+     * DNS, TCP and TLS. The response itself is discarded; only the pooled connection matters.
+     * The requests share the pool and dispatcher but not the event listener, so they stay out of
+     * the provider latency metrics.
+     *
+     * @param url         Any URL on the provider's host
+     * @param connections Number of concurrent requests to send (one is enough over HTTP/2)
+     */
+    public void prewarm(String url, int connections) {
+        Request request = new Request.Builder().url(url).head().build();
+        OkHttpClient unmetered = okHttpClient.newBuilder().eventListener(EventListener.NONE).build();
+        for (int i = 0; i < connections; i++) {
+            unmetered.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    response.close();
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    log.warn("Could not pre-warm connection to {}: {}", url, e.getMessage());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        okHttpClient.dispatcher().executorService().shutdown();
+        okHttpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Applies per-request timeouts; the derived client shares the pool, dispatcher and listener.
+     */
+    private OkHttpClient clientFor(RequestOptions requestOptions) {
+        Timeout timeout = requestOptions.getTimeout();
+        if (timeout == null || matches(timeout)) {
+            return okHttpClient;
+        }
+        return okHttpClient.newBuilder()
+                .connectTimeout(timeout.connect())
+                .readTimeout(timeout.read())
+                .writeTimeout(timeout.write())
+                .callTimeout(timeout.request())
+                .build();
+    }
+
+    private boolean matches(Timeout timeout) {
+        return timeout.connect().toMillis() == okHttpClient.connectTimeoutMillis()
+                && timeout.read().toMillis() == okHttpClient.readTimeoutMillis()
+                && timeout.write().toMillis() == okHttpClient.writeTimeoutMillis()
+                && timeout.request().toMillis() == okHttpClient.callTimeoutMillis();
+    }
+
+    private static Request toOkHttpRequest(HttpRequest request) {
+        HttpUrl.Builder url = HttpUrl.get(request.baseUrl()).newBuilder();
+        request.pathSegments().forEach(url::addPathSegment);
+        request.queryParams().keys().forEach(key ->
+                request.queryParams().values(key).forEach(value -> url.addQueryParameter(key, value)));
+
+        Headers.Builder headers = new Headers.Builder();
+        request.headers().names().forEach(name ->
+                request.headers().values(name).forEach(value -> headers.add(name, value)));
+
+        RequestBody body = request.body() != null ? new SdkRequestBody(request.body()) : null;
+        HttpMethod method = request.method();
+        if (body == null && (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH)) {
+            body = RequestBody.create(new byte[0], null);
+        }
+        return new Request.Builder()
+                .url(url.build())
+                .headers(headers.build())
+                .method(method.name(), body)
+                .build();
+    }
+
+    private static class SdkRequestBody extends RequestBody {
+
+        private final HttpRequestBody body;
+
+        SdkRequestBody(HttpRequestBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            String contentType = body.contentType();
+            return contentType != null ? MediaType.parse(contentType) : null;
+        }
+
+        @Override
+        public long contentLength() {
+            return body.contentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return !body.repeatable();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) {
+            body.writeTo(sink.outputStream());
+        }
+    }
+
+    private static class OkHttpResponse implements HttpResponse {
+
+        private final Response response;
+        private final com.openai.core.http.Headers headers;
+
+        OkHttpResponse(Response response) {
+            this.response = response;
+            com.openai.core.http.Headers.Builder builder = com.openai.core.http.Headers.builder();
+            response.headers().names().forEach(name -> builder.put(name, response.headers(name)));
+            this.headers = builder.build();
+        }
+
+        @Override
+        public int statusCode() {
+            return response.code();
+        }
+
+        @Override
+        public com.openai.core.http.Headers headers() {
+            return headers;
+        }
+
+        @Override
+        public InputStream body() {
+            return response.body().byteStream();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
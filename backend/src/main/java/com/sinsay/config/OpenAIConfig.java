@@ -1,10 +1,31 @@
 package com.sinsay.config;
 
 import com.openai.client.OpenAIClient;
-import com.openai.client.okhttp.OpenAIOkHttpClient;
+import com.openai.client.OpenAIClientImpl;
+import com.openai.core.ClientOptions;
+import com.openai.core.Timeout;
+import com.openai.core.http.HttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class OpenAIConfig {
@@ -21,12 +42,129 @@ public class OpenAIConfig {
     @Value("${openai.model:openai/gpt-4o-mini}")
     private String model;
 
+    @Value("${openai.http.max-idle-connections:8}")
+    private int maxIdleConnections;
+
+    @Value("${openai.http.keep-alive-ms:300000}")
+    private long keepAliveMs;
+
+    @Value("${openai.http.max-requests-per-host:64}")
+    private int maxRequestsPerHost;
+
+    @Value("${openai.http.http2:true}")
+    private boolean http2;
+
+    @Value("${openai.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.http.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${openai.http.write-timeout-ms:30000}")
+    private long writeTimeoutMs;
+
+    @Value("${openai.http.request-timeout-ms:300000}")
+    private long requestTimeoutMs;
+
+    @Value("${openai.http.max-retries:2}")
+    private int maxRetries;
+
+    @Value("${openai.http.prewarm-connections:1}")
+    private int prewarmConnections;
+
+    @Value("${openai.cassette.mode:off}")
+    private String cassetteMode;
+
+    @Value("${openai.cassette.path:./cassettes}")
+    private String cassettePath;
+
+    @Value("${openai.cassette.speed:1.0}")
+    private double cassetteSpeed;
+
+    /**
+     * Transport shared by every OpenAI call: sized connection pool and dispatcher, HTTP/2 when the
+     * provider offers it, per-phase timeouts and timing metrics (see {@link OkHttpTimingListener}).
+     */
+    @Bean
+    public OkHttpTransport openAITransport(ObjectProvider<MeterRegistry> meterRegistry) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(maxRequestsPerHost, dispatcher.getMaxRequests()));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .writeTimeout(Duration.ofMillis(writeTimeoutMs))
+                .callTimeout(Duration.ofMillis(requestTimeoutMs))
+                .eventListenerFactory(OkHttpTimingListener.factory(
+                        meterRegistry.getIfAvailable(SimpleMeterRegistry::new)))
+                .build();
+        return new OkHttpTransport(okHttpClient);
+    }
+
     @Bean
-    public OpenAIClient openAIClient() {
+    public OpenAIClient openAIClient(OkHttpTransport openAITransport, ApplicationStartup applicationStartup) {
+        StartupStep step = applicationStartup.start("sinsay.openai.client");
+        try {
+            step.tag("cassette-mode", cassetteMode().name());
+            return createClient(openAITransport);
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Fails startup without an API key even when the client itself is created lazily (the
+     * {@code lazy} profile), so a missing key never leaves the app reporting ready.
+     */
+    @PostConstruct
+    void checkApiKey() {
+        apiKey();
+    }
+
+    private OpenAIClient createClient(OkHttpTransport openAITransport) {
+        CassetteHttpClient.Mode mode = cassetteMode();
+        String apiKey = apiKey();
+        HttpClient httpClient = mode == CassetteHttpClient.Mode.OFF
+                ? openAITransport
+                : new CassetteHttpClient(openAITransport, mode, Path.of(cassettePath), cassetteSpeed);
+        return new OpenAIClientImpl(ClientOptions.builder()
+                .httpClient(httpClient)
+                .apiKey(apiKey)
+                .baseUrl(baseUrl)
+                .maxRetries(maxRetries)
+                .timeout(Timeout.builder()
+                        .connect(Duration.ofMillis(connectTimeoutMs))
+                        .read(Duration.ofMillis(readTimeoutMs))
+                        .write(Duration.ofMillis(writeTimeoutMs))
+                        .request(Duration.ofMillis(requestTimeoutMs))
+                        .build())
+                .build());
+    }
+
+    /**
+     * Opens connections to the provider once the application is up, so the first user request
+     * does not pay for DNS, TCP and TLS setup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarmConnections(ApplicationReadyEvent event) {
+        if (prewarmConnections > 0 && cassetteMode() != CassetteHttpClient.Mode.REPLAY) {
+            event.getApplicationContext().getBean(OkHttpTransport.class).prewarm(baseUrl, prewarmConnections);
+        }
+    }
+
+    private String apiKey() {
         String apiKey = openaiApiKey;
         if (apiKey == null || apiKey.isBlank()) {
             apiKey = openrouterApiKey;
         }
+        if ((apiKey == null || apiKey.isBlank()) && cassetteMode() == CassetteHttpClient.Mode.REPLAY) {
+            // Replay never reaches the provider
+            apiKey = "replay";
+        }
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException(
                     "Neither OPENAI_API_KEY nor OPENROUTER_API_KEY is set. " +
@@ -34,10 +172,11 @@ public class OpenAIConfig {
                     "For OpenRouter: Get your key from https://openrouter.ai/keys and set OPENROUTER_API_KEY."
             );
         }
-        return OpenAIOkHttpClient.builder()
-                .apiKey(apiKey)
-                .baseUrl(baseUrl)
-                .build();
+        return apiKey;
+    }
+
+    private CassetteHttpClient.Mode cassetteMode() {
+        return CassetteHttpClient.Mode.valueOf(cassetteMode.trim().toUpperCase(Locale.ROOT));
     }
 
     @Bean
@@ -0,0 +1,89 @@
+package com.sinsay.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite datasources for the prod profile.
+ * SQLite allows a single writer at a time, so writes go through a one-connection pool while
+ * read-only transactions are routed to a separate pool of query-only connections. In WAL mode
+ * readers never block the writer or each other.
+ */
+@Configuration
+@Profile("prod")
+public class SqliteDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${sqlite.cache-size-kib:65536}")
+    private int cacheSizeKib;
+
+    @Value("${sqlite.mmap-size-bytes:268435456}")
+    private long mmapSizeBytes;
+
+    @Value("${sqlite.reader-pool-size:0}")
+    private int readerPoolSize;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriterDataSource() {
+        HikariConfig config = baseConfig("sqlite-writer");
+        config.setMaximumPoolSize(1);
+        config.addDataSourceProperty("journal_mode", "WAL");
+        // Take the write lock when the transaction starts rather than failing with SQLITE_BUSY on upgrade
+        config.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReaderDataSource() {
+        int poolSize = readerPoolSize > 0 ? readerPoolSize : Runtime.getRuntime().availableProcessors();
+        HikariConfig config = baseConfig("sqlite-reader");
+        config.setMaximumPoolSize(poolSize);
+        // Connection.setReadOnly maps to PRAGMA query_only instead of requiring a reopen
+        config.addDataSourceProperty("jdbc.explicit_readonly", "true");
+        config.setReadOnly(true);
+        // The writer creates the database file; readers connect on first use
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Routes each transaction by its read-only flag: the physical connection is only fetched on
+     * first use, after the transaction manager has marked it read-only or not.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("sqliteWriterDataSource") DataSource writer,
+            @Qualifier("sqliteReaderDataSource") DataSource reader) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writer);
+        proxy.setReadOnlyDataSource(reader);
+        return proxy;
+    }
+
+    private HikariConfig baseConfig(String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.addDataSourceProperty("synchronous", "NORMAL");
+        config.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        // Negative cache_size is in KiB rather than pages
+        config.addDataSourceProperty("cache_size", String.valueOf(-cacheSizeKib));
+        config.addDataSourceProperty("mmap_size", String.valueOf(mmapSizeBytes));
+        return config;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sinsay.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.internal.HibernateSchemaManagementTool;
+import org.hibernate.tool.schema.spi.SchemaCreator;
+import org.hibernate.tool.schema.spi.SchemaMigrator;
+import org.hibernate.tool.schema.spi.SchemaValidator;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Startup timeline and lazy initialization.
+ * {@code SinsayApplication} buffers the startup steps, served at {@code /actuator/startup}; besides
+ * Spring's own steps the timeline has {@code sinsay.dotenv.load}, {@code sinsay.openai.client} and
+ * {@code sinsay.hibernate.schema} (Hibernate's schema validation, or creation in tests).
+ * With the {@code lazy} profile, beans are created on first use except the ones that must be done
+ * before the readiness probe turns green, or that would otherwise never run.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaStartupStep(ApplicationStartup applicationStartup) {
+        return properties -> properties.put(AvailableSettings.SCHEMA_MANAGEMENT_TOOL,
+                new StartupStepSchemaManagementTool(applicationStartup));
+    }
+
+    /**
+     * Kept eager under lazy initialization: the .env mapping has to be in the environment before
+     * any other bean reads it, migrations, schema validation and {@link OpenAIConfig}'s API key
+     * check must finish before the app reports ready, and a lazy bean's {@code @Scheduled} methods
+     * would never be scheduled.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (DotenvInitializer.class.isAssignableFrom(beanType)
+                || FlywayMigrationInitializer.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || OpenAIConfig.class.isAssignableFrom(beanType)
+                || Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType))
+                        .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)));
+    }
+
+    /**
+     * Hibernate's own schema tool, with each schema action recorded as a startup step.
+     */
+    static class StartupStepSchemaManagementTool extends HibernateSchemaManagementTool {
+
+        private final ApplicationStartup applicationStartup;
+
+        StartupStepSchemaManagementTool(ApplicationStartup applicationStartup) {
+            this.applicationStartup = applicationStartup;
+        }
+
+        @Override
+        public SchemaValidator getSchemaValidator(Map<String, Object> options) {
+            SchemaValidator validator = super.getSchemaValidator(options);
+            return (metadata, executionOptions, filter) -> record("validate", metadata,
+                    () -> validator.doValidation(metadata, executionOptions, filter));
+        }
+
+        @Override
+        public SchemaMigrator getSchemaMigrator(Map<String, Object> options) {
+            SchemaMigrator migrator = super.getSchemaMigrator(options);
+            return (metadata, executionOptions, filter, target) -> record("update", metadata,
+                    () -> migrator.doMigration(metadata, executionOptions, filter, target));
+        }
+
+        @Override
+        public SchemaCreator getSchemaCreator(Map<String, Object> options) {
+            SchemaCreator creator = super.getSchemaCreator(options);
+            return (metadata, executionOptions, filter, source, target) -> record("create", metadata,
+                    () -> creator.doCreation(metadata, executionOptions, filter, source, target));
+        }
+
+        private void record(String action, Metadata metadata, Runnable schemaAction) {
+            StartupStep step = applicationStartup.start("sinsay.hibernate.schema");
+            step.tag("action", action);
+            step.tag("entities", String.valueOf(metadata.getEntityBindings().size()));
+            try {
+                schemaAction.run();
+            } finally {
+                step.end();
+            }
+        }
+    }
+}
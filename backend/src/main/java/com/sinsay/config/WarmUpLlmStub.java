@@ -0,0 +1,137 @@
+package com.sinsay.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * OpenAI-compatible {@code POST /chat/completions} on a loopback port, answering instantly with a
+ * canned analysis or, for {@code "stream": true}, a canned reply as one chunk per word. The JIT
+ * warm-up points its application context here, so the OpenAI SDK and OkHttp run their real code
+ * without a provider call.
+ */
+final class WarmUpLlmStub implements AutoCloseable {
+
+    private static final String ANALYSIS = """
+            Decyzja: Niejasne - wymaga recenzji ręcznej
+
+            Zdjęcie nie pozwala jednoznacznie ocenić, czy rozejście szwu jest wadą produkcyjną. \
+            Proszę przesłać zdjęcie całego produktu z widoczną metką albo skontaktować się z obsługą klienta.""";
+
+    // Over message-compression.min-length, so the persisted reply takes the compressed path
+    private static final String REPLY = """
+            Reklamację rozpatrujemy w ciągu 14 dni od jej otrzymania. Jeżeli w tym terminie nie otrzyma \
+            Pani odpowiedzi, reklamację uznaje się za zasadną. Odpowiedź wyślemy na adres e-mail podany \
+            w zamówieniu. W razie uznania reklamacji sklep zaproponuje naprawę albo wymianę produktu, \
+            a jeśli nie będzie to możliwe, zwrot pieniędzy. Prosimy zachować dowód zakupu oraz produkt \
+            w obecnym stanie do czasu zakończenia procedury. Jeżeli reklamacja zostanie odrzucona, \
+            otrzyma Pani uzasadnienie decyzji i informację o dalszych krokach, w tym o możliwości \
+            skorzystania z pozasądowych sposobów rozpatrywania sporów.""";
+
+    private final ObjectMapper objectMapper;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private WarmUpLlmStub(ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/chat/completions", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    static WarmUpLlmStub start(ObjectMapper objectMapper) throws IOException {
+        return new WarmUpLlmStub(objectMapper);
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String model = request.path("model").asText("warm-up");
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, model);
+            } else {
+                complete(exchange, model);
+            }
+        }
+    }
+
+    private void complete(HttpExchange exchange, String model) throws IOException {
+        ObjectNode completion = envelope("chat.completion", model);
+        ObjectNode choice = completion.putArray("choices").addObject();
+        choice.put("index", 0);
+        ObjectNode message = choice.putObject("message");
+        message.put("role", "assistant");
+        message.put("content", ANALYSIS);
+        message.putNull("refusal");
+        choice.putNull("logprobs");
+        choice.put("finish_reason", "stop");
+
+        byte[] bytes = objectMapper.writeValueAsBytes(completion);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void stream(HttpExchange exchange, String model) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        String[] words = REPLY.split("(?<= )");
+        for (int i = 0; i < words.length; i++) {
+            ObjectNode delta = objectMapper.createObjectNode();
+            if (i == 0) {
+                delta.put("role", "assistant");
+            }
+            delta.put("content", words[i]);
+            sendEvent(body, chunk(model, delta, null));
+        }
+        sendEvent(body, chunk(model, objectMapper.createObjectNode(), "stop"));
+        body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private ObjectNode chunk(String model, ObjectNode delta, String finishReason) {
+        ObjectNode chunk = envelope("chat.completion.chunk", model);
+        ObjectNode choice = chunk.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.set("delta", delta);
+        choice.putNull("logprobs");
+        choice.put("finish_reason", finishReason);
+        return chunk;
+    }
+
+    private ObjectNode envelope(String object, String model) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", "chatcmpl-warm-up");
+        node.put("object", object);
+        node.put("created", System.currentTimeMillis() / 1000);
+        node.put("model", model);
+        return node;
+    }
+
+    private void sendEvent(OutputStream body, ObjectNode event) throws IOException {
+        body.write(("data: " + objectMapper.writeValueAsString(event) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+}
@@ -0,0 +1,180 @@
+package com.sinsay.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.SinsayApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JIT warm-up before the readiness probe turns green. Spring Boot only publishes
+ * {@code ACCEPTING_TRAFFIC} once every application runner has returned, so while this one runs
+ * {@code /actuator/health/readiness} answers 503 and the orchestrator keeps traffic away.
+ * <p>
+ * With {@code warmup.enabled}, a second instance of the application is started in this JVM on a
+ * free port, with a throwaway database, uploads and archive in a temporary directory and
+ * {@link WarmUpLlmStub} as the LLM. It serves {@code warmup.iterations} customer journeys (see
+ * {@link CustomerJourney}) and is closed. Compiled code belongs to the classes, not the instance,
+ * so the first real requests here find Tomcat, Jackson, Hibernate, {@code SseStreamEncoder} and
+ * the OpenAI SDK over OkHttp already compiled, while this instance's database and provider quota
+ * stay untouched.
+ * <p>
+ * The duration is logged, recorded as the {@code sinsay.warmup} startup step and published as
+ * {@code application.warmup.time}. A failed warm-up is logged and the application becomes ready
+ * anyway.
+ */
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    @Value("${warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:20}")
+    private int iterations;
+
+    private final ConfigurableEnvironment environment;
+    private final ObjectMapper objectMapper;
+    private final ApplicationStartup applicationStartup;
+    private final MeterRegistry meterRegistry;
+
+    public WarmUpRunner(ConfigurableEnvironment environment, ObjectMapper objectMapper,
+                        ApplicationStartup applicationStartup, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.applicationStartup = applicationStartup;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || iterations <= 0) {
+            return;
+        }
+        StartupStep step = applicationStartup.start("sinsay.warmup");
+        step.tag("iterations", String.valueOf(iterations));
+        long started = System.nanoTime();
+        try {
+            Report report = warmUp(iterations, args.getSourceArgs());
+            log.info("JIT warm-up: {} journeys in {} ms (warm-up instance started in {} ms, first journey {} ms, last {} ms)",
+                    iterations, Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                    report.instanceStartup().toMillis(), report.firstJourney().toMillis(),
+                    report.lastJourney().toMillis());
+        } catch (IOException | RuntimeException e) {
+            log.warn("JIT warm-up failed after {} ms, continuing without it",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long elapsedNanos = System.nanoTime() - started;
+            step.tag("duration-ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+            step.end();
+            TimeGauge.builder("application.warmup.time", () -> elapsedNanos, TimeUnit.NANOSECONDS)
+                    .description("Time spent on the JIT warm-up before the application reported ready")
+                    .tag("iterations", String.valueOf(iterations))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts the warm-up instance with this instance's command line, runs the journeys against it
+     * and closes it again.
+     */
+    Report warmUp(int journeys, String... args) throws IOException, InterruptedException {
+        String databaseUrl = environment.getProperty("spring.datasource.url", "");
+        Path directory = Files.createTempDirectory("sinsay-warm-up");
+        try (WarmUpLlmStub llm = WarmUpLlmStub.start(objectMapper)) {
+            long started = System.nanoTime();
+            try (ConfigurableApplicationContext instance =
+                         startInstance(throwawayDatabaseUrl(databaseUrl, directory), directory, llm.baseUrl(), args)) {
+                Duration instanceStartup = Duration.ofNanos(System.nanoTime() - started);
+                String baseUrl = "http://localhost:"
+                        + ((WebServerApplicationContext) instance).getWebServer().getPort();
+                CustomerJourney journey = new CustomerJourney(objectMapper);
+                Duration first = Duration.ZERO;
+                Duration last = Duration.ZERO;
+                for (int i = 0; i < journeys; i++) {
+                    long journeyStarted = System.nanoTime();
+                    journey.run(baseUrl);
+                    last = Duration.ofNanos(System.nanoTime() - journeyStarted);
+                    if (i == 0) {
+                        first = last;
+                    }
+                }
+                return new Report(instanceStartup, first, last);
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private ConfigurableApplicationContext startInstance(String databaseUrl, Path directory, String llmBaseUrl,
+                                                         String... args) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "-1");
+        properties.put("spring.datasource.url", databaseUrl);
+        properties.put("uploads.path", directory.resolve("uploads").toString());
+        properties.put("retention.archive-path", directory.resolve("archive").toString());
+        properties.put("retention.cron", "-");
+        properties.put("openai.base-url", llmBaseUrl);
+        properties.put("openai.api-key", "warm-up");
+        properties.put("openai.cassette.mode", "off");
+        properties.put("openai.http.prewarm-connections", "0");
+        // A developer .env must not point the warm-up instance at a real provider
+        properties.put("dotenv.enabled", "false");
+        properties.put("warmup.enabled", "false");
+        properties.put("cds.training.enabled", "false");
+
+        return new SpringApplicationBuilder(SinsayApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles(environment.getActiveProfiles())
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .registerShutdownHook(false)
+                // Ahead of the command line, system properties and environment variables it shares
+                .initializers(context -> context.getEnvironment().getPropertySources()
+                        .addFirst(new MapPropertySource("warmUp", properties)))
+                .run(args);
+    }
+
+    /**
+     * A fresh database of the same kind as {@code url}: a SQLite file in {@code directory}, or a
+     * private H2 in-memory database.
+     */
+    static String throwawayDatabaseUrl(String url, Path directory) {
+        if (url.startsWith("jdbc:sqlite:")) {
+            return "jdbc:sqlite:" + directory.resolve("warm-up.db");
+        }
+        if (url.startsWith("jdbc:h2:")) {
+            return "jdbc:h2:mem:warm-up-" + UUID.randomUUID();
+        }
+        throw new IllegalStateException("No throwaway database for " + url);
+    }
+
+    record Report(Duration instanceStartup, Duration firstJourney, Duration lastJourney) {
+    }
+}
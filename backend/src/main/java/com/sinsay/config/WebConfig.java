@@ -0,0 +1,37 @@
+package com.sinsay.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Static delivery of the frontend build.
+ * Serves the .br/.gz files produced at build time instead of compressing on the fly,
+ * caches content-hashed assets forever and makes everything else revalidate.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final String STATIC_LOCATION = "classpath:/static/";
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Vite puts a content hash in every file name under assets/, so a URL never changes meaning
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations(STATIC_LOCATION + "assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // index.html and other unhashed files must pick up a new build on the next load
+        registry.addResourceHandler("/**")
+                .addResourceLocations(STATIC_LOCATION)
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
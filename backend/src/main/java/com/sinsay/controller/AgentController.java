@@ -0,0 +1,125 @@
+package com.sinsay.controller;
+
+import com.sinsay.model.Intent;
+import com.sinsay.service.SessionQueryService;
+import com.sinsay.service.TranscriptSearchService;
+import com.sinsay.service.dto.SessionCursor;
+import com.sinsay.service.dto.SessionSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Controller for support agents' lookups across all sessions.
+ * Only reachable with the agent token (see {@code AgentApiConfig}): every session id returned
+ * here gives full access to that customer's conversation.
+ */
+@RestController
+@RequestMapping("/api/agent/sessions")
+@RequiredArgsConstructor
+@Slf4j
+public class AgentController {
+
+    private final SessionQueryService sessionQueryService;
+    private final TranscriptSearchService transcriptSearchService;
+
+    // Maximum search page size
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    /**
+     * Search sessions by order number, intent and creation date, newest first.
+     * Uses keyset pagination: pass the returned nextCursor to fetch the following page.
+     *
+     * @param orderNumber Exact order number (optional)
+     * @param intent      RETURN or COMPLAINT (optional)
+     * @param from        First creation day, inclusive (optional)
+     * @param to          Last creation day, inclusive (optional)
+     * @param cursor      Cursor from the previous page (optional)
+     * @param limit       Page size, 1 to 100
+     * @return SessionSearchResponse with the page of sessions and the next cursor
+     */
+    @GetMapping
+    public ResponseEntity<?> searchSessions(
+            @RequestParam(value = "orderNumber", required = false) String orderNumber,
+            @RequestParam(value = "intent", required = false) String intent,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        log.info("Searching sessions: order={}, intent={}, from={}, to={}", orderNumber, intent, from, to);
+
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        Intent parsedIntent = null;
+        if (intent != null && !intent.isBlank()) {
+            try {
+                parsedIntent = Intent.valueOf(intent.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("intent must be either RETURN or COMPLAINT");
+            }
+        }
+
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+
+        SessionCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = SessionCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("cursor is invalid");
+            }
+        }
+
+        SessionSearchCriteria criteria = new SessionSearchCriteria(
+                orderNumber != null && !orderNumber.isBlank() ? orderNumber.trim() : null,
+                parsedIntent,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null);
+
+        return ResponseEntity.ok(sessionQueryService.search(criteria, after, limit));
+    }
+
+    /**
+     * Full-text search over chat transcripts, best match first.
+     * Every word of the query must occur in a message; words match as prefixes and without
+     * regard to Polish diacritics.
+     *
+     * @param query  Words to search for
+     * @param offset Number of hits to skip
+     * @param limit  Page size, 1 to 100
+     * @return MessageSearchResponse with the page of hits and the next offset
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTranscripts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        log.info("Searching transcripts: q={}", query);
+
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (offset < 0) {
+            return ResponseEntity.badRequest().body("offset must not be negative");
+        }
+
+        try {
+            return ResponseEntity.ok(transcriptSearchService.search(query, offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.sinsay.controller;
 
-import com.sinsay.controller.dto.SessionResponse;
-import com.sinsay.model.ChatMessage;
 import com.sinsay.model.Intent;
-import com.sinsay.model.Session;
-import com.sinsay.repository.ChatMessageRepository;
-import com.sinsay.repository.SessionRepository;
+import com.sinsay.model.SessionSnapshot;
 import com.sinsay.service.AnalysisService;
+import com.sinsay.service.ImageStore;
+import com.sinsay.service.SessionArchiveService;
+import com.sinsay.service.SessionQueryService;
+import com.sinsay.service.SessionSnapshotService;
 import com.sinsay.service.dto.AnalysisResponse;
+import com.sinsay.service.dto.SessionView;
+import com.sinsay.service.dto.StoredImage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -27,16 +35,10 @@ import java.util.UUID;
 public class SessionController {
 
     private final AnalysisService analysisService;
-    private final SessionRepository sessionRepository;
-    private final ChatMessageRepository chatMessageRepository;
-
-    // Allowed image MIME types
-    private static final List<String> ALLOWED_IMAGE_TYPES = List.of(
-            "image/jpeg",
-            "image/png",
-            "image/webp",
-            "image/gif"
-    );
+    private final SessionQueryService sessionQueryService;
+    private final SessionArchiveService sessionArchiveService;
+    private final SessionSnapshotService sessionSnapshotService;
+    private final ImageStore imageStore;
 
     // Maximum image size: 10MB
     private static final long MAX_IMAGE_SIZE = 10 * 1024 * 1024;
@@ -90,14 +92,6 @@ public class SessionController {
             return ResponseEntity.badRequest().body("image is required");
         }
 
-        // Validate image MIME type
-        String contentType = image.getContentType();
-        if (contentType == null || !ALLOWED_IMAGE_TYPES.contains(contentType.toLowerCase())) {
-            return ResponseEntity.badRequest().body(
-                    "image must be one of: JPEG, PNG, WebP, or GIF"
-            );
-        }
-
         // Validate image size
         if (image.getSize() > MAX_IMAGE_SIZE) {
             return ResponseEntity.badRequest().body(
@@ -109,15 +103,30 @@ public class SessionController {
             // Parse intent (we know it's valid after the check above)
             Intent parsedIntent = Intent.valueOf(intent.toUpperCase());
 
-            // Call analysis service
-            AnalysisResponse response = analysisService.analyzeAndCreateSession(
-                    parsedIntent,
-                    orderNumber,
-                    productName,
-                    description,
-                    image.getBytes(),
-                    contentType
-            );
+            // Stream the upload to disk; the format is detected from the file signature,
+            // not from the client-supplied Content-Type
+            StoredImage storedImage;
+            try {
+                storedImage = imageStore.store(image);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(
+                        "image must be one of: JPEG, PNG, WebP, or GIF"
+                );
+            }
+
+            // Call analysis service; the upload is not needed once it returns
+            AnalysisResponse response;
+            try {
+                response = analysisService.analyzeAndCreateSession(
+                        parsedIntent,
+                        orderNumber,
+                        productName,
+                        description,
+                        storedImage
+                );
+            } finally {
+                imageStore.release(storedImage);
+            }
 
             return ResponseEntity.ok(response);
 
@@ -129,21 +138,76 @@ public class SessionController {
 
     /**
      * Load a session by ID with its message history.
+     * Supports cursor pagination over sequence numbers and conditional GET: the weak ETag
+     * is derived from the session's last sequence number, so an unchanged session answers
+     * 304 without reading any message rows. Unconditional loads take a single read-only query.
+     * Full loads of sessions with a snapshot return its stored JSON as-is. Sessions moved out
+     * by the retention job are loaded from the archive.
      *
-     * @param id The session ID
-     * @return SessionResponse with session and messages
+     * @param id            The session ID
+     * @param afterSequence Only return messages with a greater sequence number (optional)
+     * @param limit         Maximum number of messages to return (optional)
+     * @param webRequest    The current request, used for If-None-Match evaluation
+     * @return SessionResponse with session and messages, or 304 if unchanged
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getSession(@PathVariable UUID id) {
+    public ResponseEntity<?> getSession(
+            @PathVariable UUID id,
+            @RequestParam(value = "afterSequence", required = false) Integer afterSequence,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest
+    ) {
         log.info("Loading session: {}", id);
 
-        return sessionRepository.findById(id)
-                .map(session -> {
-                    List<ChatMessage> messages = chatMessageRepository
-                            .findBySessionIdOrderBySequenceNumberAsc(id);
-                    SessionResponse response = new SessionResponse(session, messages);
-                    return ResponseEntity.ok(response);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.badRequest().body("limit must be greater than 0");
+        }
+
+        // Full loads are served from the pre-serialized snapshot: one primary-key lookup
+        if (afterSequence == null && limit == null) {
+            Optional<SessionSnapshot> snapshot = sessionSnapshotService.find(id);
+            if (snapshot.isPresent()) {
+                String etag = etagFor(snapshot.get().getLastSequenceNumber());
+                if (webRequest.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+                return ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(snapshot.get().getBody());
+            }
+        }
+
+        // Only pay for the version lookup when the client can actually be answered with 304
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Integer> lastSequence = sessionQueryService.findLastSequenceNumber(id);
+            if (lastSequence.isPresent()) {
+                String etag = etagFor(lastSequence.get());
+                if (webRequest.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
+        }
+
+        int after = afterSequence != null ? afterSequence : -1;
+        Limit pageLimit = limit != null ? Limit.of(limit) : Limit.unlimited();
+        Optional<SessionView> view = sessionQueryService.loadSession(id, after, pageLimit);
+        if (view.isEmpty()) {
+            // Not in the hot database: the retention job may have moved it to the archive
+            view = sessionArchiveService.findArchived(id, after, pageLimit);
+        }
+        if (view.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etagFor(view.get().lastSequenceNumber()))
+                .cacheControl(CacheControl.noCache())
+                .body(view.get().response());
+    }
+
+    private static String etagFor(int lastSequenceNumber) {
+        return "W/\"" + lastSequenceNumber + "\"";
     }
 }
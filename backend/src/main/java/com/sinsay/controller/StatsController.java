@@ -0,0 +1,56 @@
+package com.sinsay.controller;
+
+import com.sinsay.service.DecisionStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Controller for reporting over analysis outcomes. Part of the agent API, so it needs the agent
+ * token (see {@code AgentApiConfig}).
+ */
+@RestController
+@RequestMapping("/api/agent/stats")
+@RequiredArgsConstructor
+@Slf4j
+public class StatsController {
+
+    private final DecisionStatsService decisionStatsService;
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 366;
+
+    /**
+     * Session counts per creation day, intent and verdict.
+     *
+     * @param from First day, inclusive (optional, defaults to 30 days before to)
+     * @param to   Last day, inclusive (optional, defaults to today)
+     * @return DecisionStatsResponse with totals and daily counters
+     */
+    @GetMapping("/decisions")
+    public ResponseEntity<?> decisionStats(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        log.info("Loading decision stats: from={}, to={}", start, end);
+
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().body("range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        return ResponseEntity.ok(decisionStatsService.stats(start, end));
+    }
+}
@@ -0,0 +1,17 @@
+package com.sinsay.controller.dto;
+
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+
+import java.time.LocalDate;
+
+/**
+ * Number of sessions created on a day with a given intent and verdict.
+ */
+public record DecisionStatDto(
+        LocalDate day,
+        Intent intent,
+        Decision decision,
+        long count
+) {
+}
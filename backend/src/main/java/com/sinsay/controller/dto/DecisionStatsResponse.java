@@ -0,0 +1,18 @@
+package com.sinsay.controller.dto;
+
+import com.sinsay.model.Decision;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verdict counts for a day range: totals per decision and the non-zero daily counters.
+ */
+public record DecisionStatsResponse(
+        LocalDate from,
+        LocalDate to,
+        Map<Decision, Long> totals,
+        List<DecisionStatDto> days
+) {
+}
@@ -0,0 +1,15 @@
+package com.sinsay.controller.dto;
+
+import java.util.UUID;
+
+/**
+ * One message matching a transcript search. The snippet is HTML-escaped message text with the
+ * matching words wrapped in {@code <mark>} tags.
+ */
+public record MessageSearchHit(
+        UUID sessionId,
+        UUID messageId,
+        Integer sequenceNumber,
+        String snippet
+) {
+}
@@ -0,0 +1,13 @@
+package com.sinsay.controller.dto;
+
+import java.util.List;
+
+/**
+ * A page of transcript search hits, best match first.
+ * nextOffset is null when there are no further results.
+ */
+public record MessageSearchResponse(
+        List<MessageSearchHit> hits,
+        Integer nextOffset
+) {
+}
@@ -0,0 +1,22 @@
+package com.sinsay.controller.dto;
+
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for session details in API responses.
+ * decision is the verdict of the initial analysis; null for sessions created before it was recorded.
+ */
+public record SessionDto(
+        UUID id,
+        Intent intent,
+        String orderNumber,
+        String productName,
+        String description,
+        LocalDateTime createdAt,
+        Decision decision
+) {
+}
@@ -0,0 +1,12 @@
+package com.sinsay.controller.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for session search endpoint.
+ *
+ * @param sessions   Matching sessions, newest first
+ * @param nextCursor Cursor for the next page, or null if this is the last page
+ */
+public record SessionSearchResponse(List<SessionDto> sessions, String nextCursor) {
+}
@@ -0,0 +1,36 @@
+package com.sinsay.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Tombstone of a session moved to the cold archive: tells which day file holds it, and where.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "archived_sessions")
+public class ArchivedSession {
+
+    @Id
+    @Column(name = "session_id")
+    private UUID sessionId;
+
+    @Column(nullable = false)
+    private LocalDate archiveDay;
+
+    /**
+     * Where the gzip member holding the session starts in the day file; null for tombstones
+     * written before offsets were recorded, whose day file is scanned from the start.
+     */
+    private Long archiveOffset;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
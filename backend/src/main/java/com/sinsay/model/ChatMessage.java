@@ -11,11 +11,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "ux_chat_messages_session_sequence", columnList = "session_id, sequence_number", unique = true)
+})
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Column(name = "session_id", nullable = false)
@@ -26,6 +28,7 @@ public class ChatMessage {
     private Role role;
 
     @Column(columnDefinition = "TEXT", nullable = false)
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
 
     @Column(nullable = false)
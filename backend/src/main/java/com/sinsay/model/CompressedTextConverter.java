@@ -0,0 +1,135 @@
+package com.sinsay.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores long text columns Deflate-compressed with a preset dictionary.
+ * The dictionary holds the policy wording that assistant answers keep repeating, so even
+ * short answers compress well. Compressed values are Base64 text behind a marker that names
+ * the dictionary version; values without the marker are plain text, which keeps rows written
+ * before compression (or below the threshold) readable as they are.
+ * Dictionaries must never change once released: add a new version instead.
+ */
+@Component
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    static final String MARKER = "\u0001z";
+    private static final int CURRENT_VERSION = 1;
+    private static final Map<Integer, byte[]> DICTIONARIES = Map.of(
+            1, loadDictionary("compression/message-dictionary-v1.txt"));
+
+    @Value("${message-compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${message-compression.min-length:512}")
+    private int minLength;
+
+    /**
+     * Enables or disables compression of new values (for testing purposes).
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets the minimum length of values to compress (for testing purposes).
+     */
+    public void setMinLength(int minLength) {
+        this.minLength = minLength;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        // Plain text that happens to start with the marker must be encoded to stay unambiguous
+        boolean mustEncode = attribute.startsWith(MARKER);
+        if (!mustEncode && (!enabled || attribute.length() < minLength)) {
+            return attribute;
+        }
+
+        String encoded = MARKER + CURRENT_VERSION + ":" + Base64.getEncoder().encodeToString(
+                deflate(attribute.getBytes(StandardCharsets.UTF_8), DICTIONARIES.get(CURRENT_VERSION)));
+        return mustEncode || encoded.length() < attribute.length() ? encoded : attribute;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (dbData == null || !dbData.startsWith(MARKER)) {
+            return dbData;
+        }
+        int separator = dbData.indexOf(':', MARKER.length());
+        int version = Integer.parseInt(dbData.substring(MARKER.length(), separator));
+        byte[] dictionary = DICTIONARIES.get(version);
+        if (dictionary == null) {
+            throw new IllegalStateException("Unknown compression dictionary version: " + version);
+        }
+        byte[] compressed = Base64.getDecoder().decode(dbData.substring(separator + 1));
+        return new String(inflate(compressed, dictionary), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] input, byte[] dictionary) {
+        // Raw deflate: no zlib header or checksum, the marker already identifies the format
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(dictionary);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, byte[] dictionary) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(dictionary);
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed value");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] loadDictionary(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load compression dictionary " + path, e);
+        }
+    }
+}
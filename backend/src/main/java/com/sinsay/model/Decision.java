@@ -0,0 +1,81 @@
+package com.sinsay.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Preliminary verdict given by the model, one of the categories listed in the system prompt.
+ */
+public enum Decision {
+    ACCEPTED("Prawdopodobnie zaakceptowane"),
+    REJECTED("Prawdopodobnie odrzucone"),
+    UNCLEAR("Niejasne - wymaga recenzji ręcznej"),
+    /**
+     * The response did not start with a decision line, so the model gave no verdict.
+     */
+    MISSING(null);
+
+    // "Decyzja: <category>" on the first line, optionally with markdown emphasis or a heading mark
+    private static final Pattern DECISION_LINE = Pattern.compile("[\\s*_#>]*decyzja[\\s*_]*:[\\s*_]*(.*)");
+
+    private final String label;
+
+    Decision(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return The Polish category name the model is asked to use, or null for {@link #MISSING}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Reads the verdict from the decision line the prompt asks for: the first line of the
+     * response must be "Decyzja: " followed by a category name. Nothing after the first line
+     * is considered; case and diacritics are ignored.
+     *
+     * @param text The response text, or a prefix of it holding at least the first line
+     * @return The decision, or null if the first line is not a decision line naming a category
+     */
+    public static Decision parse(String text) {
+        String firstLine = text.strip().lines().findFirst().orElse("");
+        Matcher line = DECISION_LINE.matcher(normalize(firstLine));
+        if (!line.matches()) {
+            return null;
+        }
+        String category = line.group(1);
+        for (Decision decision : values()) {
+            if (decision.label != null && category.startsWith(decision.marker())) {
+                return decision;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Like {@link #parse(String)}, but a response without a valid decision line is recorded
+     * as {@link #MISSING} rather than guessed.
+     *
+     * @param text The full response text
+     * @return The decision
+     */
+    public static Decision fromResponse(String text) {
+        Decision decision = parse(text);
+        return decision != null ? decision : MISSING;
+    }
+
+    private String marker() {
+        // "Niejasne" alone is enough; the model often shortens the rest of the label
+        return this == UNCLEAR ? "niejasne" : normalize(label);
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.sinsay.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of sessions created on a day with a given intent and verdict.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "decision_stats")
+public class DecisionStat {
+
+    @EmbeddedId
+    private DecisionStatId id;
+
+    @Column(nullable = false)
+    private long sessionCount;
+}
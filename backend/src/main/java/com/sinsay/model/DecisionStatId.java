@@ -0,0 +1,28 @@
+package com.sinsay.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Key of a {@link DecisionStat} counter.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionStatId implements Serializable {
+
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Intent intent;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Decision decision;
+}
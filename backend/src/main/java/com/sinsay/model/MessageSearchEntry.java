@@ -0,0 +1,33 @@
+package com.sinsay.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.UUID;
+
+/**
+ * A message in the transcript search index. The id is the rowid of the message's tokens in
+ * the contentless FTS5 table on SQLite; the content itself is only kept in chat_messages.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "message_search")
+public class MessageSearchEntry {
+
+    // Declared INTEGER PRIMARY KEY so SQLite uses it as the rowid, which is 64-bit there
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JdbcTypeCode(SqlTypes.INTEGER)
+    private Long id;
+
+    @Column(name = "message_id", nullable = false, unique = true)
+    private UUID messageId;
+
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+}
@@ -11,11 +11,15 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_sessions_order_number", columnList = "order_number, created_at, id"),
+        @Index(name = "idx_sessions_intent_created", columnList = "intent, created_at, id")
+})
 public class Session {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @Enumerated(EnumType.STRING)
@@ -31,6 +35,12 @@ public class Session {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String description;
 
+    /**
+     * Verdict of the initial analysis; null for sessions created before it was recorded.
+     */
+    @Enumerated(EnumType.STRING)
+    private Decision decision;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,30 @@
+package com.sinsay.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Denormalized read model of a session: the JSON body served by GET /api/sessions/{id}.
+ * The body is stored plain: appends rewrite it on every message, see {@link SnapshotBodyConverter}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "session_snapshots")
+public class SessionSnapshot {
+
+    @Id
+    @Column(name = "session_id")
+    private UUID sessionId;
+
+    @Column(nullable = false)
+    private int lastSequenceNumber;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    @Convert(converter = SnapshotBodyConverter.class)
+    private String body;
+}
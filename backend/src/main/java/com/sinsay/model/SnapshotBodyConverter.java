@@ -0,0 +1,28 @@
+package com.sinsay.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores session snapshot bodies as plain text.
+ * Every message append rewrites the whole body on the writer thread, so compressing it would
+ * cost a full inflate and deflate per write. Bodies compressed by earlier versions still carry
+ * the {@link CompressedTextConverter} marker and are decoded on read; the next append stores
+ * them plain.
+ */
+@Converter
+public class SnapshotBodyConverter implements AttributeConverter<String, String> {
+
+    // Never enabled: it only encodes values that start with the marker, which a JSON body does not
+    private final CompressedTextConverter codec = new CompressedTextConverter();
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return codec.convertToDatabaseColumn(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return codec.convertToEntityAttribute(dbData);
+    }
+}
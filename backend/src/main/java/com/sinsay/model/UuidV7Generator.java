@@ -0,0 +1,69 @@
+package com.sinsay.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * Hibernate id generator for time-ordered UUIDv7 (RFC 9562) identifiers.
+ * The leading 48 bits are the Unix time in milliseconds, so new rows are appended to the end
+ * of the primary key B-tree instead of landing on random pages. Ids generated within the same
+ * millisecond are kept strictly increasing by a 12-bit counter in the rand_a field.
+ * The remaining 62 bits come from SecureRandom, since session ids double as access tokens.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_MAX = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
+
+    /**
+     * Generates the next UUIDv7, strictly greater than any previously generated in this JVM.
+     *
+     * @return A new UUIDv7
+     */
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7Generator.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Start low in the range to leave room for ids within the same millisecond
+                counter = RANDOM.nextInt(COUNTER_MAX / 2);
+            } else if (counter < COUNTER_MAX) {
+                // Same millisecond, or the clock moved back: keep the last timestamp
+                counter++;
+            } else {
+                // Counter exhausted: borrow the next millisecond
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+}
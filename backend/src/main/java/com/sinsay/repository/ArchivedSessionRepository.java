@@ -0,0 +1,11 @@
+package com.sinsay.repository;
+
+import com.sinsay.model.ArchivedSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedSessionRepository extends JpaRepository<ArchivedSession, UUID> {
+}
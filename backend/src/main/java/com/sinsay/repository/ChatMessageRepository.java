@@ -1,14 +1,39 @@
 package com.sinsay.repository;
 
 import com.sinsay.model.ChatMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID> {
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID>, ChatMessageRepositoryCustom {
 
     List<ChatMessage> findBySessionIdOrderBySequenceNumberAsc(UUID sessionId);
+
+    /**
+     * Cursor page of a session's messages: range scan on (session_id, sequence_number).
+     */
+    List<ChatMessage> findBySessionIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(
+            UUID sessionId, Integer afterSequence, Limit limit);
+
+    /**
+     * Highest sequence number in a session, answered from the (session_id, sequence_number) index.
+     */
+    @Query("select max(m.sequenceNumber) from ChatMessage m where m.sessionId = :sessionId")
+    Optional<Integer> findLastSequenceNumber(@Param("sessionId") UUID sessionId);
+
+    /**
+     * Bulk delete of all messages of the given sessions, without loading them.
+     */
+    @Modifying
+    @Query("delete from ChatMessage m where m.sessionId in :sessionIds")
+    int deleteBySessionIds(@Param("sessionIds") Collection<UUID> sessionIds);
 }
@@ -0,0 +1,43 @@
+package com.sinsay.repository;
+
+import com.sinsay.controller.dto.MessageSearchHit;
+import com.sinsay.model.ChatMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over message content. The message_search table lists the indexed messages;
+ * on SQLite its ids are the rowids of a contentless FTS5 index over their content.
+ */
+public interface ChatMessageRepositoryCustom {
+
+    /**
+     * Adds a saved message to the search index. Must run in the transaction that saves it.
+     *
+     * @param message The saved message, with its plain-text content
+     */
+    void indexForSearch(ChatMessage message);
+
+    /**
+     * Removes all messages of the given sessions from the search index.
+     *
+     * @param sessionIds The session IDs
+     * @return Number of index rows removed
+     */
+    int deleteFromSearchIndex(Collection<UUID> sessionIds);
+
+    /**
+     * Ranked search for messages containing all terms. On SQLite every term is matched as a
+     * prefix through the FTS5 index and results are ordered by bm25; other databases fall back
+     * to scanning the indexed messages, newest first. Snippets are cut from the message content
+     * in Java, HTML-escaped, with the matching words in {@code <mark>} tags.
+     *
+     * @param terms  Lower-case search terms
+     * @param offset Number of hits to skip
+     * @param limit  Maximum number of hits to return
+     * @return Matching messages, best match first
+     */
+    List<MessageSearchHit> searchContent(List<String> terms, int offset, int limit);
+}
@@ -0,0 +1,124 @@
+package com.sinsay.repository;
+
+import com.sinsay.controller.dto.MessageSearchHit;
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.MessageSearchEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class ChatMessageRepositoryImpl implements ChatMessageRepositoryCustom {
+
+    private static final int SNIPPET_WORDS = 12;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean sqlite;
+
+    @Override
+    @Transactional
+    public void indexForSearch(ChatMessage message) {
+        MessageSearchEntry entry = new MessageSearchEntry(null, message.getId(), message.getSessionId());
+        entityManager.persist(entry);
+        if (isSqlite()) {
+            entityManager.createNativeQuery("insert into message_search_fts (rowid, content) values (:rowid, :content)")
+                    .setParameter("rowid", entry.getId())
+                    .setParameter("content", message.getContent())
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteFromSearchIndex(Collection<UUID> sessionIds) {
+        List<Long> rowids = entityManager.createQuery(
+                        "select e.id from MessageSearchEntry e where e.sessionId in :sessionIds", Long.class)
+                .setParameter("sessionIds", sessionIds)
+                .getResultList();
+        if (rowids.isEmpty()) {
+            return 0;
+        }
+        if (isSqlite()) {
+            entityManager.createNativeQuery("delete from message_search_fts where rowid in (:rowids)")
+                    .setParameter("rowids", rowids)
+                    .executeUpdate();
+        }
+        return entityManager.createQuery("delete from MessageSearchEntry e where e.id in :rowids")
+                .setParameter("rowids", rowids)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<MessageSearchHit> searchContent(List<String> terms, int offset, int limit) {
+        List<ChatMessage> messages = isSqlite() ? ftsSearch(terms, offset, limit) : scanSearch(terms, offset, limit);
+        return messages.stream()
+                .map(message -> new MessageSearchHit(
+                        message.getSessionId(),
+                        message.getId(),
+                        message.getSequenceNumber(),
+                        SearchSnippets.snippet(message.getContent(), terms, SNIPPET_WORDS)))
+                .toList();
+    }
+
+    private List<ChatMessage> ftsSearch(List<String> terms, int offset, int limit) {
+        // Each term is quoted so user input cannot inject FTS5 operators, then matched as a prefix
+        String match = terms.stream()
+                .map(term -> "\"" + term.replace("\"", "\"\"") + "\"*")
+                .collect(Collectors.joining(" "));
+        @SuppressWarnings("unchecked")
+        List<Number> rowids = entityManager.createNativeQuery("""
+                        select rowid from message_search_fts
+                        where message_search_fts match :match
+                        order by rank""")
+                .setParameter("match", match)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        if (rowids.isEmpty()) {
+            return List.of();
+        }
+
+        // The index holds no content: load the ranked messages, decompressed by the entity mapping
+        List<Object[]> rows = entityManager.createQuery("""
+                        select e.id, m from MessageSearchEntry e join ChatMessage m on m.id = e.messageId
+                        where e.id in :rowids""", Object[].class)
+                .setParameter("rowids", rowids.stream().map(Number::longValue).toList())
+                .getResultList();
+        Map<Long, ChatMessage> byRowid = new HashMap<>();
+        rows.forEach(row -> byRowid.put((Long) row[0], (ChatMessage) row[1]));
+        return rowids.stream()
+                .map(rowid -> byRowid.get(rowid.longValue()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<ChatMessage> scanSearch(List<String> terms, int offset, int limit) {
+        // Content may be stored compressed, so without FTS5 the indexed messages are matched in Java
+        return entityManager.createQuery("""
+                        select m from MessageSearchEntry e join ChatMessage m on m.id = e.messageId
+                        order by e.id desc""", ChatMessage.class)
+                .getResultStream()
+                .filter(message -> SearchSnippets.matchesAll(message.getContent(), terms))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    private boolean isSqlite() {
+        if (sqlite == null) {
+            sqlite = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                    "SQLite".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return sqlite;
+    }
+}
@@ -0,0 +1,18 @@
+package com.sinsay.repository;
+
+import com.sinsay.model.DecisionStat;
+import com.sinsay.model.DecisionStatId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DecisionStatRepository extends JpaRepository<DecisionStat, DecisionStatId> {
+
+    /**
+     * Counters of a day range, a primary-key range scan.
+     */
+    List<DecisionStat> findByIdDayBetweenOrderByIdDayAsc(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,97 @@
+package com.sinsay.repository;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches transcript search terms against message content and cuts highlighted snippets.
+ * Words are folded the way the FTS5 tokenizer folds them (lower case, no diacritics) and a
+ * word matches every term it starts with. Snippets are HTML-escaped before the matches are
+ * wrapped in {@code <mark>} tags, so customer text can never add markup of its own.
+ */
+final class SearchSnippets {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final String ELLIPSIS = "…";
+    // Words of context shown before the first match
+    private static final int LEAD_WORDS = 2;
+
+    private SearchSnippets() {
+    }
+
+    /**
+     * @return Whether every term matches at least one word of the content
+     */
+    static boolean matchesAll(String content, List<String> terms) {
+        Set<String> remaining = new HashSet<>(fold(terms));
+        Matcher word = WORD.matcher(content);
+        while (!remaining.isEmpty() && word.find()) {
+            String folded = fold(word.group());
+            remaining.removeIf(folded::startsWith);
+        }
+        return remaining.isEmpty();
+    }
+
+    /**
+     * Cuts up to {@code maxWords} words around the first match out of the content.
+     *
+     * @return HTML-escaped snippet with matching words in {@code <mark>} tags
+     */
+    static String snippet(String content, List<String> terms, int maxWords) {
+        List<String> foldedTerms = fold(terms);
+        List<int[]> words = new ArrayList<>();
+        List<Boolean> matches = new ArrayList<>();
+        Matcher word = WORD.matcher(content);
+        while (word.find()) {
+            String folded = fold(word.group());
+            words.add(new int[]{word.start(), word.end()});
+            matches.add(foldedTerms.stream().anyMatch(folded::startsWith));
+        }
+        if (words.isEmpty()) {
+            return HtmlUtils.htmlEscape(content, "UTF-8");
+        }
+
+        int firstMatch = Math.max(0, matches.indexOf(true));
+        int to = Math.min(words.size(), Math.max(0, firstMatch - LEAD_WORDS) + maxWords);
+        int from = Math.max(0, to - maxWords);
+
+        StringBuilder snippet = new StringBuilder();
+        int position = from == 0 ? 0 : words.get(from)[0];
+        if (from > 0) {
+            snippet.append(ELLIPSIS);
+        }
+        for (int i = from; i < to; i++) {
+            int[] bounds = words.get(i);
+            snippet.append(HtmlUtils.htmlEscape(content.substring(position, bounds[0]), "UTF-8"));
+            String text = HtmlUtils.htmlEscape(content.substring(bounds[0], bounds[1]), "UTF-8");
+            snippet.append(matches.get(i) ? "<mark>" + text + "</mark>" : text);
+            position = bounds[1];
+        }
+        if (to == words.size()) {
+            snippet.append(HtmlUtils.htmlEscape(content.substring(position), "UTF-8"));
+        } else {
+            snippet.append(ELLIPSIS);
+        }
+        return snippet.toString();
+    }
+
+    private static List<String> fold(List<String> terms) {
+        return terms.stream().map(SearchSnippets::fold).toList();
+    }
+
+    static String fold(String text) {
+        // NFD leaves ł alone, the tokenizer folds it like the other Polish letters
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace('ł', 'l');
+    }
+}
@@ -1,11 +1,52 @@
 package com.sinsay.repository;
 
 import com.sinsay.model.Session;
+import com.sinsay.service.dto.SessionMessageRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface SessionRepository extends JpaRepository<Session, UUID> {
+public interface SessionRepository extends JpaRepository<Session, UUID>, SessionRepositoryCustom {
+
+    /**
+     * Session with a page of its messages in one query, projected straight into rows.
+     * The message filter sits in the join condition, so a session without matching
+     * messages still yields a single row with null message columns.
+     */
+    @Query("""
+            select new com.sinsay.service.dto.SessionMessageRow(
+                s.id, s.intent, s.orderNumber, s.productName, s.description, s.createdAt, s.decision,
+                (select max(l.sequenceNumber) from ChatMessage l where l.sessionId = s.id),
+                m.id, m.role, m.content, m.sequenceNumber, m.createdAt)
+            from Session s
+            left join ChatMessage m on m.sessionId = s.id and m.sequenceNumber > :afterSequence
+            where s.id = :id
+            order by m.sequenceNumber asc
+            """)
+    List<SessionMessageRow> findSessionWithMessages(
+            @Param("id") UUID id, @Param("afterSequence") Integer afterSequence, Limit limit);
+
+    /**
+     * Last sequence number of a session (-1 if it has no messages), or empty if the session does not exist.
+     */
+    @Query("""
+            select coalesce((select max(m.sequenceNumber) from ChatMessage m where m.sessionId = s.id), -1)
+            from Session s
+            where s.id = :id
+            """)
+    Optional<Integer> findLastSequenceNumber(@Param("id") UUID id);
+
+    /**
+     * Oldest sessions created before the cutoff, served by the (created_at, id) index.
+     */
+    @Query("select s.id from Session s where s.createdAt < :cutoff order by s.createdAt, s.id")
+    List<UUID> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
 }
@@ -0,0 +1,24 @@
+package com.sinsay.repository;
+
+import com.sinsay.controller.dto.SessionDto;
+import com.sinsay.service.dto.SessionCursor;
+import com.sinsay.service.dto.SessionSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Session queries that need a dynamically built predicate.
+ */
+public interface SessionRepositoryCustom {
+
+    /**
+     * Keyset-paginated session search ordered by (createdAt, id) descending.
+     * Only the filters that are set end up in the SQL, so each combination can use its index.
+     *
+     * @param criteria The search filters
+     * @param after    Position after which to continue, or null for the first page
+     * @param limit    Maximum number of sessions to return
+     * @return Matching sessions, newest first
+     */
+    List<SessionDto> search(SessionSearchCriteria criteria, SessionCursor after, int limit);
+}
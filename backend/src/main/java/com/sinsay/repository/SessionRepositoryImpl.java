@@ -0,0 +1,67 @@
+package com.sinsay.repository;
+
+import com.sinsay.controller.dto.SessionDto;
+import com.sinsay.model.Session;
+import com.sinsay.service.dto.SessionCursor;
+import com.sinsay.service.dto.SessionSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class SessionRepositoryImpl implements SessionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SessionDto> search(SessionSearchCriteria criteria, SessionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SessionDto> query = cb.createQuery(SessionDto.class);
+        Root<Session> session = query.from(Session.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.orderNumber() != null) {
+            predicates.add(cb.equal(session.get("orderNumber"), criteria.orderNumber()));
+        }
+        if (criteria.intent() != null) {
+            predicates.add(cb.equal(session.get("intent"), criteria.intent()));
+        }
+        if (criteria.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(session.<LocalDateTime>get("createdAt"), criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add(cb.lessThan(session.<LocalDateTime>get("createdAt"), criteria.to()));
+        }
+        if (after != null) {
+            // Seek past the cursor: (createdAt, id) < (:createdAt, :id)
+            predicates.add(cb.or(
+                    cb.lessThan(session.<LocalDateTime>get("createdAt"), after.createdAt()),
+                    cb.and(
+                            cb.equal(session.get("createdAt"), after.createdAt()),
+                            cb.lessThan(session.<UUID>get("id"), after.id()))));
+        }
+
+        query.select(cb.construct(SessionDto.class,
+                        session.get("id"),
+                        session.get("intent"),
+                        session.get("orderNumber"),
+                        session.get("productName"),
+                        session.get("description"),
+                        session.get("createdAt"),
+                        session.get("decision")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(session.get("createdAt")), cb.desc(session.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
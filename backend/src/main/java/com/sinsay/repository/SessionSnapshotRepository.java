@@ -0,0 +1,11 @@
+package com.sinsay.repository;
+
+import com.sinsay.model.SessionSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SessionSnapshotRepository extends JpaRepository<SessionSnapshot, UUID> {
+}
@@ -0,0 +1,69 @@
+package com.sinsay.repository;
+
+import com.sinsay.model.CompressedTextConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * One-off backfill of the search index recreated by V6: every stored message is listed in
+ * message_search and, on SQLite, its decompressed content is tokenized into the contentless
+ * FTS5 index. Messages saved from now on are indexed by the persistence path.
+ * Registered as a bean so Spring Boot hands it to Flyway together with the message codec.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class V6_1__Backfill_message_search extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final CompressedTextConverter compressedTextConverter;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        int indexed;
+        try (Statement statement = connection.createStatement()) {
+            indexed = statement.executeUpdate("""
+                    insert into message_search (message_id, session_id)
+                    select id, session_id from chat_messages
+                    where id not in (select message_id from message_search)
+                    order by session_id, sequence_number""");
+        }
+        if ("SQLite".equals(connection.getMetaData().getDatabaseProductName())) {
+            fillFtsIndex(connection);
+        }
+        log.info("Search index backfill: {} messages indexed", indexed);
+    }
+
+    private void fillFtsIndex(Connection connection) throws Exception {
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("""
+                     select s.id, m.content from message_search s
+                     join chat_messages m on m.id = s.message_id""");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into message_search_fts (rowid, content) values (?, ?)")) {
+            int pending = 0;
+            while (rows.next()) {
+                insert.setLong(1, rows.getLong(1));
+                insert.setString(2, compressedTextConverter.convertToEntityAttribute(rows.getString(2)));
+                insert.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+}
@@ -7,19 +7,29 @@ import com.openai.models.chat.completions.ChatCompletionContentPartImage;
 import com.openai.models.chat.completions.ChatCompletionContentPartText;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
 import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Decision;
 import com.sinsay.model.Intent;
 import com.sinsay.model.Role;
 import com.sinsay.model.Session;
 import com.sinsay.repository.ChatMessageRepository;
 import com.sinsay.repository.SessionRepository;
 import com.sinsay.service.dto.AnalysisResponse;
+import com.sinsay.service.dto.StoredImage;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
 
 @Service
@@ -30,35 +40,44 @@ public class AnalysisService {
     private final PolicyDocService policyDocService;
     private final SessionRepository sessionRepository;
     private final ChatMessageRepository chatMessageRepository;
-    private final String model;
+    private final PersistenceWriter persistenceWriter;
+    private final SessionSnapshotService sessionSnapshotService;
+    private final DecisionStatsService decisionStatsService;
+    private final ModelRouter modelRouter;
+    private final BrownoutController brownoutController;
 
     public AnalysisService(
             OpenAIClient openAIClient,
             PolicyDocService policyDocService,
             SessionRepository sessionRepository,
             ChatMessageRepository chatMessageRepository,
-            @Qualifier("openaiModel") String model) {
+            PersistenceWriter persistenceWriter,
+            SessionSnapshotService sessionSnapshotService,
+            DecisionStatsService decisionStatsService,
+            ModelRouter modelRouter,
+            BrownoutController brownoutController) {
         this.openAIClient = openAIClient;
         this.policyDocService = policyDocService;
         this.sessionRepository = sessionRepository;
         this.chatMessageRepository = chatMessageRepository;
-        this.model = model;
+        this.persistenceWriter = persistenceWriter;
+        this.sessionSnapshotService = sessionSnapshotService;
+        this.decisionStatsService = decisionStatsService;
+        this.modelRouter = modelRouter;
+        this.brownoutController = brownoutController;
     }
 
-    @Transactional
     public AnalysisResponse analyzeAndCreateSession(
             Intent intent,
             String orderNumber,
             String productName,
             String description,
-            byte[] imageBytes,
-            String mimeType
+            StoredImage image
     ) {
         log.info("Analyzing session: intent={}, order={}, product={}", intent, orderNumber, productName);
 
         // Convert image to base64 data URI
-        String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-        String dataUri = "data:" + mimeType + ";base64," + base64Image;
+        String dataUri = toDataUri(image);
 
         // Get system prompt
         String systemPrompt = policyDocService.getSystemPrompt(intent);
@@ -77,15 +96,33 @@ public class AnalysisService {
                         .build()
         );
 
+        String model = brownoutController.economyModel(ModelRouter.CallType.ANALYSIS)
+                .orElseGet(() -> modelRouter.route(
+                        ModelRouter.CallType.ANALYSIS, intent, systemPrompt.length() + description.length()));
+
         // Build chat completion request with multimodal content
-        ChatCompletionCreateParams params = ChatCompletionCreateParams.builder()
+        ChatCompletionCreateParams.Builder paramsBuilder = ChatCompletionCreateParams.builder()
                 .model(model)
                 .addSystemMessage(systemPrompt)
-                .addUserMessageOfArrayOfContentParts(List.of(imagePart, textPart))
-                .build();
+                .addUserMessageOfArrayOfContentParts(List.of(imagePart, textPart));
+        brownoutController.maxCompletionTokens().ifPresent(paramsBuilder::maxCompletionTokens);
+        ChatCompletionCreateParams params = paramsBuilder.build();
 
         // Call OpenAI API (synchronous, non-streaming)
-        ChatCompletion completion = openAIClient.chat().completions().create(params);
+        long requestStart = System.nanoTime();
+        ChatCompletion completion;
+        brownoutController.callStarted();
+        try {
+            completion = openAIClient.chat().completions().create(params);
+        } catch (RuntimeException e) {
+            modelRouter.record(ModelRouter.CallType.ANALYSIS, model,
+                    Duration.ofNanos(System.nanoTime() - requestStart), false);
+            throw e;
+        } finally {
+            brownoutController.callFinished();
+        }
+        modelRouter.record(ModelRouter.CallType.ANALYSIS, model,
+                Duration.ofNanos(System.nanoTime() - requestStart), true);
 
         // Extract assistant response
         String assistantMessage = "";
@@ -93,35 +130,75 @@ public class AnalysisService {
             assistantMessage = completion.choices().get(0).message().content().orElse("");
         }
 
-        // Create and persist session
-        Session session = Session.builder()
-                .intent(intent)
-                .orderNumber(orderNumber)
-                .productName(productName)
-                .description(description)
-                .build();
-        session = sessionRepository.save(session);
-        UUID sessionId = session.getId();
-
-        // Persist USER message (sequence 0)
-        ChatMessage userMessage = ChatMessage.builder()
-                .sessionId(sessionId)
-                .role(Role.USER)
-                .content(description)
-                .sequenceNumber(0)
-                .build();
-        chatMessageRepository.save(userMessage);
-
-        // Persist ASSISTANT message (sequence 1)
-        ChatMessage assistantMsgEntity = ChatMessage.builder()
-                .sessionId(sessionId)
-                .role(Role.ASSISTANT)
-                .content(assistantMessage)
-                .sequenceNumber(1)
-                .build();
-        chatMessageRepository.save(assistantMsgEntity);
-
-        log.info("Analysis complete: sessionId={}", sessionId);
-        return new AnalysisResponse(sessionId, assistantMessage);
+        Decision decision = Decision.fromResponse(assistantMessage);
+
+        // Persist session, messages, search entries, snapshot and stats as one unit through the single writer
+        String assistantContent = assistantMessage;
+        UUID sessionId = persistenceWriter.submit(() -> {
+            Session session = sessionRepository.save(Session.builder()
+                    .intent(intent)
+                    .orderNumber(orderNumber)
+                    .productName(productName)
+                    .description(description)
+                    .decision(decision)
+                    .build());
+
+            // Persist USER message (sequence 0)
+            ChatMessage savedUserMessage = chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(session.getId())
+                    .role(Role.USER)
+                    .content(description)
+                    .sequenceNumber(0)
+                    .build());
+
+            // Persist ASSISTANT message (sequence 1)
+            ChatMessage savedAssistantMessage = chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(session.getId())
+                    .role(Role.ASSISTANT)
+                    .content(assistantContent)
+                    .sequenceNumber(1)
+                    .build());
+
+            chatMessageRepository.indexForSearch(savedUserMessage);
+            chatMessageRepository.indexForSearch(savedAssistantMessage);
+            sessionSnapshotService.create(session, List.of(savedUserMessage, savedAssistantMessage));
+            decisionStatsService.record(LocalDate.now(), intent, decision);
+            return session.getId();
+        }).join();
+
+        log.info("Analysis complete: sessionId={}, decision={}", sessionId, decision);
+        return new AnalysisResponse(sessionId, assistantMessage, decision);
+    }
+
+    /**
+     * Encodes a stored image as a base64 data URI, streaming the file through the encoder.
+     * The raw image never sits on the heap, and the buffer is sized up front so it never grows.
+     * Turning the buffer into a String copies it once, so the peak is twice the encoded size.
+     *
+     * @param image The stored image
+     * @return Data URI string: data:<mimeType>;base64,<data>
+     */
+    private String toDataUri(StoredImage image) {
+        OptionalInt maxEdge = brownoutController.imageMaxEdge();
+        if (maxEdge.isPresent()) {
+            try {
+                Optional<byte[]> downscaled = ImageDownscaler.downscaleToJpeg(image.path(), maxEdge.getAsInt());
+                if (downscaled.isPresent()) {
+                    return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(downscaled.get());
+                }
+            } catch (IOException e) {
+                log.warn("Could not downscale image {}, sending the original", image.path(), e);
+            }
+        }
+        byte[] prefix = ("data:" + image.mimeType() + ";base64,").getBytes(StandardCharsets.US_ASCII);
+        long encodedLength = 4 * ((image.size() + 2) / 3);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) (prefix.length + encodedLength));
+        buffer.writeBytes(prefix);
+        try (OutputStream encoder = Base64.getEncoder().wrap(buffer)) {
+            Files.copy(image.path(), encoder);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stored image: " + image.path(), e);
+        }
+        return buffer.toString(StandardCharsets.US_ASCII);
     }
 }
@@ -0,0 +1,216 @@
+package com.sinsay.service;
+
+import com.sinsay.model.ChatMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Degrades LLM requests step by step when the instance saturates, so latency stays within
+ * budget instead of requests timing out.
+ * Pressure is the worst of four signals, each normalised so that 1 means "at the limit":
+ * in-flight LLM calls, persistence queue fill, upstream p95 latency against its budget (from
+ * {@link ModelRouter}) and process CPU. While pressure is at or above the enter threshold the
+ * level goes up one step per evaluation; it only comes down one step at a time once pressure
+ * has fallen below the (lower) exit threshold and the current level has held for a while.
+ * Levels are cumulative: each one keeps the degradations of the levels below it.
+ */
+@Service
+@Slf4j
+public class BrownoutController {
+
+    public enum Level {
+        NORMAL,
+        /** Images are downscaled before being sent for analysis */
+        SMALLER_IMAGES,
+        /** Chat keeps the opening exchange and only the latest messages */
+        TRIMMED_HISTORY,
+        /** The configured economy model replaces routing */
+        CHEAPER_MODEL,
+        /** Completions are capped at a lower token count */
+        SHORTER_ANSWERS
+    }
+
+    static final String LEVEL = "brownout.level";
+    static final String PRESSURE = "brownout.pressure";
+    static final String TRANSITIONS = "brownout.transitions";
+
+    private final ModelRouter modelRouter;
+    private final PersistenceWriter persistenceWriter;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final com.sun.management.OperatingSystemMXBean operatingSystem;
+
+    private volatile Level level = Level.NORMAL;
+    private volatile double pressure;
+    private long lastChangeAt;
+
+    @Value("${brownout.enabled:true}")
+    private boolean enabled;
+
+    @Value("${brownout.max-in-flight:32}")
+    private int maxInFlight;
+
+    @Value("${brownout.cpu-target:0.85}")
+    private double cpuTarget;
+
+    @Value("${brownout.enter-pressure:1.0}")
+    private double enterPressure;
+
+    @Value("${brownout.exit-pressure:0.7}")
+    private double exitPressure;
+
+    @Value("${brownout.step-down-after-ms:30000}")
+    private long stepDownAfterMs;
+
+    @Value("${brownout.image-max-edge:768}")
+    private int imageMaxEdge;
+
+    @Value("${brownout.history-messages:6}")
+    private int historyMessages;
+
+    @Value("${brownout.analysis-model:}")
+    private String analysisModel;
+
+    @Value("${brownout.chat-model:}")
+    private String chatModel;
+
+    @Value("${brownout.max-completion-tokens:400}")
+    private long maxCompletionTokens;
+
+    public BrownoutController(
+            ModelRouter modelRouter,
+            PersistenceWriter persistenceWriter,
+            MeterRegistry meterRegistry) {
+        this.modelRouter = modelRouter;
+        this.persistenceWriter = persistenceWriter;
+        this.meterRegistry = meterRegistry;
+        this.operatingSystem = ManagementFactory.getOperatingSystemMXBean()
+                instanceof com.sun.management.OperatingSystemMXBean bean ? bean : null;
+        Gauge.builder(LEVEL, this, controller -> controller.level.ordinal()).register(meterRegistry);
+        Gauge.builder(PRESSURE, this, controller -> controller.pressure).register(meterRegistry);
+    }
+
+    /**
+     * Samples the load signals and moves the level by at most one step.
+     */
+    @Scheduled(fixedDelayString = "${brownout.evaluate-interval-ms:1000}")
+    public void evaluate() {
+        if (enabled) {
+            update(currentPressure(), System.currentTimeMillis());
+        }
+    }
+
+    synchronized void update(double pressure, long now) {
+        this.pressure = pressure;
+        Level current = level;
+        if (pressure >= enterPressure && current.ordinal() < Level.values().length - 1) {
+            changeLevel(Level.values()[current.ordinal() + 1], now, "up");
+        } else if (pressure <= exitPressure && current != Level.NORMAL && now - lastChangeAt >= stepDownAfterMs) {
+            changeLevel(Level.values()[current.ordinal() - 1], now, "down");
+        }
+    }
+
+    private void changeLevel(Level next, long now, String direction) {
+        log.info("Brownout level {} -> {} (pressure {})", level, next, String.format("%.2f", pressure));
+        level = next;
+        lastChangeAt = now;
+        meterRegistry.counter(TRANSITIONS, "direction", direction, "level", next.name()).increment();
+    }
+
+    private double currentPressure() {
+        double cpu = operatingSystem != null ? operatingSystem.getProcessCpuLoad() : -1;
+        return Math.max(
+                Math.max((double) inFlight.get() / maxInFlight, persistenceWriter.queueUtilization()),
+                Math.max(modelRouter.latencyPressure(), cpu < 0 ? 0 : cpu / cpuTarget));
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    /**
+     * Marks the start of an LLM call; pair with {@link #callFinished()} in a finally block.
+     */
+    public void callStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void callFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return Longest image edge in pixels to send for analysis, or empty to send the original
+     */
+    public OptionalInt imageMaxEdge() {
+        return atLeast(Level.SMALLER_IMAGES) ? OptionalInt.of(imageMaxEdge) : OptionalInt.empty();
+    }
+
+    /**
+     * Trims chat history to the opening exchange (request and initial analysis, which holds the
+     * verdict) plus the latest messages.
+     *
+     * @param history Full ordered history
+     * @return The history to send to the model
+     */
+    public List<ChatMessage> trimHistory(List<ChatMessage> history) {
+        if (!atLeast(Level.TRIMMED_HISTORY) || history.size() <= historyMessages + 2) {
+            return history;
+        }
+        List<ChatMessage> trimmed = new ArrayList<>(history.subList(0, 2));
+        trimmed.addAll(history.subList(history.size() - historyMessages, history.size()));
+        return trimmed;
+    }
+
+    /**
+     * @return The economy model configured for this call type, or empty to route normally
+     */
+    public Optional<String> economyModel(ModelRouter.CallType callType) {
+        String model = callType == ModelRouter.CallType.ANALYSIS ? analysisModel : chatModel;
+        return atLeast(Level.CHEAPER_MODEL) && !model.isBlank() ? Optional.of(model) : Optional.empty();
+    }
+
+    /**
+     * @return Completion token cap, or empty for no cap
+     */
+    public OptionalLong maxCompletionTokens() {
+        return atLeast(Level.SHORTER_ANSWERS) ? OptionalLong.of(maxCompletionTokens) : OptionalLong.empty();
+    }
+
+    private boolean atLeast(Level threshold) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * (for testing purposes)
+     */
+    public void setThresholds(double enterPressure, double exitPressure, long stepDownAfterMs) {
+        this.enterPressure = enterPressure;
+        this.exitPressure = exitPressure;
+        this.stepDownAfterMs = stepDownAfterMs;
+    }
+
+    /**
+     * (for testing purposes)
+     */
+    public void setDegradations(int imageMaxEdge, int historyMessages, String analysisModel, String chatModel,
+                                long maxCompletionTokens) {
+        this.imageMaxEdge = imageMaxEdge;
+        this.historyMessages = historyMessages;
+        this.analysisModel = analysisModel;
+        this.chatModel = chatModel;
+        this.maxCompletionTokens = maxCompletionTokens;
+    }
+}
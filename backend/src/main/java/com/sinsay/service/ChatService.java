@@ -5,21 +5,21 @@ import com.openai.core.http.StreamResponse;
 import com.openai.models.chat.completions.ChatCompletionChunk;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
 import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Decision;
 import com.sinsay.model.Role;
 import com.sinsay.model.Session;
-import com.sinsay.repository.ChatMessageRepository;
-import com.sinsay.repository.SessionRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for handling chat streaming with OpenAI.
@@ -31,21 +31,21 @@ public class ChatService {
 
     private final OpenAIClient openAIClient;
     private final PolicyDocService policyDocService;
-    private final ChatMessageRepository chatMessageRepository;
-    private final SessionRepository sessionRepository;
-    private final String model;
+    private final PersistenceWriter persistenceWriter;
+    private final ModelRouter modelRouter;
+    private final BrownoutController brownoutController;
 
     public ChatService(
             OpenAIClient openAIClient,
             PolicyDocService policyDocService,
-            ChatMessageRepository chatMessageRepository,
-            SessionRepository sessionRepository,
-            @Qualifier("openaiModel") String model) {
+            PersistenceWriter persistenceWriter,
+            ModelRouter modelRouter,
+            BrownoutController brownoutController) {
         this.openAIClient = openAIClient;
         this.policyDocService = policyDocService;
-        this.chatMessageRepository = chatMessageRepository;
-        this.sessionRepository = sessionRepository;
-        this.model = model;
+        this.persistenceWriter = persistenceWriter;
+        this.modelRouter = modelRouter;
+        this.brownoutController = brownoutController;
     }
 
     private final ExecutorService executorService = Executors.newCachedThreadPool();
@@ -78,18 +78,26 @@ public class ChatService {
                         .content(userContent)
                         .sequenceNumber(nextSequenceNumber)
                         .build();
-                chatMessageRepository.save(userMessage);
+                // Queued without waiting: the writer commits in order, before the assistant message
+                CompletableFuture<ChatMessage> userMessageSaved = persistenceWriter.saveMessage(userMessage);
 
                 // Get system prompt from policy docs
                 String systemPrompt = policyDocService.getSystemPrompt(session.getIntent());
 
+                // Under brownout only part of the history is sent; sequence numbers still follow the full one
+                List<ChatMessage> promptHistory = brownoutController.trimHistory(history);
+                int promptChars = systemPrompt.length() + userContent.length()
+                        + promptHistory.stream().mapToInt(msg -> msg.getContent().length()).sum();
+                String model = brownoutController.economyModel(ModelRouter.CallType.CHAT)
+                        .orElseGet(() -> modelRouter.route(ModelRouter.CallType.CHAT, session.getIntent(), promptChars));
+
                 // Build ChatCompletionCreateParams
                 ChatCompletionCreateParams.Builder paramsBuilder = ChatCompletionCreateParams.builder()
                         .model(model)
                         .addDeveloperMessage(systemPrompt);
 
                 // Add history as USER/ASSISTANT messages
-                for (ChatMessage msg : history) {
+                for (ChatMessage msg : promptHistory) {
                     if (msg.getRole() == Role.USER) {
                         paramsBuilder.addUserMessage(msg.getContent());
                     } else if (msg.getRole() == Role.ASSISTANT) {
@@ -99,11 +107,17 @@ public class ChatService {
 
                 // Add new user message
                 paramsBuilder.addUserMessage(userContent);
+                brownoutController.maxCompletionTokens().ifPresent(paramsBuilder::maxCompletionTokens);
 
                 ChatCompletionCreateParams params = paramsBuilder.build();
 
                 // Call streaming API
                 StringBuilder fullResponse = new StringBuilder();
+                VerdictDetector verdictDetector = new VerdictDetector();
+                // Chat latency is time to first token: total time depends on the answer length
+                long requestStart = System.nanoTime();
+                AtomicBoolean firstTokenRecorded = new AtomicBoolean();
+                brownoutController.callStarted();
                 try (StreamResponse<ChatCompletionChunk> streamResponse =
                         openAIClient.chat().completions().createStreaming(params)) {
 
@@ -112,8 +126,18 @@ public class ChatService {
                             .forEach(chunk -> {
                                 chunk.choices().forEach(choice -> {
                                     choice.delta().content().ifPresent(delta -> {
+                                        if (firstTokenRecorded.compareAndSet(false, true)) {
+                                            modelRouter.record(ModelRouter.CallType.CHAT, model,
+                                                    Duration.ofNanos(System.nanoTime() - requestStart), true);
+                                        }
                                         try {
                                             fullResponse.append(delta);
+                                            Decision decision = verdictDetector.accept(delta);
+                                            if (decision != null) {
+                                                emitter.send(SseEmitter.event().data(
+                                                        SseStreamEncoder.encodeDecision(messageId, decision)
+                                                ));
+                                            }
                                             emitter.send(SseEmitter.event().data(
                                                     SseStreamEncoder.encodeTextDelta(messageId, delta)
                                             ));
@@ -124,6 +148,14 @@ public class ChatService {
                                     });
                                 });
                             });
+                } catch (RuntimeException e) {
+                    if (firstTokenRecorded.compareAndSet(false, true)) {
+                        modelRouter.record(ModelRouter.CallType.CHAT, model,
+                                Duration.ofNanos(System.nanoTime() - requestStart), false);
+                    }
+                    throw e;
+                } finally {
+                    brownoutController.callFinished();
                 }
 
                 // Send text-end event
@@ -136,7 +168,7 @@ public class ChatService {
                         .content(fullResponse.toString())
                         .sequenceNumber(nextSequenceNumber + 1)
                         .build();
-                chatMessageRepository.save(assistantMessage);
+                CompletableFuture.allOf(userMessageSaved, persistenceWriter.saveMessage(assistantMessage)).join();
 
                 // Complete the emitter
                 emitter.complete();
@@ -0,0 +1,69 @@
+package com.sinsay.service;
+
+import com.sinsay.controller.dto.DecisionStatDto;
+import com.sinsay.controller.dto.DecisionStatsResponse;
+import com.sinsay.model.Decision;
+import com.sinsay.model.DecisionStat;
+import com.sinsay.model.DecisionStatId;
+import com.sinsay.model.Intent;
+import com.sinsay.repository.DecisionStatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained verdict counters per creation day, intent and decision.
+ * A query reads at most one row per day and key, however many sessions there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class DecisionStatsService {
+
+    private final DecisionStatRepository decisionStatRepository;
+
+    /**
+     * Counts a newly created session. Must run inside a write transaction on the
+     * {@link PersistenceWriter}; the single writer makes the read-increment-write safe.
+     *
+     * @param day      The session's creation day
+     * @param intent   The session's intent
+     * @param decision The session's verdict
+     */
+    public void record(LocalDate day, Intent intent, Decision decision) {
+        DecisionStatId id = new DecisionStatId(day, intent, decision);
+        DecisionStat stat = decisionStatRepository.findById(id).orElseGet(() -> new DecisionStat(id, 0));
+        stat.setSessionCount(stat.getSessionCount() + 1);
+        decisionStatRepository.save(stat);
+    }
+
+    /**
+     * Loads the counters of a day range.
+     *
+     * @param from First day, inclusive
+     * @param to   Last day, inclusive
+     * @return Totals per decision and the daily counters, oldest first
+     */
+    @Transactional(readOnly = true)
+    public DecisionStatsResponse stats(LocalDate from, LocalDate to) {
+        Map<Decision, Long> totals = new EnumMap<>(Decision.class);
+        for (Decision decision : Decision.values()) {
+            totals.put(decision, 0L);
+        }
+
+        List<DecisionStatDto> days = decisionStatRepository.findByIdDayBetweenOrderByIdDayAsc(from, to).stream()
+                .map(stat -> new DecisionStatDto(
+                        stat.getId().getDay(),
+                        stat.getId().getIntent(),
+                        stat.getId().getDecision(),
+                        stat.getSessionCount()))
+                .toList();
+        days.forEach(day -> totals.merge(day.decision(), day.count(), Long::sum));
+
+        return new DecisionStatsResponse(from, to, totals, days);
+    }
+}
@@ -0,0 +1,90 @@
+package com.sinsay.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Shrinks an image to a maximum edge length and re-encodes it as JPEG, for sending a lighter
+ * image to the model under load.
+ * The dimensions are read from the header and the decoder skips pixels (source subsampling),
+ * so only a reduced image of at most about twice the target edge is ever held in memory,
+ * never the full-resolution bitmap.
+ */
+final class ImageDownscaler {
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private ImageDownscaler() {
+    }
+
+    /**
+     * @param path    Image file
+     * @param maxEdge Longest edge allowed, in pixels
+     * @return JPEG bytes, or empty if the image already fits or cannot be decoded (e.g. WebP)
+     */
+    static Optional<byte[]> downscaleToJpeg(Path path, int maxEdge) throws IOException {
+        BufferedImage source;
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                if (longestEdge <= maxEdge) {
+                    return Optional.empty();
+                }
+                // Decode every n-th pixel, leaving at least maxEdge pixels for the final smooth scaling
+                int step = longestEdge / maxEdge;
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                readParam.setSourceSubsampling(step, step, 0, 0);
+                source = reader.read(0, readParam);
+            } finally {
+                reader.dispose();
+            }
+        }
+        double scale = (double) maxEdge / Math.max(source.getWidth(), source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha: draw onto an opaque RGB canvas
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(buffer)) {
+            writer.setOutput(output);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(scaled, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return Optional.of(buffer.toByteArray());
+    }
+}
@@ -0,0 +1,135 @@
+package com.sinsay.service;
+
+import com.sinsay.service.dto.StoredImage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Content-addressed file store for uploaded product images.
+ * Uploads are streamed to disk in a single pass that detects the format from the
+ * leading bytes and hashes the content, so an upload never has to be held on the heap.
+ * A file only lives while a request is using it: no session refers to it once the analysis
+ * is done, so each {@link #store} is paired with a {@link #release}.
+ */
+@Service
+@Slf4j
+public class ImageStore {
+
+    @Value("${uploads.path:./uploads}")
+    private String uploadsPath;
+
+    // Requests holding each stored file; identical uploads share one file until the last release
+    private final ConcurrentMap<Path, Integer> holders = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the uploads directory (for testing purposes).
+     */
+    public void setUploadsPath(String path) {
+        this.uploadsPath = path;
+    }
+
+    /**
+     * Streams an uploaded file into the store.
+     * The file is named after the SHA-256 of its content, so identical uploads share one file.
+     * The caller must {@link #release} the image when done with it.
+     *
+     * @param file The uploaded multipart file
+     * @return The stored image with its detected MIME type
+     * @throws IllegalArgumentException if the content is not a JPEG, PNG, WebP or GIF image
+     * @throws IOException              if the file cannot be read or written
+     */
+    public StoredImage store(MultipartFile file) throws IOException {
+        Path storeDir = Paths.get(uploadsPath);
+        Files.createDirectories(storeDir);
+
+        Path tempFile = Files.createTempFile(storeDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            ImageFormat format;
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+                // Only the signature is inspected before rejecting non-images
+                byte[] header = new byte[ImageFormat.SIGNATURE_LENGTH];
+                int headerLength = in.readNBytes(header, 0, header.length);
+                format = ImageFormat.detect(header, headerLength)
+                        .orElseThrow(() -> new IllegalArgumentException("Unsupported image format"));
+                out.write(header, 0, headerLength);
+                size = headerLength + in.transferTo(out);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = storeDir.resolve(hash + "." + format.extension());
+            // Moved while holding the entry, so a concurrent release cannot delete the file in between
+            holders.compute(target, (path, count) -> {
+                try {
+                    Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same content uploaded by a request still holding it - share the existing file
+                    deleteQuietly(tempFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count == null ? 1 : count + 1;
+            });
+
+            log.debug("Stored image {} ({} bytes, {})", target.getFileName(), size, format.mimeType());
+            return new StoredImage(target, format.mimeType(), hash, size);
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Gives up a stored image; the file is deleted once no other request holds the same content.
+     *
+     * @param image The image returned by {@link #store}
+     */
+    public void release(StoredImage image) {
+        holders.computeIfPresent(image.path(), (path, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            deleteQuietly(path);
+            return null;
+        });
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete stored image {}", path, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
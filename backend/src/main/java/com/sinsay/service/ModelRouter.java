@@ -0,0 +1,288 @@
+package com.sinsay.service;
+
+import com.sinsay.model.Intent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the model for each LLM call.
+ * Candidates are configured per call type in order of preference (cheapest acceptable first):
+ * the first analysis uses a vision model, complaints may use a stronger one, and short chat
+ * follow-ups go to a small fast model before the regular chat models. Latency of every call is
+ * tracked per call type and model as an EWMA; a candidate whose estimated p95 exceeds the
+ * budget is skipped for the next one, and gets a single probe call once it has been idle for
+ * a while so it can recover. Unset lists fall back to {@code openai.model}.
+ */
+@Service
+@Slf4j
+public class ModelRouter {
+
+    /**
+     * Kind of LLM call; latency is tracked separately for each, since analysis is timed end to
+     * end and chat until the first streamed token.
+     */
+    public enum CallType {
+        ANALYSIS,
+        CHAT
+    }
+
+    static final String DECISIONS = "llm.router.decisions";
+    static final String LATENCY = "llm.router.latency";
+    static final String P95 = "llm.router.latency.p95";
+
+    // One-sided z-score of the 95th percentile, assuming roughly normal latencies
+    private static final double P95_Z = 1.645;
+
+    private final MeterRegistry meterRegistry;
+    private final List<String> analysisModels;
+    private final List<String> complaintAnalysisModels;
+    private final List<String> chatModels;
+    private final List<String> shortChatModels;
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${openai.routing.short-prompt-chars:4000}")
+    private int shortPromptChars;
+
+    @Value("${openai.routing.analysis-p95-budget-ms:30000}")
+    private long analysisBudgetMs;
+
+    @Value("${openai.routing.chat-p95-budget-ms:5000}")
+    private long chatBudgetMs;
+
+    @Value("${openai.routing.ewma-alpha:0.2}")
+    private double alpha;
+
+    @Value("${openai.routing.min-samples:5}")
+    private int minSamples;
+
+    @Value("${openai.routing.probe-after-ms:60000}")
+    private long probeAfterMs;
+
+    public ModelRouter(
+            MeterRegistry meterRegistry,
+            @Qualifier("openaiModel") String defaultModel,
+            @Value("${openai.routing.analysis-models:}") String analysisModels,
+            @Value("${openai.routing.complaint-analysis-models:}") String complaintAnalysisModels,
+            @Value("${openai.routing.chat-models:}") String chatModels,
+            @Value("${openai.routing.short-chat-models:}") String shortChatModels) {
+        this.meterRegistry = meterRegistry;
+        this.analysisModels = parseModels(analysisModels, List.of(defaultModel));
+        this.complaintAnalysisModels = parseModels(complaintAnalysisModels, this.analysisModels);
+        this.chatModels = parseModels(chatModels, List.of(defaultModel));
+        this.shortChatModels = concat(parseModels(shortChatModels, List.of()), this.chatModels);
+    }
+
+    /**
+     * Chooses the model for a call.
+     *
+     * @param callType    Kind of call
+     * @param intent      Session intent
+     * @param promptChars Total length of the text sent (system prompt, history and new message)
+     * @return The model name to put in the request
+     */
+    public String route(CallType callType, Intent intent, int promptChars) {
+        List<String> candidates = candidates(callType, intent, promptChars);
+        long budgetMs = budgetMs(callType);
+        long now = System.currentTimeMillis();
+
+        String chosen = null;
+        String reason = null;
+        for (int i = 0; i < candidates.size() && chosen == null; i++) {
+            LatencyStats modelStats = stats.get(key(callType, candidates.get(i)));
+            if (modelStats == null || modelStats.acceptable(budgetMs, minSamples, now, probeAfterMs)) {
+                chosen = candidates.get(i);
+                reason = i == 0 ? "preferred" : "fallback";
+            }
+        }
+        if (chosen == null) {
+            // Every candidate is over budget: take the least bad one
+            chosen = candidates.get(0);
+            for (String candidate : candidates) {
+                if (stats.get(key(callType, candidate)).p95() < stats.get(key(callType, chosen)).p95()) {
+                    chosen = candidate;
+                }
+            }
+            reason = "fastest";
+        }
+        if (!"preferred".equals(reason)) {
+            log.debug("Routing {} call to {} ({})", callType, chosen, reason);
+        }
+        meterRegistry.counter(DECISIONS, "call", tag(callType), "model", chosen, "reason", reason).increment();
+        return chosen;
+    }
+
+    /**
+     * Records the latency of a finished call. A failed call counts as twice the budget, so a
+     * model that keeps failing is routed around like a slow one.
+     *
+     * @param callType Kind of call
+     * @param model    Model the call went to
+     * @param latency  Time to the full response (analysis) or to the first token (chat)
+     * @param success  Whether the call succeeded
+     */
+    public void record(CallType callType, String model, Duration latency, boolean success) {
+        long latencyMs = success ? latency.toMillis() : 2 * budgetMs(callType);
+        stats.computeIfAbsent(key(callType, model), key -> newStats(callType, model))
+                .add(latencyMs, System.currentTimeMillis(), alpha);
+        Timer.builder(LATENCY)
+                .tag("call", tag(callType))
+                .tag("model", model)
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    private List<String> candidates(CallType callType, Intent intent, int promptChars) {
+        if (callType == CallType.ANALYSIS) {
+            return intent == Intent.COMPLAINT ? complaintAnalysisModels : analysisModels;
+        }
+        return promptChars <= shortPromptChars ? shortChatModels : chatModels;
+    }
+
+    private long budgetMs(CallType callType) {
+        return callType == CallType.ANALYSIS ? analysisBudgetMs : chatBudgetMs;
+    }
+
+    /**
+     * Worst ratio of estimated p95 latency to budget among models with enough recent samples;
+     * above 1 means some model in use is missing its latency budget.
+     *
+     * @return The ratio, or 0 when there is no recent traffic
+     */
+    public double latencyPressure() {
+        long now = System.currentTimeMillis();
+        double worst = 0;
+        for (LatencyStats modelStats : stats.values()) {
+            if (modelStats.recent(minSamples, now, probeAfterMs)) {
+                worst = Math.max(worst, modelStats.p95() / budgetMs(modelStats.callType));
+            }
+        }
+        return worst;
+    }
+
+    private LatencyStats newStats(CallType callType, String model) {
+        LatencyStats created = new LatencyStats(callType);
+        Gauge.builder(P95, created, LatencyStats::p95)
+                .tag("call", tag(callType))
+                .tag("model", model)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return created;
+    }
+
+    private static String key(CallType callType, String model) {
+        return callType + "|" + model;
+    }
+
+    private static String tag(CallType callType) {
+        return callType.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> parseModels(String models, List<String> fallback) {
+        List<String> parsed = Arrays.stream(models.split(","))
+                .map(String::trim)
+                .filter(model -> !model.isEmpty())
+                .toList();
+        return parsed.isEmpty() ? fallback : parsed;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> combined = new ArrayList<>(first);
+        second.stream().filter(model -> !combined.contains(model)).forEach(combined::add);
+        return List.copyOf(combined);
+    }
+
+    /**
+     * (for testing purposes)
+     */
+    public void setShortPromptChars(int shortPromptChars) {
+        this.shortPromptChars = shortPromptChars;
+    }
+
+    /**
+     * (for testing purposes)
+     */
+    public void setBudgets(long analysisBudgetMs, long chatBudgetMs) {
+        this.analysisBudgetMs = analysisBudgetMs;
+        this.chatBudgetMs = chatBudgetMs;
+    }
+
+    /**
+     * (for testing purposes)
+     */
+    public void setStatistics(double alpha, int minSamples, long probeAfterMs) {
+        this.alpha = alpha;
+        this.minSamples = minSamples;
+        this.probeAfterMs = probeAfterMs;
+    }
+
+    /**
+     * Exponentially weighted mean and variance of one model's latency.
+     */
+    private static class LatencyStats {
+        private final CallType callType;
+        private double mean;
+        private double variance;
+        private long samples;
+        private long lastSampleAt;
+        private long lastActivityAt;
+
+        LatencyStats(CallType callType) {
+            this.callType = callType;
+        }
+
+        synchronized void add(double latencyMs, long now, double alpha) {
+            if (samples == 0) {
+                mean = latencyMs;
+            } else {
+                double diff = latencyMs - mean;
+                double increment = alpha * diff;
+                mean += increment;
+                variance = (1 - alpha) * (variance + diff * increment);
+            }
+            samples++;
+            lastSampleAt = now;
+            lastActivityAt = now;
+        }
+
+        /**
+         * @return True if the statistics are based on enough samples, the last one taken
+         * within {@code maxAgeMs}
+         */
+        synchronized boolean recent(int minSamples, long now, long maxAgeMs) {
+            return samples >= minSamples && now - lastSampleAt < maxAgeMs;
+        }
+
+        synchronized double p95() {
+            return mean + P95_Z * Math.sqrt(variance);
+        }
+
+        /**
+         * @return True if the model is within budget, or has too few samples to judge, or has
+         * been idle long enough to deserve a probe (which then restarts the idle clock)
+         */
+        synchronized boolean acceptable(long budgetMs, int minSamples, long now, long probeAfterMs) {
+            if (samples < minSamples || p95() <= budgetMs) {
+                return true;
+            }
+            if (now - lastActivityAt >= probeAfterMs) {
+                lastActivityAt = now;
+                return true;
+            }
+            return false;
+        }
+    }
+}
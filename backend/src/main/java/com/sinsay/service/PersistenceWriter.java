@@ -0,0 +1,229 @@
+package com.sinsay.service;
+
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Session;
+import com.sinsay.repository.ChatMessageRepository;
+import com.sinsay.repository.SessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single writer for all database writes.
+ * SQLite allows one writer at a time, so instead of every caller opening its own write
+ * transaction, writes are queued and a dedicated thread commits them in batches: whatever
+ * arrives within a short window shares one transaction and one fsync (group commit).
+ * Callers get a future that completes once their write is committed.
+ */
+@Service
+@Slf4j
+public class PersistenceWriter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+    private final SessionRepository sessionRepository;
+    private final SessionSnapshotService sessionSnapshotService;
+    private final BlockingQueue<Write<?>> queue;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final long enqueueTimeoutMs;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public PersistenceWriter(
+            PlatformTransactionManager transactionManager,
+            ChatMessageRepository chatMessageRepository,
+            SessionRepository sessionRepository,
+            SessionSnapshotService sessionSnapshotService,
+            @Value("${persistence.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${persistence.writer.max-batch-size:256}") int maxBatchSize,
+            @Value("${persistence.writer.batch-window-ms:2}") long batchWindowMs,
+            @Value("${persistence.writer.enqueue-timeout-ms:1000}") long enqueueTimeoutMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chatMessageRepository = chatMessageRepository;
+        this.sessionRepository = sessionRepository;
+        this.sessionSnapshotService = sessionSnapshotService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name("persistence-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Stops accepting writes and commits everything already queued.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues a chat message insert. The search index and the session's snapshot are updated
+     * in the same transaction.
+     *
+     * @param message The message to persist
+     * @return Future completed with the saved message, including its generated id
+     */
+    public CompletableFuture<ChatMessage> saveMessage(ChatMessage message) {
+        return enqueue(new Write<>(() -> {
+            ChatMessage saved = chatMessageRepository.save(message);
+            chatMessageRepository.indexForSearch(saved);
+            sessionSnapshotService.append(saved);
+            return saved;
+        }, () -> message.setId(null)));
+    }
+
+    /**
+     * Queues a session insert.
+     *
+     * @param session The session to persist
+     * @return Future completed with the saved session, including its generated id
+     */
+    public CompletableFuture<Session> saveSession(Session session) {
+        return enqueue(new Write<>(() -> sessionRepository.save(session), () -> session.setId(null)));
+    }
+
+    /**
+     * Queues an arbitrary unit of work that must commit atomically.
+     * The work runs on the writer thread inside the batch transaction. If its batch fails it is
+     * re-run in a transaction of its own, so it must create any entities it persists itself.
+     *
+     * @param work The work to run
+     * @return Future completed with the work's result once committed
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return enqueue(new Write<>(work, () -> { }));
+    }
+
+    /**
+     * @return Share of the queue capacity currently taken by pending writes, from 0 to 1
+     */
+    public double queueUtilization() {
+        int pending = queue.size();
+        return (double) pending / (pending + queue.remainingCapacity());
+    }
+
+    private <T> CompletableFuture<T> enqueue(Write<T> write) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Persistence writer is stopped"));
+        }
+        try {
+            // Bounded queue: callers wait for room instead of piling up unbounded work
+            if (!queue.offer(write, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Persistence queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return write.future;
+    }
+
+    private void run() {
+        List<Write<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Persistence writer failed to commit batch", e);
+                batch.forEach(write -> write.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("Persistence writer stopped");
+    }
+
+    /**
+     * Fills the batch with writes that arrive within the batch window, up to the size limit.
+     */
+    private void collectBatch(List<Write<?>> batch) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Write<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void commit(List<Write<?>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(Write::execute));
+            batch.forEach(Write::complete);
+            log.debug("Committed {} writes", batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            // One bad write must not fail its neighbours: retry each in its own transaction
+            log.warn("Batch of {} writes failed, retrying individually", batch.size(), e);
+            for (Write<?> write : batch) {
+                write.reset.run();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write.execute());
+                    write.complete();
+                } catch (RuntimeException single) {
+                    write.future.completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private static final class Write<T> {
+        private final Supplier<T> work;
+        private final Runnable reset;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private Write(Supplier<T> work, Runnable reset) {
+            this.work = work;
+            this.reset = reset;
+        }
+
+        private void execute() {
+            result = work.get();
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+    }
+}
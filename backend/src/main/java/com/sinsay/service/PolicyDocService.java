@@ -43,7 +43,9 @@ public class PolicyDocService {
         prompt.append("Decision categories:\n");
         prompt.append("- Prawdopodobnie zaakceptowane (Likely accepted)\n");
         prompt.append("- Prawdopodobnie odrzucone (Likely rejected)\n");
-        prompt.append("- Niejasne - wymaga recenzji ręcznej (Unclear - requires manual review)\n\n");
+        prompt.append("- Niejasne - wymaga recenzji ręcznej (Unclear - requires manual review)\n");
+        prompt.append("When you give your assessment, start the response with the line ");
+        prompt.append("'Decyzja: <category>' using one of the Polish category names above verbatim.\n\n");
 
         // 3. Mandatory disclaimer
         prompt.append("IMPORTANT DISCLAIMER: This assessment is not legally binding. ");
@@ -0,0 +1,288 @@
+package com.sinsay.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.controller.dto.ChatMessageDto;
+import com.sinsay.controller.dto.SessionResponse;
+import com.sinsay.model.ArchivedSession;
+import com.sinsay.repository.ArchivedSessionRepository;
+import com.sinsay.repository.ChatMessageRepository;
+import com.sinsay.repository.SessionRepository;
+import com.sinsay.repository.SessionSnapshotRepository;
+import com.sinsay.service.dto.SessionView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Retention for cold sessions.
+ * Sessions older than the retention age are appended to one gzip-compressed NDJSON file per
+ * creation day and then removed from the hot database, a chunk at a time, so each delete is a
+ * short transaction queued behind live writes on the single writer. Every chunk is a new gzip
+ * member, which keeps the files append-only. A small archived_sessions table records which
+ * day file holds a session and the offset of its member, so an archived session is loaded on
+ * demand by decompressing that member only.
+ */
+@Service
+@Slf4j
+public class SessionArchiveService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SessionRepository sessionRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ArchivedSessionRepository archivedSessionRepository;
+    private final SessionSnapshotRepository sessionSnapshotRepository;
+    private final SessionQueryService sessionQueryService;
+    private final PersistenceWriter persistenceWriter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${retention.archive-path:./archive}")
+    private String archivePath;
+
+    @Value("${retention.max-age-days:180}")
+    private int maxAgeDays;
+
+    @Value("${retention.chunk-size:100}")
+    private int chunkSize;
+
+    public SessionArchiveService(
+            SessionRepository sessionRepository,
+            ChatMessageRepository chatMessageRepository,
+            ArchivedSessionRepository archivedSessionRepository,
+            SessionSnapshotRepository sessionSnapshotRepository,
+            SessionQueryService sessionQueryService,
+            PersistenceWriter persistenceWriter,
+            ObjectMapper objectMapper) {
+        this.sessionRepository = sessionRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.archivedSessionRepository = archivedSessionRepository;
+        this.sessionSnapshotRepository = sessionSnapshotRepository;
+        this.sessionQueryService = sessionQueryService;
+        this.persistenceWriter = persistenceWriter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Sets the archive directory (for testing purposes).
+     */
+    public void setArchivePath(String path) {
+        this.archivePath = path;
+    }
+
+    /**
+     * Sets the number of sessions moved per transaction (for testing purposes).
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Scheduled retention run: archives every session older than the retention age.
+     */
+    @Scheduled(cron = "${retention.cron:-}")
+    public void archiveColdSessions() {
+        int archived = archiveSessionsCreatedBefore(LocalDateTime.now().minusDays(maxAgeDays));
+        log.info("Retention run archived {} sessions older than {} days", archived, maxAgeDays);
+    }
+
+    /**
+     * Moves all sessions created before the cutoff to the archive.
+     *
+     * @param cutoff Sessions created before this time are archived
+     * @return Number of sessions archived
+     */
+    public int archiveSessionsCreatedBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        List<UUID> ids;
+        while (!(ids = sessionRepository.findIdsCreatedBefore(cutoff, Limit.of(chunkSize))).isEmpty()) {
+            int moved = archiveChunk(ids);
+            if (moved == 0) {
+                // Every session of the chunk is still being written to; the next run takes them
+                log.info("Retention run stopped at {} sessions that changed while being archived", ids.size());
+                break;
+            }
+            archived += moved;
+        }
+        return archived;
+    }
+
+    /**
+     * Loads an archived session from its day file.
+     *
+     * @param id            The session ID
+     * @param afterSequence Only include messages with a greater sequence number
+     * @param limit         Maximum number of messages to include
+     * @return The archived session view, or empty if the session was never archived
+     */
+    public Optional<SessionView> findArchived(UUID id, int afterSequence, Limit limit) {
+        Optional<ArchivedSession> archived = archivedSessionRepository.findById(id);
+        if (archived.isEmpty()) {
+            return Optional.empty();
+        }
+
+        SessionResponse response = readFromDayFile(id, archived.get().getArchiveDay(), archived.get().getArchiveOffset());
+        if (response == null) {
+            log.warn("Session {} is marked archived but missing from {}", id, dayFile(archived.get().getArchiveDay()));
+            return Optional.empty();
+        }
+
+        int lastSequenceNumber = response.messages().stream()
+                .mapToInt(ChatMessageDto::sequenceNumber)
+                .max()
+                .orElse(-1);
+        List<ChatMessageDto> page = response.messages().stream()
+                .filter(message -> message.sequenceNumber() > afterSequence)
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .toList();
+        return Optional.of(new SessionView(new SessionResponse(response.session(), page), lastSequenceNumber));
+    }
+
+    private int archiveChunk(List<UUID> ids) {
+        Map<LocalDate, List<SessionView>> byDay = new TreeMap<>();
+        for (UUID id : ids) {
+            sessionQueryService.loadSession(id, -1, Limit.unlimited()).ifPresent(view -> byDay
+                    .computeIfAbsent(view.response().session().createdAt().toLocalDate(), day -> new ArrayList<>())
+                    .add(view));
+        }
+
+        // Files are durable before anything is deleted; a crash in between only leaves an
+        // unreferenced line behind, since tombstones point at the member written last
+        LocalDateTime now = LocalDateTime.now();
+        List<ArchivedSession> tombstones = new ArrayList<>(ids.size());
+        Map<UUID, Integer> archivedSequence = new HashMap<>();
+        byDay.forEach((day, views) -> {
+            long offset = appendToDayFile(day, views.stream().map(SessionView::response).toList());
+            views.forEach(view -> {
+                UUID id = view.response().session().id();
+                tombstones.add(new ArchivedSession(id, day, offset, now));
+                archivedSequence.put(id, view.lastSequenceNumber());
+            });
+        });
+
+        List<ArchivedSession> archived = persistenceWriter.submit(() -> {
+            // Messages are saved on this thread too, so this check cannot race a write: a session
+            // that gained a message since it was loaded stays live and is archived by a later run
+            List<ArchivedSession> unchanged = tombstones.stream()
+                    .filter(tombstone -> chatMessageRepository.findLastSequenceNumber(tombstone.getSessionId())
+                            .orElse(-1).equals(archivedSequence.get(tombstone.getSessionId())))
+                    .toList();
+            if (unchanged.isEmpty()) {
+                return unchanged;
+            }
+            List<UUID> unchangedIds = unchanged.stream().map(ArchivedSession::getSessionId).toList();
+            chatMessageRepository.deleteFromSearchIndex(unchangedIds);
+            chatMessageRepository.deleteBySessionIds(unchangedIds);
+            sessionSnapshotRepository.deleteAllByIdInBatch(unchangedIds);
+            sessionRepository.deleteAllByIdInBatch(unchangedIds);
+            return archivedSessionRepository.saveAll(unchanged);
+        }).join();
+
+        if (archived.size() < tombstones.size()) {
+            log.debug("Kept {} sessions that changed while being archived", tombstones.size() - archived.size());
+        }
+        log.debug("Archived {} sessions into {} day files", archived.size(), byDay.size());
+        return archived.size();
+    }
+
+    /**
+     * Appends the sessions to the day file as one new gzip member.
+     *
+     * @return Offset of the new member in the file
+     */
+    private long appendToDayFile(LocalDate day, List<SessionResponse> sessions) {
+        Path file = dayFile(day);
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                // Only the retention run appends, so the current size is where this member starts
+                long offset = channel.size();
+                try (OutputStream out = Channels.newOutputStream(channel);
+                     GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+                    for (SessionResponse session : sessions) {
+                        gzip.write(objectMapper.writeValueAsBytes(session));
+                        gzip.write('\n');
+                    }
+                    gzip.finish();
+                    channel.force(true);
+                }
+                return offset;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to archive " + file, e);
+        }
+    }
+
+    /**
+     * Reads a session from its day file. With a known offset only the member holding the session
+     * is decompressed; tombstones without one scan the whole file and take the last copy.
+     */
+    private SessionResponse readFromDayFile(UUID id, LocalDate day, Long offset) {
+        String needle = id.toString();
+        SessionResponse found = null;
+        // GZIPInputStream reads on through the members that follow
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                Channels.newInputStream(openAt(dayFile(day), offset != null ? offset : 0)), BUFFER_SIZE),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.contains(needle)) {
+                    continue;
+                }
+                SessionResponse candidate = objectMapper.readValue(line, SessionResponse.class);
+                if (candidate.session().id().equals(id)) {
+                    found = candidate;
+                    if (offset != null) {
+                        break;
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive for " + day, e);
+        }
+        return found;
+    }
+
+    private static FileChannel openAt(Path file, long position) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return channel.position(position);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private Path dayFile(LocalDate day) {
+        return Paths.get(archivePath).resolve("sessions-" + day + ".ndjson.gz");
+    }
+}
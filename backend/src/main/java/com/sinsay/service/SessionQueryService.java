@@ -0,0 +1,99 @@
+package com.sinsay.service;
+
+import com.sinsay.controller.dto.ChatMessageDto;
+import com.sinsay.controller.dto.SessionDto;
+import com.sinsay.controller.dto.SessionResponse;
+import com.sinsay.controller.dto.SessionSearchResponse;
+import com.sinsay.repository.SessionRepository;
+import com.sinsay.service.dto.SessionCursor;
+import com.sinsay.service.dto.SessionMessageRow;
+import com.sinsay.service.dto.SessionSearchCriteria;
+import com.sinsay.service.dto.SessionView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read path for session loading.
+ * Runs in read-only transactions and projects rows directly into DTOs,
+ * so no entities are materialized or dirty-checked.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SessionQueryService {
+
+    private final SessionRepository sessionRepository;
+
+    /**
+     * Loads a session and a page of its messages with a single query.
+     *
+     * @param id            The session ID
+     * @param afterSequence Only include messages with a greater sequence number
+     * @param limit         Maximum number of messages to include
+     * @return The session view, or empty if the session does not exist
+     */
+    public Optional<SessionView> loadSession(UUID id, int afterSequence, Limit limit) {
+        List<SessionMessageRow> rows = sessionRepository.findSessionWithMessages(id, afterSequence, limit);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        SessionMessageRow first = rows.get(0);
+        SessionDto session = new SessionDto(
+                first.sessionId(),
+                first.intent(),
+                first.orderNumber(),
+                first.productName(),
+                first.description(),
+                first.sessionCreatedAt(),
+                first.decision());
+
+        List<ChatMessageDto> messages = new ArrayList<>(rows.size());
+        for (SessionMessageRow row : rows) {
+            if (row.messageId() != null) {
+                messages.add(new ChatMessageDto(
+                        row.messageId(), row.role(), row.content(), row.sequenceNumber(), row.messageCreatedAt()));
+            }
+        }
+
+        int lastSequenceNumber = first.lastSequenceNumber() != null ? first.lastSequenceNumber() : -1;
+        return Optional.of(new SessionView(new SessionResponse(session, messages), lastSequenceNumber));
+    }
+
+    /**
+     * Looks up only the session's last sequence number, for conditional requests.
+     *
+     * @param id The session ID
+     * @return The last sequence number (-1 if no messages), or empty if the session does not exist
+     */
+    public Optional<Integer> findLastSequenceNumber(UUID id) {
+        return sessionRepository.findLastSequenceNumber(id);
+    }
+
+    /**
+     * Searches sessions, newest first, one keyset page at a time.
+     * One extra row is fetched to tell whether another page exists.
+     *
+     * @param criteria The search filters
+     * @param after    Position after which to continue, or null for the first page
+     * @param limit    Page size
+     * @return The page of sessions and the cursor for the next one
+     */
+    public SessionSearchResponse search(SessionSearchCriteria criteria, SessionCursor after, int limit) {
+        List<SessionDto> sessions = sessionRepository.search(criteria, after, limit + 1);
+        if (sessions.size() <= limit) {
+            return new SessionSearchResponse(sessions, null);
+        }
+
+        List<SessionDto> page = sessions.subList(0, limit);
+        SessionDto last = page.get(limit - 1);
+        return new SessionSearchResponse(page, new SessionCursor(last.createdAt(), last.id()).encode());
+    }
+}
@@ -0,0 +1,108 @@
+package com.sinsay.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.controller.dto.ChatMessageDto;
+import com.sinsay.controller.dto.SessionDto;
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Session;
+import com.sinsay.model.SessionSnapshot;
+import com.sinsay.repository.SessionSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the session_snapshots read model.
+ * Each snapshot holds the exact JSON body of GET /api/sessions/{id}. New messages are
+ * serialized once and spliced in front of the closing brackets, so reads never touch the
+ * message table or Jackson. Writes must run inside a write transaction on the
+ * {@link PersistenceWriter}, which keeps appends to one session strictly ordered.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SessionSnapshotService {
+
+    private static final String MESSAGES_END = "]}";
+
+    private final SessionSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Loads the snapshot of a session.
+     *
+     * @param sessionId The session ID
+     * @return The snapshot, or empty if the session has none
+     */
+    public Optional<SessionSnapshot> find(UUID sessionId) {
+        return snapshotRepository.findById(sessionId);
+    }
+
+    /**
+     * Creates the snapshot of a newly persisted session.
+     *
+     * @param session  The saved session
+     * @param messages Its saved messages, in sequence order
+     */
+    public void create(Session session, List<ChatMessage> messages) {
+        SessionDto sessionDto = new SessionDto(
+                session.getId(),
+                session.getIntent(),
+                session.getOrderNumber(),
+                session.getProductName(),
+                session.getDescription(),
+                session.getCreatedAt(),
+                session.getDecision());
+        String body = "{\"session\":" + toJson(sessionDto) + ",\"messages\":["
+                + messages.stream().map(this::toJson).collect(Collectors.joining(","))
+                + MESSAGES_END;
+        int lastSequenceNumber = messages.isEmpty() ? -1 : messages.get(messages.size() - 1).getSequenceNumber();
+        snapshotRepository.save(new SessionSnapshot(session.getId(), lastSequenceNumber, body));
+    }
+
+    /**
+     * Appends a newly persisted message to its session's snapshot, if the session has one.
+     *
+     * @param message The saved message
+     */
+    public void append(ChatMessage message) {
+        snapshotRepository.findById(message.getSessionId()).ifPresent(snapshot -> {
+            if (message.getSequenceNumber() <= snapshot.getLastSequenceNumber()) {
+                // Out of order: drop the snapshot and let reads fall back to the message query
+                log.warn("Message {} arrived out of order for session {}, dropping its snapshot",
+                        message.getSequenceNumber(), message.getSessionId());
+                snapshotRepository.delete(snapshot);
+                return;
+            }
+            String body = snapshot.getBody();
+            String separator = snapshot.getLastSequenceNumber() < 0 ? "" : ",";
+            snapshot.setBody(body.substring(0, body.length() - MESSAGES_END.length())
+                    + separator + toJson(message) + MESSAGES_END);
+            snapshot.setLastSequenceNumber(message.getSequenceNumber());
+            snapshotRepository.save(snapshot);
+        });
+    }
+
+    private String toJson(ChatMessage message) {
+        return toJson(new ChatMessageDto(
+                message.getId(),
+                message.getRole(),
+                message.getContent(),
+                message.getSequenceNumber(),
+                message.getCreatedAt()));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize session snapshot", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.sinsay.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.model.Decision;
 
 /**
  * Utility class for encoding SSE events in the Vercel AI SDK v6 UI Message Stream format.
@@ -72,6 +73,23 @@ public class SseStreamEncoder {
         }
     }
 
+    /**
+     * Encodes the verdict as a custom data part, sent as soon as it is recognised so the
+     * client can show it before the rest of the text arrives.
+     *
+     * @param messageId The UUID identifying this message (same as in start event)
+     * @param decision  The recognised verdict
+     * @return JSON string: {"type":"data-decision","id":"...","data":{"decision":"...","label":"..."}}
+     */
+    public static String encodeDecision(String messageId, Decision decision) {
+        try {
+            return objectMapper.writeValueAsString(
+                    new EventDecision(messageId, new DecisionData(decision.name(), decision.getLabel())));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to encode decision event", e);
+        }
+    }
+
     // Internal record classes for JSON serialization
 
     private record EventStart(String type, String messageId) {
@@ -97,4 +115,13 @@ public class SseStreamEncoder {
             this("text-end", id);
         }
     }
+
+    private record EventDecision(String type, String id, DecisionData data) {
+        EventDecision(String id, DecisionData data) {
+            this("data-decision", id, data);
+        }
+    }
+
+    private record DecisionData(String decision, String label) {
+    }
 }
@@ -0,0 +1,69 @@
+package com.sinsay.service;
+
+import com.sinsay.controller.dto.MessageSearchHit;
+import com.sinsay.controller.dto.MessageSearchResponse;
+import com.sinsay.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over chat transcripts.
+ * Queries are split into terms that must all occur in a message. There is no Polish stemmer
+ * in SQLite, so a trailing vowel is dropped from longer terms and every term is matched as a
+ * prefix: "plama" finds "plamy" and "plamę", "rozprute" finds "rozprutych".
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TranscriptSearchService {
+
+    static final int MAX_TERMS = 8;
+    private static final int MIN_STEMMED_LENGTH = 5;
+    private static final String VOWELS = "aeiouyąęó";
+
+    private final ChatMessageRepository chatMessageRepository;
+
+    /**
+     * Searches message content.
+     *
+     * @param query  Free-text query
+     * @param offset Number of hits to skip
+     * @param limit  Maximum number of hits to return
+     * @return A page of hits, best match first
+     * @throws IllegalArgumentException if the query contains no searchable terms
+     */
+    public MessageSearchResponse search(String query, int offset, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("query must contain at least one word");
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<MessageSearchHit> hits = chatMessageRepository.searchContent(terms, offset, limit + 1);
+        if (hits.size() <= limit) {
+            return new MessageSearchResponse(hits, null);
+        }
+        return new MessageSearchResponse(hits.subList(0, limit), offset + limit);
+    }
+
+    static List<String> terms(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(TranscriptSearchService::stem)
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    private static String stem(String term) {
+        if (term.length() >= MIN_STEMMED_LENGTH && VOWELS.indexOf(term.charAt(term.length() - 1)) >= 0) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+}
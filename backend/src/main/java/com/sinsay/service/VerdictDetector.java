@@ -0,0 +1,38 @@
+package com.sinsay.service;
+
+import com.sinsay.model.Decision;
+
+/**
+ * Spots the verdict at the start of a streamed response.
+ * A verdict is only reported when the response opens with a "Decyzja:" line (see
+ * {@link Decision#parse(String)}), so follow-up answers that merely mention a category get no
+ * badge. Scanning stops at the end of the first line, or after {@link #HEAD_LENGTH} characters
+ * without one; further chunks are ignored.
+ */
+class VerdictDetector {
+
+    static final int HEAD_LENGTH = 300;
+
+    private final StringBuilder head = new StringBuilder();
+    private boolean finished;
+
+    /**
+     * Feeds the next chunk of the response.
+     *
+     * @param delta The text chunk
+     * @return The verdict, the first time it can be recognised; null otherwise
+     */
+    Decision accept(String delta) {
+        if (finished) {
+            return null;
+        }
+        head.append(delta);
+        String text = head.toString();
+        Decision decision = Decision.parse(text);
+        boolean firstLineComplete = text.stripLeading().indexOf('\n') >= 0;
+        if (decision != null || firstLineComplete || head.length() >= HEAD_LENGTH) {
+            finished = true;
+        }
+        return decision;
+    }
+}
@@ -1,6 +1,6 @@
 package com.sinsay.service.dto;
 
-import com.sinsay.model.Intent;
+import com.sinsay.model.Decision;
 
 import java.util.UUID;
 
@@ -9,6 +9,7 @@ import java.util.UUID;
  *
  * @param sessionId The ID of the created session
  * @param message   The AI's initial response message
+ * @param decision  The verdict read from the message's decision line, MISSING if it has none
  */
-public record AnalysisResponse(UUID sessionId, String message) {
+public record AnalysisResponse(UUID sessionId, String message, Decision decision) {
 }
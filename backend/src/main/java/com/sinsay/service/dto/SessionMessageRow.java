@@ -0,0 +1,29 @@
+package com.sinsay.service.dto;
+
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat projection row of a session joined with one of its messages.
+ * Message columns are null when the session has no messages in the requested range.
+ */
+public record SessionMessageRow(
+        UUID sessionId,
+        Intent intent,
+        String orderNumber,
+        String productName,
+        String description,
+        LocalDateTime sessionCreatedAt,
+        Decision decision,
+        Integer lastSequenceNumber,
+        UUID messageId,
+        Role role,
+        String content,
+        Integer sequenceNumber,
+        LocalDateTime messageCreatedAt
+) {
+}
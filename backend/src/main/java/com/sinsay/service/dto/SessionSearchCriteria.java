@@ -0,0 +1,21 @@
+package com.sinsay.service.dto;
+
+import com.sinsay.model.Intent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for session search. Null fields are not applied.
+ *
+ * @param orderNumber Exact order number
+ * @param intent      Session intent
+ * @param from        Inclusive lower bound on creation time
+ * @param to          Exclusive upper bound on creation time
+ */
+public record SessionSearchCriteria(
+        String orderNumber,
+        Intent intent,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+}
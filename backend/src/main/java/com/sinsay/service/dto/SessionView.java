@@ -0,0 +1,12 @@
+package com.sinsay.service.dto;
+
+import com.sinsay.controller.dto.SessionResponse;
+
+/**
+ * A loaded session page together with the session's last sequence number.
+ *
+ * @param response           The session and the requested page of messages
+ * @param lastSequenceNumber Highest sequence number in the session, or -1 if it has no messages
+ */
+public record SessionView(SessionResponse response, int lastSequenceNumber) {
+}
@@ -0,0 +1,14 @@
+package com.sinsay.service.dto;
+
+import java.nio.file.Path;
+
+/**
+ * An uploaded image held in the content-addressed image store until it is released.
+ *
+ * @param path     Location of the stored file
+ * @param mimeType MIME type detected from the file signature
+ * @param sha256   Hex-encoded SHA-256 of the file content (also its file name)
+ * @param size     File size in bytes
+ */
+public record StoredImage(Path path, String mimeType, String sha256, long size) {
+}
@@ -0,0 +1,27 @@
+-- Initial schema (H2, used by tests). Mirrors db/migration/sqlite/V1__create_schema.sql.
+
+CREATE TABLE IF NOT EXISTS sessions (
+    id           uuid         NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    description  TEXT         NOT NULL,
+    intent       enum ('COMPLAINT', 'RETURN') NOT NULL,
+    order_number varchar(100) NOT NULL,
+    product_name varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id              uuid         NOT NULL,
+    content         TEXT         NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    role            enum ('ASSISTANT', 'USER') NOT NULL,
+    sequence_number integer      NOT NULL,
+    session_id      uuid         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_chat_messages_session_sequence ON chat_messages (session_id, sequence_number);
+
+CREATE INDEX IF NOT EXISTS idx_sessions_created_id ON sessions (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_order_number ON sessions (order_number, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_intent_created ON sessions (intent, created_at, id);
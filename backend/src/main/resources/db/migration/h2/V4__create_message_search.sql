@@ -0,0 +1,10 @@
+-- Plain-text copy of message content for search. H2 has no FTS5, so tests search this
+-- table with LIKE; the SQLite schema adds the FTS5 index on top of it
+CREATE TABLE IF NOT EXISTS message_search (
+    id              bigint      GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    message_id      varchar(36) NOT NULL,
+    session_id      varchar(36) NOT NULL,
+    sequence_number integer     NOT NULL,
+    content         TEXT        NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_message_search_session ON message_search (session_id);
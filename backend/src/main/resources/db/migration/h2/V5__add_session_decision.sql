@@ -0,0 +1,12 @@
+-- Structured verdict of the initial analysis
+ALTER TABLE sessions ADD COLUMN IF NOT EXISTS decision enum ('ACCEPTED', 'REJECTED', 'UNCLEAR');
+
+-- Sessions per creation day, intent and verdict, incremented as sessions are created so the
+-- stats endpoint never aggregates over sessions
+CREATE TABLE IF NOT EXISTS decision_stats (
+    stat_day      date                                   NOT NULL,
+    intent        enum ('COMPLAINT', 'RETURN')           NOT NULL,
+    decision      enum ('ACCEPTED', 'REJECTED', 'UNCLEAR') NOT NULL,
+    session_count bigint                                 NOT NULL,
+    PRIMARY KEY (stat_day, intent, decision)
+);
@@ -0,0 +1,11 @@
+-- Replaces the V4 plain-text copy of message content. H2 has no FTS5, so message_search only
+-- lists the indexed messages and tests match their decompressed content in Java.
+-- V6_1 backfills it.
+DROP TABLE IF EXISTS message_search;
+
+CREATE TABLE IF NOT EXISTS message_search (
+    id         integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    message_id uuid    NOT NULL UNIQUE,
+    session_id uuid    NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_message_search_session ON message_search (session_id);
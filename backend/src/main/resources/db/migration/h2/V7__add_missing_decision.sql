@@ -0,0 +1,3 @@
+-- Responses without a "Decyzja:" line are recorded as MISSING instead of being counted as UNCLEAR
+ALTER TABLE sessions ALTER COLUMN decision SET DATA TYPE enum ('ACCEPTED', 'REJECTED', 'UNCLEAR', 'MISSING');
+ALTER TABLE decision_stats ALTER COLUMN decision SET DATA TYPE enum ('ACCEPTED', 'REJECTED', 'UNCLEAR', 'MISSING');
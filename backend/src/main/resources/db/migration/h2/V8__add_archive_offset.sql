@@ -0,0 +1,3 @@
+-- Byte offset of the gzip member that holds the session, so a load decompresses only that
+-- member instead of the whole day file. NULL for sessions archived before the column existed
+ALTER TABLE archived_sessions ADD COLUMN IF NOT EXISTS archive_offset bigint;
@@ -0,0 +1,32 @@
+-- Initial schema. IF NOT EXISTS lets this run against databases previously created by
+-- Hibernate's ddl-auto=update (see spring.flyway.baseline-version=0).
+
+CREATE TABLE IF NOT EXISTS sessions (
+    id           blob         NOT NULL,
+    created_at   timestamp    NOT NULL,
+    description  TEXT         NOT NULL,
+    intent       varchar(255) NOT NULL CHECK (intent IN ('RETURN', 'COMPLAINT')),
+    order_number varchar(100) NOT NULL,
+    product_name varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id              blob         NOT NULL,
+    content         TEXT         NOT NULL,
+    created_at      timestamp    NOT NULL,
+    role            varchar(255) NOT NULL CHECK (role IN ('USER', 'ASSISTANT')),
+    sequence_number integer      NOT NULL,
+    session_id      blob         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- History loads and cursor pages are range scans on this index; it also rejects
+-- two messages claiming the same position in a session
+DROP INDEX IF EXISTS idx_chat_messages_session_sequence;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_chat_messages_session_sequence ON chat_messages (session_id, sequence_number);
+
+-- Session search: one index per filter, each ending in the (created_at, id) sort key
+CREATE INDEX IF NOT EXISTS idx_sessions_created_id ON sessions (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_order_number ON sessions (order_number, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_intent_created ON sessions (intent, created_at, id);
@@ -0,0 +1,7 @@
+-- Sessions moved to the NDJSON.gz archive; archive_day names the day file that holds them
+CREATE TABLE IF NOT EXISTS archived_sessions (
+    session_id   blob      NOT NULL,
+    archive_day  date      NOT NULL,
+    archived_at  timestamp NOT NULL,
+    PRIMARY KEY (session_id)
+);
@@ -0,0 +1,8 @@
+-- Read model for GET /api/sessions/{id}: the full session response, pre-serialized as JSON
+-- and extended in place as messages are appended
+CREATE TABLE IF NOT EXISTS session_snapshots (
+    session_id           blob    NOT NULL,
+    last_sequence_number integer NOT NULL,
+    body                 TEXT    NOT NULL,
+    PRIMARY KEY (session_id)
+);
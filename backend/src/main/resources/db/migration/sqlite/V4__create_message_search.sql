@@ -0,0 +1,29 @@
+-- Plain-text copy of message content for full-text search; chat_messages.content may be
+-- stored compressed, so it cannot be indexed directly
+CREATE TABLE IF NOT EXISTS message_search (
+    id              INTEGER     PRIMARY KEY,
+    message_id      varchar(36) NOT NULL,
+    session_id      varchar(36) NOT NULL,
+    sequence_number integer     NOT NULL,
+    content         TEXT        NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_message_search_session ON message_search (session_id);
+
+-- External-content FTS5 index over message_search. remove_diacritics 2 folds Polish letters
+-- (ą→a, ę→e, ż→z) on both sides, so queries typed without diacritics still match; the
+-- prefix indexes keep the trailing-* term queries used for inflected forms cheap
+CREATE VIRTUAL TABLE IF NOT EXISTS message_search_fts USING fts5(
+    content,
+    content = 'message_search',
+    content_rowid = 'id',
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '3 4'
+);
+
+CREATE TRIGGER IF NOT EXISTS message_search_ai AFTER INSERT ON message_search BEGIN
+    INSERT INTO message_search_fts (rowid, content) VALUES (new.id, new.content);
+END;
+
+CREATE TRIGGER IF NOT EXISTS message_search_ad AFTER DELETE ON message_search BEGIN
+    INSERT INTO message_search_fts (message_search_fts, rowid, content) VALUES ('delete', old.id, old.content);
+END;
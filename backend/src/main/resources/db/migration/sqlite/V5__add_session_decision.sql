@@ -0,0 +1,12 @@
+-- Structured verdict of the initial analysis
+ALTER TABLE sessions ADD COLUMN decision varchar(255) CHECK (decision IN ('ACCEPTED', 'REJECTED', 'UNCLEAR'));
+
+-- Sessions per creation day, intent and verdict, incremented as sessions are created so the
+-- stats endpoint never aggregates over sessions
+CREATE TABLE IF NOT EXISTS decision_stats (
+    stat_day      date         NOT NULL,
+    intent        varchar(255) NOT NULL CHECK (intent IN ('RETURN', 'COMPLAINT')),
+    decision      varchar(255) NOT NULL CHECK (decision IN ('ACCEPTED', 'REJECTED', 'UNCLEAR')),
+    session_count bigint       NOT NULL,
+    PRIMARY KEY (stat_day, intent, decision)
+);
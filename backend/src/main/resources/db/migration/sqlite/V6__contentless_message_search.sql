@@ -0,0 +1,26 @@
+-- Replaces the V4 search tables, which kept a plain-text copy of every message next to the
+-- FTS5 index. The index is now contentless: it stores only the tokens, and snippets are cut
+-- from the decompressed message. message_search maps its rowids to messages; the explicit
+-- INTEGER PRIMARY KEY keeps those rowids stable across VACUUM. V6_1 backfills both tables.
+DROP TRIGGER IF EXISTS message_search_ai;
+DROP TRIGGER IF EXISTS message_search_ad;
+DROP TABLE IF EXISTS message_search_fts;
+DROP TABLE IF EXISTS message_search;
+
+CREATE TABLE IF NOT EXISTS message_search (
+    id         INTEGER PRIMARY KEY,
+    message_id blob    NOT NULL UNIQUE,
+    session_id blob    NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_message_search_session ON message_search (session_id);
+
+-- remove_diacritics 2 folds Polish letters (ą→a, ę→e, ż→z) on both sides, so queries typed
+-- without diacritics still match; the prefix indexes keep the trailing-* term queries used for
+-- inflected forms cheap. contentless_delete lets archiving remove rows by rowid alone
+CREATE VIRTUAL TABLE IF NOT EXISTS message_search_fts USING fts5(
+    content,
+    content = '',
+    contentless_delete = 1,
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '3 4'
+);
@@ -0,0 +1,19 @@
+-- Responses without a "Decyzja:" line are recorded as MISSING instead of being counted as
+-- UNCLEAR. SQLite cannot change a CHECK constraint in place, so sessions.decision is swapped
+-- for a new column and decision_stats is rebuilt
+ALTER TABLE sessions RENAME COLUMN decision TO decision_v5;
+ALTER TABLE sessions ADD COLUMN decision varchar(255) CHECK (decision IN ('ACCEPTED', 'REJECTED', 'UNCLEAR', 'MISSING'));
+UPDATE sessions SET decision = decision_v5;
+ALTER TABLE sessions DROP COLUMN decision_v5;
+
+CREATE TABLE decision_stats_v7 (
+    stat_day      date         NOT NULL,
+    intent        varchar(255) NOT NULL CHECK (intent IN ('RETURN', 'COMPLAINT')),
+    decision      varchar(255) NOT NULL CHECK (decision IN ('ACCEPTED', 'REJECTED', 'UNCLEAR', 'MISSING')),
+    session_count bigint       NOT NULL,
+    PRIMARY KEY (stat_day, intent, decision)
+);
+INSERT INTO decision_stats_v7 (stat_day, intent, decision, session_count)
+SELECT stat_day, intent, decision, session_count FROM decision_stats;
+DROP TABLE decision_stats;
+ALTER TABLE decision_stats_v7 RENAME TO decision_stats;
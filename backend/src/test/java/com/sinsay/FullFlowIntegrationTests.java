@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.node.TextNode;
 import com.sinsay.controller.dto.ChatRequest;
 import com.sinsay.controller.dto.ChatRequest.ChatMessageItem;
 import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Decision;
 import com.sinsay.model.Intent;
 import com.sinsay.model.Role;
 import com.sinsay.model.Session;
@@ -28,6 +29,7 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -42,6 +44,7 @@ import static org.hamcrest.Matchers.emptyString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
@@ -64,6 +67,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @DisplayName("Full-flow integration: session lifecycle")
+@DisabledInAotMode("@MockBean contexts cannot be processed ahead of time")
 class FullFlowIntegrationTests {
 
     @Autowired
@@ -88,7 +92,7 @@ class FullFlowIntegrationTests {
     private String savedSessionId;
     private UUID savedSessionUuid;
 
-    // Minimal valid JPEG bytes (SOI + EOI markers — enough to pass content-type check)
+    // Minimal valid JPEG bytes (SOI + EOI markers — enough to pass the file signature check)
     private static final byte[] MINIMAL_JPEG = new byte[]{
         (byte) 0xFF, (byte) 0xD8, // SOI
         (byte) 0xFF, (byte) 0xE0, 0x00, 0x10, // APP0 marker + length
@@ -143,9 +147,8 @@ class FullFlowIntegrationTests {
                 eq("ORD-001"),
                 eq("Test Shirt"),
                 eq("Produkt uszkodzony"),
-                any(byte[].class),
-                eq("image/jpeg")
-        )).thenReturn(new AnalysisResponse(savedSessionUuid, analysisMessage));
+                argThat(image -> image != null && "image/jpeg".equals(image.mimeType()))
+        )).thenReturn(new AnalysisResponse(savedSessionUuid, analysisMessage, Decision.ACCEPTED));
 
         MockMultipartFile imageFile = new MockMultipartFile(
                 "image", "product.jpg", "image/jpeg", MINIMAL_JPEG
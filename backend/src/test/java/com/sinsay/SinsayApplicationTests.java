@@ -1,13 +1,66 @@
 package com.sinsay;
 
+import com.sinsay.config.CdsTrainingRun;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ActiveProfiles("test")
 class SinsayApplicationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
     @Test
     void contextLoads() {
     }
+
+    @Test
+    void cdsTrainingRun_isNotRegisteredUnlessEnabled() {
+        assertThat(context.getBeanNamesForType(CdsTrainingRun.class)).isEmpty();
+    }
+
+    @Test
+    void actuator_isServedOnTheManagementPortOnly() throws Exception {
+        // Arrange
+        // Own in-memory database, so this context cannot touch the one cached for the other tests
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(SinsayApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.SERVLET)
+                .applicationStartup(new BufferingApplicationStartup(64))
+                .run("--spring.datasource.url=jdbc:h2:mem:management-port",
+                        "--server.port=0", "--management.server.port=0");
+             HttpClient http = HttpClient.newHttpClient()) {
+            String serverPort = app.getEnvironment().getProperty("local.server.port");
+            String managementPort = app.getEnvironment().getProperty("local.management.port");
+
+            // Act
+            int onServerPort = status(http, "http://localhost:" + serverPort + "/actuator/startup");
+            int onManagementPort = status(http, "http://localhost:" + managementPort + "/actuator/startup");
+
+            // Assert
+            assertThat(managementPort).isNotEqualTo(serverPort);
+            assertThat(onServerPort).isEqualTo(404);
+            assertThat(onManagementPort).isEqualTo(200);
+        }
+    }
+
+    private static int status(HttpClient http, String url) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
 }
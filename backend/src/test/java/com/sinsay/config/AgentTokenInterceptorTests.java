@@ -0,0 +1,50 @@
+package com.sinsay.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AgentTokenInterceptor Tests")
+class AgentTokenInterceptorTests {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/agent/sessions");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("should admit the configured bearer token")
+    void preHandle_validToken_admits() {
+        assertThat(new AgentTokenInterceptor("s3cret").preHandle(request("Bearer s3cret"), response, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject a missing, wrong or non-bearer token with 401")
+    void preHandle_invalidToken_rejects() {
+        AgentTokenInterceptor interceptor = new AgentTokenInterceptor("s3cret");
+
+        assertThat(interceptor.preHandle(request(null), response, null)).isFalse();
+        assertThat(interceptor.preHandle(request("Bearer s3cre"), response, null)).isFalse();
+        assertThat(interceptor.preHandle(request("Basic s3cret"), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+    }
+
+    @Test
+    @DisplayName("should hide the agent API when no token is configured")
+    void preHandle_noTokenConfigured_answers404() {
+        AgentTokenInterceptor interceptor = new AgentTokenInterceptor("");
+
+        assertThat(interceptor.preHandle(request("Bearer "), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,203 @@
+package com.sinsay.config;
+
+import com.openai.core.RequestOptions;
+import com.openai.core.http.HttpMethod;
+import com.openai.core.http.HttpRequest;
+import com.openai.core.http.HttpRequestBody;
+import com.openai.core.http.HttpResponse;
+import com.openai.errors.OpenAIIoException;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CassetteHttpClient Tests")
+class CassetteHttpClientTests {
+
+    private static final String FIRST_CHUNK = "data: {\"delta\":\"Decyzja: \"}\n\n";
+    private static final String SECOND_CHUNK = "data: {\"delta\":\"Niejasne\"}\n\ndata: [DONE]\n\n";
+    private static final long CHUNK_GAP_MS = 300;
+
+    @TempDir
+    Path cassettes;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private OkHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Streams two chunks with a pause in between, like a model producing tokens
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            serverCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.getResponseHeaders().add("x-request-id", "req-1");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(FIRST_CHUNK.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(CHUNK_GAP_MS);
+                out.write(SECOND_CHUNK.getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+        transport = new OkHttpTransport(new OkHttpClient.Builder().protocols(List.of(Protocol.HTTP_1_1)).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("should pass the response through while recording it to a compressed cassette")
+    void record_passesThroughAndWritesCassette() throws IOException {
+        // Arrange
+        CassetteHttpClient client = new CassetteHttpClient(transport, CassetteHttpClient.Mode.RECORD, cassettes, 1);
+
+        // Act
+        String body = readBody(client, request("{\"model\":\"a\",\"messages\":[],\"stream\":true}"));
+
+        // Assert
+        assertThat(body).isEqualTo(FIRST_CHUNK + SECOND_CHUNK);
+        try (var files = Files.list(cassettes)) {
+            assertThat(files.map(file -> file.getFileName().toString()).toList())
+                    .singleElement()
+                    .satisfies(name -> assertThat(name).endsWith("-0000.json.gz"));
+        }
+    }
+
+    @Test
+    @DisplayName("should replay the recorded stream with its timing and without calling the provider")
+    void replay_servesRecordedChunksWithRecordedTiming() throws IOException {
+        // Arrange
+        record("{\"model\":\"a\",\"messages\":[],\"stream\":true}");
+        server.stop(0);
+        CassetteHttpClient replay = new CassetteHttpClient(transport, CassetteHttpClient.Mode.REPLAY, cassettes, 1);
+        // Key order and the routed model do not change the fingerprint
+        HttpRequest sameRequest = request("{\"stream\":true,\"messages\":[],\"model\":\"b\"}");
+
+        // Act
+        long start = System.nanoTime();
+        String body;
+        try (HttpResponse response = replay.executeAsync(sameRequest, RequestOptions.none()).join()) {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.requestId()).contains("req-1");
+            body = new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertThat(body).isEqualTo(FIRST_CHUNK + SECOND_CHUNK);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(CHUNK_GAP_MS - 50);
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should replay without delays at speed 0")
+    void replay_speedZero_servesImmediately() throws IOException {
+        // Arrange
+        record("{\"messages\":[]}");
+        CassetteHttpClient replay = new CassetteHttpClient(transport, CassetteHttpClient.Mode.REPLAY, cassettes, 0);
+
+        // Act
+        long start = System.nanoTime();
+        String body = readBody(replay, request("{\"messages\":[]}"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertThat(body).isEqualTo(FIRST_CHUNK + SECOND_CHUNK);
+        assertThat(elapsedMs).isLessThan(CHUNK_GAP_MS / 2);
+    }
+
+    @Test
+    @DisplayName("should fail a request that was never recorded instead of reaching the network")
+    void replay_unknownRequest_fails() throws IOException {
+        // Arrange
+        record("{\"messages\":[]}");
+        CassetteHttpClient replay = new CassetteHttpClient(transport, CassetteHttpClient.Mode.REPLAY, cassettes, 0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> replay.execute(request("{\"messages\":[1]}"), RequestOptions.none()))
+                .isInstanceOf(OpenAIIoException.class)
+                .hasMessageContaining("No cassette recorded");
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    private void record(String json) throws IOException {
+        readBody(new CassetteHttpClient(transport, CassetteHttpClient.Mode.RECORD, cassettes, 1), request(json));
+    }
+
+    private static String readBody(CassetteHttpClient client, HttpRequest request) throws IOException {
+        try (HttpResponse response = client.execute(request, RequestOptions.none());
+             InputStream body = response.body()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private HttpRequest request(String json) {
+        return HttpRequest.builder()
+                .method(HttpMethod.POST)
+                .baseUrl(baseUrl)
+                .addPathSegments("chat", "completions")
+                .body(jsonBody(json))
+                .build();
+    }
+
+    private static HttpRequestBody jsonBody(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return new HttpRequestBody() {
+            @Override
+            public void writeTo(OutputStream outputStream) {
+                try {
+                    outputStream.write(bytes);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public String contentType() {
+                return "application/json";
+            }
+
+            @Override
+            public long contentLength() {
+                return bytes.length;
+            }
+
+            @Override
+            public boolean repeatable() {
+                return false;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.sinsay.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CustomerJourney Tests")
+class CustomerJourneyTests {
+
+    private static final String SESSION_ID = "0190f3a4-0000-7000-8000-000000000001";
+
+    private HttpServer server;
+    private String baseUrl;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int sessionStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Answers like the backend: the analysis JSON, a short UI message stream and the session
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String path = exchange.getRequestURI().getPath();
+            requests.add(exchange.getRequestMethod() + " " + path + (body.contains("name=\"image\"") ? " +image" : ""));
+            String response;
+            int status = 200;
+            if (path.equals("/api/sessions")) {
+                status = sessionStatus;
+                response = "{\"sessionId\":\"" + SESSION_ID + "\",\"message\":\"Decyzja: Niejasne\"}";
+            } else if (path.endsWith("/messages")) {
+                response = "data: {\"type\":\"text-delta\",\"id\":\"m\",\"delta\":\"Ok\"}\n\ndata: [DONE]\n\n";
+            } else {
+                response = "{}";
+            }
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("should create a session with a photo, stream one chat turn and read the session back")
+    void run_coversTheCustomerJourney() throws Exception {
+        // Act
+        new CustomerJourney(new ObjectMapper()).run(baseUrl);
+
+        // Assert
+        assertThat(requests).containsExactly(
+                "POST /api/sessions +image",
+                "POST /api/sessions/" + SESSION_ID + "/messages",
+                "GET /api/sessions/" + SESSION_ID);
+    }
+
+    @Test
+    @DisplayName("should fail the run when a step is not answered with 200")
+    void run_failedStep_throws() {
+        // Arrange
+        sessionStatus = 500;
+
+        // Act & Assert
+        assertThatThrownBy(() -> new CustomerJourney(new ObjectMapper()).run(baseUrl))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("answered 500");
+        assertThat(requests).hasSize(1);
+    }
+}
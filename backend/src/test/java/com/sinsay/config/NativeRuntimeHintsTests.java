@@ -0,0 +1,56 @@
+package com.sinsay.config;
+
+import com.sinsay.controller.dto.ChatRequest;
+import com.sinsay.controller.dto.SessionResponse;
+import com.sinsay.model.UuidV7Generator;
+import com.sinsay.service.dto.AnalysisResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NativeRuntimeHints Tests")
+class NativeRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("should let Hibernate instantiate the SQLite dialect and the UUIDv7 generator")
+    void registersReflectivelyCreatedHibernateTypes() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(NativeRuntimeHints.SQLITE_DIALECT))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(UuidV7Generator.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("should include the migrations of every vendor and the compression dictionary")
+    void registersClasspathResources() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/sqlite/V1__create_schema.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/h2/V1__create_schema.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("compression/message-dictionary-v1.txt"))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("should register Jackson bindings for the DTOs of both dto packages")
+    void registersDtoBindings() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ChatRequest.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(SessionResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(AnalysisResponse.class)).accepts(hints);
+    }
+}
@@ -0,0 +1,195 @@
+package com.sinsay.config;
+
+import com.openai.core.RequestOptions;
+import com.openai.core.http.HttpMethod;
+import com.openai.core.http.HttpRequest;
+import com.openai.core.http.HttpRequestBody;
+import com.openai.core.http.HttpResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OkHttpTransport Tests")
+class OkHttpTransportTests {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicReference<String> receivedUri = new AtomicReference<>();
+    private final AtomicReference<String> receivedHeader = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    private SimpleMeterRegistry registry;
+    private OkHttpClient okHttpClient;
+    private OkHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedUri.set(exchange.getRequestURI().toString());
+            receivedHeader.set(exchange.getRequestHeaders().getFirst("X-Test"));
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] response = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("x-request-id", "req-1");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+
+        registry = new SimpleMeterRegistry();
+        okHttpClient = new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.HTTP_1_1))
+                .eventListenerFactory(OkHttpTimingListener.factory(registry))
+                .build();
+        transport = new OkHttpTransport(okHttpClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("should send path, query, headers and body and expose the response")
+    void execute_mapsRequestAndResponse() throws IOException {
+        // Arrange
+        HttpRequest request = HttpRequest.builder()
+                .method(HttpMethod.POST)
+                .baseUrl(baseUrl)
+                .addPathSegments("chat", "completions")
+                .putQueryParam("stream", "true")
+                .putHeader("X-Test", "value")
+                .body(jsonBody("{\"model\":\"m\"}"))
+                .build();
+
+        // Act
+        try (HttpResponse response = transport.execute(request, RequestOptions.none())) {
+
+            // Assert
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.requestId()).contains("req-1");
+            assertThat(new String(response.body().readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"ok\":true}");
+        }
+        assertThat(receivedUri.get()).isEqualTo("/v1/chat/completions?stream=true");
+        assertThat(receivedHeader.get()).isEqualTo("value");
+        assertThat(receivedBody.get()).isEqualTo("{\"model\":\"m\"}");
+    }
+
+    @Test
+    @DisplayName("should time each phase and count the pooled connection as reused")
+    void execute_recordsPhaseTimingsAndConnectionReuse() throws IOException {
+        // Arrange
+        HttpRequest request = HttpRequest.builder()
+                .method(HttpMethod.GET)
+                .baseUrl(baseUrl)
+                .addPathSegment("models")
+                .build();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            try (HttpResponse response = transport.execute(request, RequestOptions.none())) {
+                response.body().readAllBytes();
+            }
+        }
+
+        // Assert
+        assertThat(timerCount("connect")).isEqualTo(1);
+        assertThat(timerCount("ttfb")).isEqualTo(2);
+        assertThat(timerCount("total")).isEqualTo(2);
+        assertThat(registry.get(OkHttpTimingListener.CONNECTIONS).tag("reused", "false").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get(OkHttpTimingListener.CONNECTIONS).tag("reused", "true").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should pool the pre-warmed connection without recording it")
+    void prewarm_opensPooledConnectionOutsideMetrics() throws Exception {
+        // Arrange
+        HttpRequest request = HttpRequest.builder()
+                .method(HttpMethod.GET)
+                .baseUrl(baseUrl)
+                .addPathSegment("models")
+                .build();
+
+        // Act
+        transport.prewarm(baseUrl, 1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (okHttpClient.connectionPool().idleConnectionCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        try (HttpResponse response = transport.execute(request, RequestOptions.none())) {
+            response.body().readAllBytes();
+        }
+
+        // Assert
+        assertThat(registry.find(OkHttpTimingListener.TIMER).tag("phase", "connect").timers())
+                .allSatisfy(timer -> assertThat(timer.count()).isZero());
+        assertThat(timerCount("total")).isEqualTo(1);
+        assertThat(registry.get(OkHttpTimingListener.CONNECTIONS).tag("reused", "false").counter().count())
+                .isZero();
+        assertThat(registry.get(OkHttpTimingListener.CONNECTIONS).tag("reused", "true").counter().count())
+                .isEqualTo(1);
+    }
+
+    private long timerCount(String phase) {
+        return registry.get(OkHttpTimingListener.TIMER)
+                .tag("phase", phase)
+                .tag("outcome", "success")
+                .timer()
+                .count();
+    }
+
+    private static HttpRequestBody jsonBody(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return new HttpRequestBody() {
+            @Override
+            public void writeTo(OutputStream outputStream) {
+                try {
+                    outputStream.write(bytes);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public String contentType() {
+                return "application/json";
+            }
+
+            @Override
+            public long contentLength() {
+                return bytes.length;
+            }
+
+            @Override
+            public boolean repeatable() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.sinsay.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the prod SQLite datasource setup: pragmas and read-only routing.
+ */
+@DisabledInNativeImage
+class SqliteDataSourceConfigTests {
+
+    @TempDir
+    Path tempDir;
+
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withInitializer(context -> context.getEnvironment().setActiveProfiles("prod"))
+                .withUserConfiguration(SqliteDataSourceConfig.class)
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:sqlite:" + tempDir.resolve("test.db"),
+                        "sqlite.reader-pool-size=2");
+    }
+
+    @Test
+    @DisplayName("Writer connections should use WAL with the configured pragmas")
+    void writer_shouldApplyPragmas() {
+        contextRunner().run(context -> {
+            HikariDataSource writer = context.getBean("sqliteWriterDataSource", HikariDataSource.class);
+            JdbcTemplate jdbc = new JdbcTemplate(writer);
+
+            assertThat(writer.getMaximumPoolSize()).isEqualTo(1);
+            assertThat(jdbc.queryForObject("PRAGMA journal_mode", String.class)).isEqualToIgnoringCase("wal");
+            assertThat(jdbc.queryForObject("PRAGMA synchronous", Integer.class)).isEqualTo(1);
+            assertThat(jdbc.queryForObject("PRAGMA busy_timeout", Integer.class)).isEqualTo(5000);
+            assertThat(jdbc.queryForObject("PRAGMA cache_size", Integer.class)).isEqualTo(-65536);
+        });
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should run on query-only reader connections")
+    void readOnlyTransactions_shouldRouteToReaders() {
+        contextRunner().run(context -> {
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionTemplate writeTx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            TransactionTemplate readTx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            readTx.setReadOnly(true);
+
+            writeTx.executeWithoutResult(status -> {
+                jdbc.execute("CREATE TABLE items (name TEXT)");
+                jdbc.update("INSERT INTO items VALUES ('first')");
+            });
+
+            Integer count = readTx.execute(status -> jdbc.queryForObject("SELECT count(*) FROM items", Integer.class));
+            Integer queryOnly = readTx.execute(status -> jdbc.queryForObject("PRAGMA query_only", Integer.class));
+
+            assertThat(count).isEqualTo(1);
+            assertThat(queryOnly).isEqualTo(1);
+            assertThatThrownBy(() -> readTx.executeWithoutResult(
+                    status -> jdbc.update("INSERT INTO items VALUES ('second')")))
+                    .hasMessageContaining("readonly");
+            assertThat(context.getBean("sqliteReaderDataSource", HikariDataSource.class).getMaximumPoolSize())
+                    .isEqualTo(2);
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.sinsay.config;
+
+import com.openai.client.OpenAIClient;
+import com.sinsay.SinsayApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("StartupConfig Tests")
+class StartupConfigTests {
+
+    @Nested
+    @DisplayName("Startup timeline")
+    class Timeline {
+
+        @Test
+        @DisplayName("should record the dotenv, OpenAI client and Hibernate schema steps")
+        void recordsCustomStartupSteps() {
+            // Arrange
+            BufferingApplicationStartup startup = new BufferingApplicationStartup(4096);
+
+            // Act
+            // Own in-memory database, so this context cannot touch the one cached for the other tests
+            try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(SinsayApplication.class)
+                    .profiles("test")
+                    .web(WebApplicationType.NONE)
+                    .applicationStartup(startup)
+                    .run("--spring.datasource.url=jdbc:h2:mem:startup-timeline")) {
+
+                // Assert
+                assertThat(startup.getBufferedTimeline().getEvents())
+                        .extracting(event -> event.getStartupStep().getName())
+                        .contains("sinsay.dotenv.load", "sinsay.openai.client", "sinsay.hibernate.schema");
+                StartupTimeline.TimelineEvent schema = startup.getBufferedTimeline().getEvents().stream()
+                        .filter(event -> event.getStartupStep().getName().equals("sinsay.hibernate.schema"))
+                        .findFirst().orElseThrow();
+                assertThat(schema.getStartupStep().getTags())
+                        .anySatisfy(tag -> assertThat(tag.getValue()).isEqualTo("validate"));
+            }
+        }
+    }
+
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    @ActiveProfiles({"test", "lazy"})
+    @DisplayName("Lazy profile")
+    class LazyProfile {
+
+        @Autowired
+        private ConfigurableApplicationContext context;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("should defer the OpenAI client to first use but keep startup-critical and scheduled beans eager")
+        void defersOnlyNonCriticalBeans() {
+            var beanFactory = context.getBeanFactory();
+
+            assertThat(beanFactory.containsSingleton("dotenvInitializer")).isTrue();
+            assertThat(beanFactory.containsSingleton("flywayInitializer")).isTrue();
+            assertThat(beanFactory.containsSingleton("entityManagerFactory")).isTrue();
+            assertThat(beanFactory.containsSingleton("openAIConfig")).isTrue();
+            assertThat(beanFactory.containsSingleton("brownoutController")).isTrue();
+            assertThat(beanFactory.containsSingleton("sessionArchiveService")).isTrue();
+            assertThat(beanFactory.containsSingleton("openAIClient")).isFalse();
+
+            assertThat(context.getBean(OpenAIClient.class)).isNotNull();
+            assertThat(beanFactory.containsSingleton("openAIClient")).isTrue();
+        }
+
+        @Test
+        @DisplayName("should fail startup without an API key although the client is created lazily")
+        void failsStartupWithoutApiKey() {
+            // Act & Assert
+            // Own in-memory database, so this context cannot touch the one cached for the other tests
+            assertThatThrownBy(() -> new SpringApplicationBuilder(SinsayApplication.class)
+                    .profiles("test", "lazy")
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:lazy-without-key",
+                            "--openai.api-key=", "--openrouter.api-key=")
+                    .close())
+                    .rootCause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("OPENAI_API_KEY");
+        }
+
+        @Test
+        @DisplayName("should report ready with the database checked")
+        void readinessIncludesDatabase() throws Exception {
+            mockMvc.perform(get("/actuator/health/readiness"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("UP"))
+                    .andExpect(jsonPath("$.components.db.status").value("UP"));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sinsay.config;
+
+import com.sinsay.SinsayApplication;
+import com.sinsay.repository.SessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WarmUpRunner Tests")
+class WarmUpRunnerTests {
+
+    @Nested
+    @ExtendWith(OutputCaptureExtension.class)
+    @DisplayName("Warm-up")
+    class WarmUp {
+
+        @Test
+        @DisplayName("should run the journeys against a throwaway instance and report the duration")
+        void runsJourneysAgainstThrowawayInstance(CapturedOutput output) {
+            // Act
+            // Own in-memory database, so this context cannot touch the one cached for the other tests
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SinsayApplication.class)
+                    .profiles("test")
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:warm-up-main",
+                            "--warmup.enabled=true", "--warmup.iterations=2")) {
+
+                // Assert
+                assertThat(output).contains("JIT warm-up: 2 journeys in");
+                TimeGauge duration = context.getBean(MeterRegistry.class)
+                        .get("application.warmup.time").tag("iterations", "2").timeGauge();
+                assertThat(duration.value(TimeUnit.MILLISECONDS)).isPositive();
+                assertThat(context.getBean(SessionRepository.class).count()).isZero();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("throwawayDatabaseUrl")
+    class ThrowawayDatabaseUrl {
+
+        @Test
+        @DisplayName("should put a SQLite database in the warm-up directory")
+        void sqlite_fileInDirectory() {
+            assertThat(WarmUpRunner.throwawayDatabaseUrl("jdbc:sqlite:/data/sinsay.db", Path.of("/tmp/warm-up")))
+                    .isEqualTo("jdbc:sqlite:/tmp/warm-up/warm-up.db");
+        }
+
+        @Test
+        @DisplayName("should use a private in-memory database for H2")
+        void h2_privateInMemoryDatabase() {
+            String url = WarmUpRunner.throwawayDatabaseUrl("jdbc:h2:mem:testdb", Path.of("/tmp/warm-up"));
+
+            assertThat(url).startsWith("jdbc:h2:mem:warm-up-")
+                    .isNotEqualTo(WarmUpRunner.throwawayDatabaseUrl("jdbc:h2:mem:testdb", Path.of("/tmp/warm-up")));
+        }
+
+        @Test
+        @DisplayName("should refuse a database it cannot recreate")
+        void otherDatabase_throws() {
+            assertThatThrownBy(() -> WarmUpRunner.throwawayDatabaseUrl("jdbc:postgresql://db/sinsay", Path.of("/tmp")))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("jdbc:postgresql");
+        }
+    }
+}
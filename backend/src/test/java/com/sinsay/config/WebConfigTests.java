@@ -0,0 +1,65 @@
+package com.sinsay.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for static frontend delivery: precompressed variants and cache headers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WebConfigTests {
+
+    private static final String ASSET = "/assets/fixture-Test1234.js";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Hashed assets should be cached as immutable for a year")
+    void assets_shouldBeImmutable() throws Exception {
+        mockMvc.perform(get(ASSET))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("precompressed asset fixture")));
+    }
+
+    @Test
+    @DisplayName("Brotli-capable clients should get the precompressed .br file")
+    void assets_shouldServeBrotliVariant() throws Exception {
+        mockMvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString("Accept-Encoding")))
+                .andExpect(content().contentTypeCompatibleWith("text/javascript"));
+    }
+
+    @Test
+    @DisplayName("Gzip-only clients should get the precompressed .gz file")
+    void assets_shouldServeGzipVariant() throws Exception {
+        mockMvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    @DisplayName("index.html should always be revalidated")
+    void indexHtml_shouldRequireRevalidation() throws Exception {
+        mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+}
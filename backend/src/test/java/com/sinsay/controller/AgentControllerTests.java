@@ -0,0 +1,234 @@
+package com.sinsay.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+import com.sinsay.model.Session;
+import com.sinsay.repository.ChatMessageRepository;
+import com.sinsay.repository.SessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "agent.api-token=" + AgentControllerTests.TOKEN)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("AgentController Tests")
+class AgentControllerTests {
+
+    static final String TOKEN = "test-agent-token";
+    private static final String BEARER = "Bearer " + TOKEN;
+    private static final String SEARCH = "/api/agent/sessions";
+    private static final String TRANSCRIPTS = "/api/agent/sessions/search";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    private UUID testSessionId;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository.deleteAll();
+        sessionRepository.deleteAll();
+        testSessionId = sessionRepository.save(Session.builder()
+                .intent(Intent.RETURN)
+                .orderNumber("ORD-123")
+                .productName("Test Product")
+                .description("Test description")
+                .build()).getId();
+    }
+
+    @Nested
+    @DisplayName("Access")
+    class AccessTests {
+
+        @Test
+        @DisplayName("Agent endpoints without the agent token should return 401")
+        void testWithoutToken_shouldReturn401() throws Exception {
+            mockMvc.perform(get(SEARCH))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, "Bearer wrong-token"))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get(TRANSCRIPTS).param("q", "plama"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("The public sessions path should not list sessions")
+        void testPublicSessionList_shouldNotBeServed() throws Exception {
+            mockMvc.perform(get("/api/sessions"))
+                    .andExpect(status().isMethodNotAllowed());
+            // Only the session lookup matches, and "search" is not a session id
+            mockMvc.perform(get("/api/sessions/search").param("q", "plama"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/agent/sessions - Search Sessions")
+    class SearchSessionsTests {
+
+        private Session saveSession(Intent intent, String orderNumber) {
+            return sessionRepository.save(Session.builder()
+                    .intent(intent)
+                    .orderNumber(orderNumber)
+                    .productName("Product")
+                    .description("Description")
+                    .build());
+        }
+
+        @Test
+        @DisplayName("Search by order number should return only matching sessions")
+        void testSearchByOrderNumber_shouldReturnMatches() throws Exception {
+            saveSession(Intent.COMPLAINT, "ORD-999");
+
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("orderNumber", "ORD-123"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.sessions.length()").value(1))
+                    .andExpect(jsonPath("$.sessions[0].id").value(testSessionId.toString()))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Search by intent and date range should apply all filters")
+        void testSearchByIntentAndDate_shouldApplyFilters() throws Exception {
+            Session complaint = saveSession(Intent.COMPLAINT, "ORD-456");
+            String today = LocalDate.now().toString();
+
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER)
+                            .param("intent", "complaint")
+                            .param("from", today)
+                            .param("to", today))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.sessions.length()").value(1))
+                    .andExpect(jsonPath("$.sessions[0].id").value(complaint.getId().toString()));
+
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("to", "2000-01-01"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.sessions.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("Following nextCursor should walk every session exactly once")
+        void testSearchWithCursor_shouldPageThroughAllSessions() throws Exception {
+            for (int i = 0; i < 4; i++) {
+                saveSession(Intent.RETURN, "ORD-" + i);
+            }
+
+            Set<String> seen = new HashSet<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                var request = get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("limit", "2");
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                String body = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                JsonNode json = objectMapper.readTree(body);
+                json.get("sessions").forEach(session -> assertThat(seen.add(session.get("id").asText())).isTrue());
+                cursor = json.hasNonNull("nextCursor") ? json.get("nextCursor").asText() : null;
+                pages++;
+            } while (cursor != null);
+
+            assertThat(seen).hasSize(5);
+            assertThat(pages).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Invalid search parameters should return 400")
+        void testSearchWithInvalidParameters_shouldReturn400() throws Exception {
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("intent", "EXCHANGE"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("limit", "101"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(SEARCH).header(HttpHeaders.AUTHORIZATION, BEARER).param("from", "2026-02-01").param("to", "2026-01-01"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/agent/sessions/search - Search Transcripts")
+    class SearchTranscriptsTests {
+
+        private void index(String content) {
+            chatMessageRepository.indexForSearch(chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(testSessionId)
+                    .role(Role.USER)
+                    .content(content)
+                    .sequenceNumber(0)
+                    .build()));
+        }
+
+        @Test
+        @DisplayName("Search should return messages containing every word")
+        void testSearchTranscripts_shouldReturnMatchingMessages() throws Exception {
+            index("Spodnie mają rozprute szwy");
+
+            mockMvc.perform(get(TRANSCRIPTS).header(HttpHeaders.AUTHORIZATION, BEARER).param("q", "Rozprute szwy"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hits.length()").value(1))
+                    .andExpect(jsonPath("$.hits[0].sessionId").value(testSessionId.toString()))
+                    .andExpect(jsonPath("$.hits[0].sequenceNumber").value(0))
+                    .andExpect(jsonPath("$.hits[0].snippet").value("Spodnie mają <mark>rozprute</mark> <mark>szwy</mark>"))
+                    .andExpect(jsonPath("$.nextOffset").doesNotExist());
+
+            mockMvc.perform(get(TRANSCRIPTS).header(HttpHeaders.AUTHORIZATION, BEARER).param("q", "plama"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hits.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("Snippets should escape markup from customer text")
+        void testSearchTranscripts_shouldEscapeCustomerMarkup() throws Exception {
+            index("<img src=x onerror=alert(1)> plama na rękawie");
+
+            mockMvc.perform(get(TRANSCRIPTS).header(HttpHeaders.AUTHORIZATION, BEARER).param("q", "plama"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hits[0].snippet")
+                            .value("&lt;img src=x onerror=alert(1)&gt; <mark>plama</mark> na rękawie"));
+        }
+
+        @Test
+        @DisplayName("Search without words or with a bad page should return 400")
+        void testSearchTranscriptsWithInvalidInput_shouldReturn400() throws Exception {
+            mockMvc.perform(get(TRANSCRIPTS).header(HttpHeaders.AUTHORIZATION, BEARER).param("q", "  ?! "))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(TRANSCRIPTS).header(HttpHeaders.AUTHORIZATION, BEARER).param("q", "plama").param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(TRANSCRIPTS).header(HttpHeaders.AUTHORIZATION, BEARER).param("q", "plama").param("offset", "-1"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
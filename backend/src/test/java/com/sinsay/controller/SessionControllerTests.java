@@ -1,18 +1,22 @@
 package com.sinsay.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Decision;
 import com.sinsay.model.Intent;
 import com.sinsay.model.Role;
 import com.sinsay.model.Session;
 import com.sinsay.repository.ChatMessageRepository;
 import com.sinsay.repository.SessionRepository;
 import com.sinsay.service.AnalysisService;
+import com.sinsay.service.SessionArchiveService;
+import com.sinsay.service.SessionSnapshotService;
 import com.sinsay.service.dto.AnalysisResponse;
+import com.sinsay.service.dto.StoredImage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -22,15 +26,22 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,14 +53,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @DisplayName("SessionController Tests")
+@DisabledInAotMode("@MockBean contexts cannot be processed ahead of time")
 class SessionControllerTests {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
     @MockBean
     private AnalysisService analysisService;
 
@@ -59,9 +68,28 @@ class SessionControllerTests {
     @Autowired
     private ChatMessageRepository chatMessageRepository;
 
+    @Autowired
+    private SessionArchiveService sessionArchiveService;
+
+    @Autowired
+    private SessionSnapshotService sessionSnapshotService;
+
+    @TempDir
+    Path archiveDir;
+
     private UUID testSessionId;
     private Session testSession;
 
+    // Minimal file signatures - the controller detects the format from the leading bytes
+    private static final byte[] JPEG_BYTES = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0x00, 0x10};
+    private static final byte[] PNG_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0x00, 0x00};
+    private static final byte[] WEBP_BYTES = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF_BYTES = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+
+    private static StoredImage storedImageOfType(String mimeType) {
+        return argThat(image -> image != null && mimeType.equals(image.mimeType()));
+    }
+
     @BeforeEach
     @Transactional
     void setUp() {
@@ -88,22 +116,21 @@ class SessionControllerTests {
             // Arrange
             UUID expectedSessionId = UUID.randomUUID();
             String expectedMessage = "Analysis result: Product likely accepted for return.";
-            AnalysisResponse mockResponse = new AnalysisResponse(expectedSessionId, expectedMessage);
+            AnalysisResponse mockResponse = new AnalysisResponse(expectedSessionId, expectedMessage, Decision.ACCEPTED);
 
             when(analysisService.analyzeAndCreateSession(
                     eq(Intent.RETURN),
                     eq("ORD-123"),
                     eq("Test T-shirt"),
                     eq("The product has a stain"),
-                    any(byte[].class),
-                    eq("image/jpeg")
+                    storedImageOfType("image/jpeg")
             )).thenReturn(mockResponse);
 
             MockMultipartFile imageFile = new MockMultipartFile(
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             // Act & Assert
@@ -116,7 +143,8 @@ class SessionControllerTests {
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$.sessionId").value(expectedSessionId.toString()))
-                    .andExpect(jsonPath("$.message").value(expectedMessage));
+                    .andExpect(jsonPath("$.message").value(expectedMessage))
+                    .andExpect(jsonPath("$.decision").value("ACCEPTED"));
 
             // Verify service was called
             verify(analysisService).analyzeAndCreateSession(
@@ -124,8 +152,7 @@ class SessionControllerTests {
                     eq("ORD-123"),
                     eq("Test T-shirt"),
                     eq("The product has a stain"),
-                    any(byte[].class),
-                    eq("image/jpeg")
+                    storedImageOfType("image/jpeg")
             );
         }
 
@@ -136,7 +163,7 @@ class SessionControllerTests {
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             mockMvc.perform(multipart("/api/sessions")
@@ -154,7 +181,7 @@ class SessionControllerTests {
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             mockMvc.perform(multipart("/api/sessions")
@@ -256,29 +283,106 @@ class SessionControllerTests {
                     .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("POST non-image bytes declared as image/jpeg should return 400")
+        void testPostSpoofedContentType_shouldReturn400() throws Exception {
+            MockMultipartFile spoofedFile = new MockMultipartFile(
+                    "image",
+                    "product.jpg",
+                    "image/jpeg",
+                    "%PDF-1.7 not really an image".getBytes()
+            );
+
+            mockMvc.perform(multipart("/api/sessions")
+                            .file(spoofedFile)
+                            .param("intent", "RETURN")
+                            .param("orderNumber", "ORD-123")
+                            .param("productName", "Test T-shirt")
+                            .param("description", "The product has a stain"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST image should use the MIME type detected from the file signature")
+        void testPostImage_shouldUseDetectedMimeType() throws Exception {
+            UUID expectedSessionId = UUID.randomUUID();
+            when(analysisService.analyzeAndCreateSession(
+                    any(Intent.class),
+                    anyString(),
+                    anyString(),
+                    anyString(),
+                    storedImageOfType("image/png")
+            )).thenReturn(new AnalysisResponse(expectedSessionId, "Response", Decision.MISSING));
+
+            MockMultipartFile imageFile = new MockMultipartFile(
+                    "image",
+                    "product.bin",
+                    "application/octet-stream",
+                    PNG_BYTES
+            );
+
+            mockMvc.perform(multipart("/api/sessions")
+                            .file(imageFile)
+                            .param("intent", "RETURN")
+                            .param("orderNumber", "ORD-123")
+                            .param("productName", "Test T-shirt")
+                            .param("description", "The product has a stain"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.sessionId").value(expectedSessionId.toString()));
+        }
+
+        @Test
+        @DisplayName("POST should delete the uploaded file once the analysis has finished")
+        void testPostImage_shouldDeleteUploadAfterAnalysis() throws Exception {
+            AtomicReference<Path> uploaded = new AtomicReference<>();
+            when(analysisService.analyzeAndCreateSession(
+                    any(Intent.class), anyString(), anyString(), anyString(), any(StoredImage.class)
+            )).thenAnswer(invocation -> {
+                StoredImage image = invocation.getArgument(4);
+                assertThat(image.path()).exists();
+                uploaded.set(image.path());
+                throw new IllegalStateException("LLM unavailable");
+            });
+
+            mockMvc.perform(multipart("/api/sessions")
+                            .file(new MockMultipartFile("image", "product.jpg", "image/jpeg", JPEG_BYTES))
+                            .param("intent", "RETURN")
+                            .param("orderNumber", "ORD-123")
+                            .param("productName", "Test T-shirt")
+                            .param("description", "The product has a stain"))
+                    .andExpect(status().isInternalServerError());
+
+            assertThat(uploaded.get()).isNotNull().doesNotExist();
+        }
+
         @Test
         @DisplayName("Valid MIME types: jpeg, png, webp, gif should be accepted")
         void testPostValidMimeTypes_shouldReturn200() throws Exception {
-            String[] validMimeTypes = {"image/jpeg", "image/png", "image/webp", "image/gif"};
+            Map<String, byte[]> validImages = Map.of(
+                    "image/jpeg", JPEG_BYTES,
+                    "image/png", PNG_BYTES,
+                    "image/webp", WEBP_BYTES,
+                    "image/gif", GIF_BYTES
+            );
 
-            for (String mimeType : validMimeTypes) {
+            for (Map.Entry<String, byte[]> validImage : validImages.entrySet()) {
+                String mimeType = validImage.getKey();
                 MockMultipartFile imageFile = new MockMultipartFile(
                         "image",
                         "product." + mimeType.split("/")[1],
                         mimeType,
-                        "test image content".getBytes()
+                        validImage.getValue()
                 );
 
                 UUID expectedSessionId = UUID.randomUUID();
-                AnalysisResponse mockResponse = new AnalysisResponse(expectedSessionId, "Response");
+                AnalysisResponse mockResponse = new AnalysisResponse(expectedSessionId, "Response", Decision.MISSING);
 
                 when(analysisService.analyzeAndCreateSession(
                         any(Intent.class),
                         anyString(),
                         anyString(),
                         anyString(),
-                        any(byte[].class),
-                        eq(mimeType)
+                        storedImageOfType(mimeType)
                 )).thenReturn(mockResponse);
 
                 mockMvc.perform(multipart("/api/sessions")
@@ -298,7 +402,7 @@ class SessionControllerTests {
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             mockMvc.perform(multipart("/api/sessions")
@@ -316,7 +420,7 @@ class SessionControllerTests {
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             mockMvc.perform(multipart("/api/sessions")
@@ -334,7 +438,7 @@ class SessionControllerTests {
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             mockMvc.perform(multipart("/api/sessions")
@@ -349,22 +453,21 @@ class SessionControllerTests {
         @DisplayName("POST with COMPLAINT intent should return 200")
         void testPostComplaintIntent_shouldReturn200() throws Exception {
             UUID expectedSessionId = UUID.randomUUID();
-            AnalysisResponse mockResponse = new AnalysisResponse(expectedSessionId, "Complaint analysis");
+            AnalysisResponse mockResponse = new AnalysisResponse(expectedSessionId, "Complaint analysis", Decision.UNCLEAR);
 
             when(analysisService.analyzeAndCreateSession(
                     eq(Intent.COMPLAINT),
                     anyString(),
                     anyString(),
                     anyString(),
-                    any(byte[].class),
-                    eq("image/jpeg")
+                    storedImageOfType("image/jpeg")
             )).thenReturn(mockResponse);
 
             MockMultipartFile imageFile = new MockMultipartFile(
                     "image",
                     "product.jpg",
                     "image/jpeg",
-                    "test image content".getBytes()
+                    JPEG_BYTES
             );
 
             mockMvc.perform(multipart("/api/sessions")
@@ -474,5 +577,120 @@ class SessionControllerTests {
                     .andExpect(jsonPath("$.messages[1].sequenceNumber").value(1))
                     .andExpect(jsonPath("$.messages[2].sequenceNumber").value(2));
         }
+    
+        @Test
+        @DisplayName("GET with afterSequence and limit should return the next page of messages")
+        void testGetSessionWithCursor_shouldReturnNextPage() throws Exception {
+            for (int i = 0; i < 5; i++) {
+                chatMessageRepository.save(ChatMessage.builder()
+                        .sessionId(testSessionId)
+                        .role(i % 2 == 0 ? Role.USER : Role.ASSISTANT)
+                        .content("Message " + i)
+                        .sequenceNumber(i)
+                        .build());
+            }
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId)
+                            .param("afterSequence", "1")
+                            .param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.session.id").value(testSessionId.toString()))
+                    .andExpect(jsonPath("$.messages.length()").value(2))
+                    .andExpect(jsonPath("$.messages[0].sequenceNumber").value(2))
+                    .andExpect(jsonPath("$.messages[1].sequenceNumber").value(3));
+        }
+
+        @Test
+        @DisplayName("GET with non-positive limit should return 400")
+        void testGetSessionWithInvalidLimit_shouldReturn400() throws Exception {
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId).param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("GET should return a weak ETag and answer 304 while the session is unchanged")
+        void testGetSessionWithMatchingEtag_shouldReturn304() throws Exception {
+            chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(testSessionId)
+                    .role(Role.USER)
+                    .content("User message")
+                    .sequenceNumber(0)
+                    .build());
+
+            String etag = mockMvc.perform(get("/api/sessions/{id}", testSessionId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "W/\"0\""))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            // A new message changes the ETag, so the stale one no longer matches
+            chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(testSessionId)
+                    .role(Role.ASSISTANT)
+                    .content("Assistant response")
+                    .sequenceNumber(1)
+                    .build());
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId).header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "W/\"1\""))
+                    .andExpect(jsonPath("$.messages.length()").value(2));
+        }
+    
+        @Test
+        @DisplayName("Conditional GET for a non-existent session should return 404")
+        void testGetSessionWithEtagForMissingSession_shouldReturn404() throws Exception {
+            mockMvc.perform(get("/api/sessions/{id}", UUID.randomUUID()).header("If-None-Match", "W/\"0\""))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Full GET should serve the stored snapshot and page requests should query messages")
+        void testGetSessionWithSnapshot_shouldServeSnapshotBody() throws Exception {
+            ChatMessage message = chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(testSessionId)
+                    .role(Role.USER)
+                    .content("User message")
+                    .sequenceNumber(0)
+                    .build());
+            sessionSnapshotService.create(testSession, List.of(message));
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "W/\"0\""))
+                    .andExpect(jsonPath("$.session.orderNumber").value(testSession.getOrderNumber()))
+                    .andExpect(jsonPath("$.messages[0].content").value("User message"));
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId).header("If-None-Match", "W/\"0\""))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId).param("afterSequence", "0"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.messages.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET for a session moved out by retention should load it from the archive")
+        void testGetArchivedSession_shouldReturnArchivedContent() throws Exception {
+            sessionArchiveService.setArchivePath(archiveDir.toString());
+            chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(testSessionId)
+                    .role(Role.USER)
+                    .content("User message")
+                    .sequenceNumber(0)
+                    .build());
+            sessionArchiveService.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+            assertThat(sessionRepository.existsById(testSessionId)).isFalse();
+
+            mockMvc.perform(get("/api/sessions/{id}", testSessionId).header("If-None-Match", "W/\"7\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "W/\"0\""))
+                    .andExpect(jsonPath("$.session.id").value(testSessionId.toString()))
+                    .andExpect(jsonPath("$.messages[0].content").value("User message"));
+        }
     }
 }
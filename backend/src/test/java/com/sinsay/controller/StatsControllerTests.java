@@ -0,0 +1,91 @@
+package com.sinsay.controller;
+
+import com.sinsay.model.Decision;
+import com.sinsay.model.DecisionStat;
+import com.sinsay.model.DecisionStatId;
+import com.sinsay.model.Intent;
+import com.sinsay.repository.DecisionStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "agent.api-token=" + StatsControllerTests.TOKEN)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("StatsController Tests")
+class StatsControllerTests {
+
+    static final String TOKEN = "test-agent-token";
+    private static final String BEARER = "Bearer " + TOKEN;
+    private static final String DECISIONS = "/api/agent/stats/decisions";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DecisionStatRepository decisionStatRepository;
+
+    @BeforeEach
+    void setUp() {
+        decisionStatRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /api/agent/stats/decisions without the agent token should return 401")
+    void testDecisionStatsWithoutToken_shouldReturn401() throws Exception {
+        mockMvc.perform(get(DECISIONS))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /api/agent/stats/decisions should return totals and daily counters for the range")
+    void testDecisionStats_shouldReturnCounters() throws Exception {
+        decisionStatRepository.save(new DecisionStat(
+                new DecisionStatId(LocalDate.of(2026, 3, 2), Intent.COMPLAINT, Decision.REJECTED), 4));
+        decisionStatRepository.save(new DecisionStat(
+                new DecisionStatId(LocalDate.of(2026, 3, 3), Intent.RETURN, Decision.ACCEPTED), 7));
+
+        mockMvc.perform(get(DECISIONS).header(HttpHeaders.AUTHORIZATION, BEARER)
+                        .param("from", "2026-03-01").param("to", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals.REJECTED").value(4))
+                .andExpect(jsonPath("$.totals.ACCEPTED").value(0))
+                .andExpect(jsonPath("$.days.length()").value(1))
+                .andExpect(jsonPath("$.days[0].day").value("2026-03-02"))
+                .andExpect(jsonPath("$.days[0].intent").value("COMPLAINT"))
+                .andExpect(jsonPath("$.days[0].count").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/agent/stats/decisions without dates should cover the last 30 days")
+    void testDecisionStatsDefaults_shouldUseLast30Days() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        mockMvc.perform(get(DECISIONS).header(HttpHeaders.AUTHORIZATION, BEARER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.to").value(today.toString()))
+                .andExpect(jsonPath("$.from").value(today.minusDays(29).toString()));
+    }
+
+    @Test
+    @DisplayName("GET /api/agent/stats/decisions with an inverted or too long range should return 400")
+    void testDecisionStatsInvalidRange_shouldReturn400() throws Exception {
+        mockMvc.perform(get(DECISIONS).header(HttpHeaders.AUTHORIZATION, BEARER)
+                        .param("from", "2026-03-02").param("to", "2026-03-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(DECISIONS).header(HttpHeaders.AUTHORIZATION, BEARER)
+                        .param("from", "2024-01-01").param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package com.sinsay.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CompressedTextConverter")
+class CompressedTextConverterTests {
+
+    private static final String ANSWER = """
+            **Ocena wstępna:** Prawdopodobnie zaakceptowane
+
+            ### Uzasadnienie
+            Na podstawie przesłanego zdjęcia oraz opisu produktu widać, że produkt nie nosi śladów użytkowania.
+            Zwracany towar nie może posiadać znamion użytkowania oraz musi być oryginalnie ometkowany.
+            Po otrzymaniu przesyłki masz 30 dni, aby wygodnie przymierzyć w domu zamówione produkty.
+
+            ### Kolejne kroki
+            - Sprawdź, czy produkt ma oryginalne metki.
+            - Zwróć produkt w dowolnym sklepie stacjonarnym Sinsay lub przez Paczkomat InPost.
+
+            **Ważne:** Ta ocena nie jest wiążąca prawnie. Ostateczną decyzję zawsze podejmuje pracownik obsługi klienta Sinsay.
+            """;
+
+    private CompressedTextConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new CompressedTextConverter();
+        converter.setEnabled(true);
+        converter.setMinLength(512);
+    }
+
+    @Test
+    @DisplayName("should compress long text behind the marker and restore it exactly")
+    void longText_shouldRoundTripCompressed() {
+        String stored = converter.convertToDatabaseColumn(ANSWER);
+
+        assertThat(stored).startsWith(CompressedTextConverter.MARKER + "1:");
+        assertThat(stored.length()).isLessThan(ANSWER.length() / 2);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(ANSWER);
+    }
+
+    @Test
+    @DisplayName("should store text below the threshold as is")
+    void shortText_shouldStayPlain() {
+        assertThat(converter.convertToDatabaseColumn("Dziękuję!")).isEqualTo("Dziękuję!");
+        assertThat(converter.convertToEntityAttribute("Dziękuję!")).isEqualTo("Dziękuję!");
+    }
+
+    @Test
+    @DisplayName("should keep reading compressed rows when compression is disabled")
+    void disabled_shouldStorePlainButStillDecode() {
+        String stored = converter.convertToDatabaseColumn(ANSWER);
+        converter.setEnabled(false);
+
+        assertThat(converter.convertToDatabaseColumn(ANSWER)).isEqualTo(ANSWER);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(ANSWER);
+    }
+
+    @Test
+    @DisplayName("should encode plain text that starts with the marker so it round-trips")
+    void textStartingWithMarker_shouldRoundTrip() {
+        String tricky = CompressedTextConverter.MARKER + "1:not really compressed";
+        converter.setEnabled(false);
+
+        String stored = converter.convertToDatabaseColumn(tricky);
+
+        assertThat(stored).isNotEqualTo(tricky);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(tricky);
+    }
+
+    @Test
+    @DisplayName("should reject values written with an unknown dictionary version")
+    void unknownVersion_shouldThrow() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(CompressedTextConverter.MARKER + "99:AAAA"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
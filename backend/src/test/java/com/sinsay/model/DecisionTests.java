@@ -0,0 +1,42 @@
+package com.sinsay.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Decision")
+class DecisionTests {
+
+    @Test
+    @DisplayName("should parse the verdict from a leading decision line only")
+    void parse_shouldReadLeadingDecisionLine() {
+        assertThat(Decision.parse("Decyzja: Prawdopodobnie zaakceptowane\n\nProdukt jest nieużywany."))
+                .isEqualTo(Decision.ACCEPTED);
+        assertThat(Decision.parse("\n**Decyzja:** prawdopodobnie odrzucone")).isEqualTo(Decision.REJECTED);
+        assertThat(Decision.parse("## DECYZJA: Niejasne, wymaga recenzji recznej")).isEqualTo(Decision.UNCLEAR);
+    }
+
+    @Test
+    @DisplayName("should ignore case and missing diacritics")
+    void parse_shouldIgnoreCaseAndDiacritics() {
+        assertThat(Decision.parse("DECYZJA: PRAWDOPODOBNIE ODRZUCONE")).isEqualTo(Decision.REJECTED);
+        assertThat(Decision.parse("decyzja: niejasne - wymaga recenzji recznej")).isEqualTo(Decision.UNCLEAR);
+    }
+
+    @Test
+    @DisplayName("should not guess a verdict from free text")
+    void parse_withoutDecisionLine_shouldReturnNull() {
+        assertThat(Decision.parse("Ocena wstępna: Prawdopodobnie odrzucone")).isNull();
+        assertThat(Decision.parse("Sytuacja jest niejasne.\nDecyzja: Prawdopodobnie zaakceptowane")).isNull();
+        assertThat(Decision.parse("Decyzja: do ustalenia, zdjęcie jest niejasne")).isNull();
+    }
+
+    @Test
+    @DisplayName("should record a response without a decision line as missing")
+    void fromResponse_withoutDecisionLine_shouldBeMissing() {
+        assertThat(Decision.fromResponse("Decyzja: Prawdopodobnie odrzucone")).isEqualTo(Decision.REJECTED);
+        assertThat(Decision.fromResponse("Dzień dobry, proszę przesłać zdjęcie metki.")).isEqualTo(Decision.MISSING);
+        assertThat(Decision.fromResponse("")).isEqualTo(Decision.MISSING);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sinsay.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7Generator")
+class UuidV7GeneratorTests {
+
+    @Test
+    @DisplayName("should set the version 7 and RFC 9562 variant bits")
+    void next_shouldBeVersion7() {
+        UUID id = UuidV7Generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should embed the current Unix time in milliseconds")
+    void next_shouldEmbedTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long embedded = id.getMostSignificantBits() >>> 16;
+        // May run ahead by the milliseconds borrowed when the counter overflows
+        assertThat(embedded).isBetween(before, after + 10);
+    }
+
+    @Test
+    @DisplayName("should generate unique ids in strictly increasing order")
+    void next_shouldBeMonotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        Set<UUID> unique = new HashSet<>(ids);
+        assertThat(unique).hasSize(ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            // Compare as unsigned bytes, the order a database index sees
+            assertThat(Long.compareUnsigned(
+                    ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+                    .isPositive();
+        }
+    }
+}
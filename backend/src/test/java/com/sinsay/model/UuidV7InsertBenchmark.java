@@ -0,0 +1,105 @@
+package com.sinsay.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and primary key index size for random UUIDv4 vs. time-ordered UUIDv7 ids
+ * in SQLite, using the chat_messages layout (blob primary key).
+ * Disabled by default; run with:
+ * {@code ./mvnw test -Dtest=UuidV7InsertBenchmark -Dbenchmark=true -Dbenchmark.rows=2000000}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidV7InsertBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareInsertThroughputAndIndexSize() throws SQLException, IOException {
+        int rows = Integer.getInteger("benchmark.rows", 2_000_000);
+
+        Result v4 = run("v4", rows, UUID::randomUUID);
+        Result v7 = run("v7", rows, UuidV7Generator::next);
+
+        System.out.printf("%n%-4s %10s %14s %16s %14s%n", "id", "rows", "inserts/s", "pk index bytes", "file bytes");
+        for (Result result : new Result[]{v4, v7}) {
+            System.out.printf("%-4s %10d %14.0f %16d %14d%n",
+                    result.name, rows, rows / result.seconds, result.indexBytes, result.fileBytes);
+        }
+    }
+
+    private Result run(String name, int rows, Supplier<UUID> ids) throws SQLException, IOException {
+        Path file = tempDir.resolve(name + ".db");
+        long start;
+        long indexBytes;
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE chat_messages (id blob NOT NULL, content TEXT NOT NULL, "
+                        + "created_at timestamp NOT NULL, role varchar(255) NOT NULL, sequence_number integer NOT NULL, "
+                        + "session_id blob NOT NULL, PRIMARY KEY (id))");
+            }
+
+            connection.setAutoCommit(false);
+            start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO chat_messages VALUES (?, ?, ?, ?, ?, ?)")) {
+                byte[] sessionId = toBytes(ids.get());
+                for (int i = 0; i < rows; i++) {
+                    insert.setBytes(1, toBytes(ids.get()));
+                    insert.setString(2, "Message content " + i);
+                    insert.setLong(3, System.currentTimeMillis());
+                    insert.setString(4, i % 2 == 0 ? "USER" : "ASSISTANT");
+                    insert.setInt(5, i);
+                    insert.setBytes(6, sessionId);
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+                try (ResultSet result = statement.executeQuery(
+                        "SELECT sum(pgsize) FROM dbstat WHERE name = 'sqlite_autoindex_chat_messages_1'")) {
+                    indexBytes = result.next() ? result.getLong(1) : -1;
+                }
+            }
+            return new Result(name, elapsed / 1e9, indexBytes, Files.size(file));
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private record Result(String name, double seconds, long indexBytes, long fileBytes) {
+    }
+}
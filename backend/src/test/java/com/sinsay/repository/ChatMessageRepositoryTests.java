@@ -1,5 +1,6 @@
 package com.sinsay.repository;
 
+import com.sinsay.controller.dto.MessageSearchHit;
 import com.sinsay.model.ChatMessage;
 import com.sinsay.model.Intent;
 import com.sinsay.model.Role;
@@ -8,12 +9,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -25,6 +31,12 @@ class ChatMessageRepositoryTests {
     @Autowired
     private SessionRepository sessionRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Session testSession;
 
     @BeforeEach
@@ -159,4 +171,132 @@ class ChatMessageRepositoryTests {
         assertThat(session2Messages).hasSize(1);
         assertThat(session2Messages.get(0).getContent()).isEqualTo("Message for session 2");
     }
+
+    @Test
+    void findBySessionIdAndSequenceNumberGreaterThan_shouldReturnLimitedPageAfterCursor() {
+        // Given
+        UUID sessionId = testSession.getId();
+        for (int i = 0; i < 5; i++) {
+            chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(sessionId)
+                    .role(Role.USER)
+                    .content("Message " + i)
+                    .sequenceNumber(i)
+                    .build());
+        }
+
+        // When
+        List<ChatMessage> page = chatMessageRepository
+                .findBySessionIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(sessionId, 2, Limit.of(10));
+
+        // Then
+        assertThat(page).extracting(ChatMessage::getSequenceNumber).containsExactly(3, 4);
+    }
+
+    @Test
+    void findLastSequenceNumber_shouldReturnHighestSequenceOrEmpty() {
+        // Given
+        UUID sessionId = testSession.getId();
+        assertThat(chatMessageRepository.findLastSequenceNumber(sessionId)).isEmpty();
+
+        chatMessageRepository.save(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.USER)
+                .content("First")
+                .sequenceNumber(0)
+                .build());
+        chatMessageRepository.save(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.ASSISTANT)
+                .content("Second")
+                .sequenceNumber(1)
+                .build());
+
+        // When / Then
+        assertThat(chatMessageRepository.findLastSequenceNumber(sessionId)).contains(1);
+    }
+
+    @Test
+    void save_withDuplicateSequenceNumberInSession_shouldBeRejected() {
+        // Given
+        UUID sessionId = testSession.getId();
+        chatMessageRepository.saveAndFlush(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.USER)
+                .content("First")
+                .sequenceNumber(0)
+                .build());
+
+        // When / Then
+        assertThatThrownBy(() -> chatMessageRepository.saveAndFlush(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.ASSISTANT)
+                .content("Same position")
+                .sequenceNumber(0)
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void save_withLongContent_shouldStoreCompressedAndReadBackOriginal() {
+        // Given
+        String longContent = "Zwracany towar nie może posiadać znamion użytkowania oraz musi być oryginalnie ometkowany. "
+                .repeat(20);
+        ChatMessage saved = chatMessageRepository.saveAndFlush(ChatMessage.builder()
+                .sessionId(testSession.getId())
+                .role(Role.ASSISTANT)
+                .content(longContent)
+                .sequenceNumber(0)
+                .build());
+
+        // When
+        String stored = jdbcTemplate.queryForObject(
+                "select content from chat_messages where id = ?", String.class, saved.getId());
+        entityManager.clear();
+        List<ChatMessage> loaded = chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(testSession.getId());
+
+        // Then
+        assertThat(stored).startsWith("\u0001z1:");
+        assertThat(stored.length()).isLessThan(longContent.length() / 4);
+        assertThat(loaded.get(0).getContent()).isEqualTo(longContent);
+    }
+
+    @Test
+    void searchContent_shouldMatchAllTermsCaseInsensitively() {
+        // Given
+        index(0, "Spodnie mają rozprute szwy przy kieszeni");
+        index(1, "Na koszuli jest plama");
+        index(2, "Szwy są w porządku");
+
+        // When
+        List<MessageSearchHit> hits = chatMessageRepository.searchContent(List.of("rozprut", "szwy"), 0, 10);
+
+        // Then
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).sessionId()).isEqualTo(testSession.getId());
+        assertThat(hits.get(0).sequenceNumber()).isZero();
+        assertThat(hits.get(0).snippet()).isEqualTo("Spodnie mają <mark>rozprute</mark> <mark>szwy</mark> przy kieszeni");
+    }
+
+    @Test
+    void deleteFromSearchIndex_shouldRemoveSessionEntries() {
+        // Given
+        index(0, "plama na rękawie");
+
+        // When
+        int deleted = chatMessageRepository.deleteFromSearchIndex(List.of(testSession.getId()));
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(chatMessageRepository.searchContent(List.of("plam"), 0, 10)).isEmpty();
+    }
+
+    private void index(int sequenceNumber, String content) {
+        chatMessageRepository.indexForSearch(chatMessageRepository.save(ChatMessage.builder()
+                .sessionId(testSession.getId())
+                .role(Role.USER)
+                .content(content)
+                .sequenceNumber(sequenceNumber)
+                .build()));
+    }
 }
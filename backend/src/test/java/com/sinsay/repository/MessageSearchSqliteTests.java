@@ -0,0 +1,184 @@
+package com.sinsay.repository;
+
+import com.sinsay.controller.dto.MessageSearchHit;
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.CompressedTextConverter;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+import com.sinsay.model.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transcript search against the real SQLite schema, where it runs on the FTS5 index.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:message-search?mode=memory&cache=shared",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("Transcript search on SQLite FTS5")
+class MessageSearchSqliteTests {
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID sessionId;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository.deleteFromSearchIndex(sessionRepository.findAll().stream().map(Session::getId).toList());
+        sessionId = sessionRepository.save(Session.builder()
+                .intent(Intent.COMPLAINT)
+                .orderNumber("ORD-1")
+                .productName("Jeans")
+                .description("Damaged")
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("should match Polish words typed without diacritics and by prefix")
+    void search_foldsDiacriticsAndMatchesPrefixes() {
+        // Given
+        index(0, "Na nogawce jest duża plamą po farbie");
+        index(1, "Spodnie mają rozprute szwy przy kieszeni");
+
+        // When
+        List<MessageSearchHit> stain = chatMessageRepository.searchContent(List.of("plam"), 0, 10);
+        List<MessageSearchHit> seams = chatMessageRepository.searchContent(List.of("rozprut", "szwy"), 0, 10);
+        List<MessageSearchHit> pants = chatMessageRepository.searchContent(List.of("duza"), 0, 10);
+
+        // Then
+        assertThat(stain).extracting(MessageSearchHit::sequenceNumber).containsExactly(0);
+        assertThat(seams).extracting(MessageSearchHit::sequenceNumber).containsExactly(1);
+        assertThat(seams.get(0).snippet()).contains("<mark>rozprute</mark> <mark>szwy</mark>");
+        assertThat(pants).extracting(MessageSearchHit::sessionId).containsExactly(sessionId);
+    }
+
+    @Test
+    @DisplayName("should rank denser matches first and page through results")
+    void search_ranksAndPages() {
+        // Given
+        index(0, "plama");
+        index(1, "Reklamacja dotyczy kurtki, na której po praniu pojawiła się plama przy zamku");
+        index(2, "plama, plama i jeszcze jedna plama");
+
+        // When
+        List<MessageSearchHit> first = chatMessageRepository.searchContent(List.of("plam"), 0, 2);
+        List<MessageSearchHit> second = chatMessageRepository.searchContent(List.of("plam"), 2, 2);
+
+        // Then
+        assertThat(first).extracting(MessageSearchHit::sequenceNumber).containsExactly(2, 0);
+        assertThat(second).extracting(MessageSearchHit::sequenceNumber).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("should treat FTS5 syntax in queries as plain words")
+    void search_quotesOperators() {
+        index(0, "zamek nie działa");
+
+        assertThat(chatMessageRepository.searchContent(List.of("zamek\" OR \"x"), 0, 10)).isEmpty();
+        assertThat(chatMessageRepository.searchContent(List.of("NEAR"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should drop index entries of deleted sessions")
+    void deleteFromSearchIndex_removesFromFtsIndex() {
+        index(0, "plama na rękawie");
+
+        chatMessageRepository.deleteFromSearchIndex(List.of(sessionId));
+
+        assertThat(chatMessageRepository.searchContent(List.of("plam"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep no message text in the index and cut snippets from compressed content")
+    void index_isContentless() {
+        // Given
+        String answer = "Reklamację rozpatrujemy w ciągu 14 dni. Na zdjęciu widać plamę przy zamku. "
+                .repeat(10);
+        index(0, answer);
+        entityManager.flush();
+
+        // When
+        List<MessageSearchHit> hits = chatMessageRepository.searchContent(List.of("plam"), 0, 10);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("select content from chat_messages", String.class))
+                .startsWith("\u0001z");
+        assertThat(jdbcTemplate.queryForObject("select content from message_search_fts", String.class)).isNull();
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).snippet()).startsWith("…").contains("widać <mark>plamę</mark> przy zamku");
+    }
+
+    @Test
+    @DisplayName("should backfill the index with messages stored before it existed")
+    void backfill_indexesExistingMessages() throws Exception {
+        // Given
+        chatMessageRepository.saveAndFlush(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.USER)
+                .content("Kurtka ma rozdarty rękaw. ".repeat(30))
+                .sequenceNumber(0)
+                .build());
+        assertThat(chatMessageRepository.searchContent(List.of("rozdart"), 0, 10)).isEmpty();
+
+        // When
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        new V6_1__Backfill_message_search(new CompressedTextConverter()).migrate(new Context() {
+            @Override
+            public Configuration getConfiguration() {
+                return null;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+        });
+
+        // Then
+        assertThat(chatMessageRepository.searchContent(List.of("rozdart"), 0, 10))
+                .extracting(MessageSearchHit::sessionId).containsExactly(sessionId);
+    }
+
+    private void index(int sequenceNumber, String content) {
+        chatMessageRepository.indexForSearch(chatMessageRepository.save(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.USER)
+                .content(content)
+                .sequenceNumber(sequenceNumber)
+                .build()));
+    }
+}
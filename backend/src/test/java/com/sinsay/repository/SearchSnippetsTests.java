@@ -0,0 +1,41 @@
+package com.sinsay.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchSnippets")
+class SearchSnippetsTests {
+
+    @Test
+    @DisplayName("should match every term as a word prefix, without diacritics")
+    void matchesAll_prefixesWithoutDiacritics() {
+        String content = "Łańcuszek przy zamku się urwał, a na rękawie jest plamą";
+
+        assertThat(SearchSnippets.matchesAll(content, List.of("lancusz", "reka"))).isTrue();
+        assertThat(SearchSnippets.matchesAll(content, List.of("plam", "zamek"))).isFalse();
+        assertThat(SearchSnippets.matchesAll(content, List.of("ancusz"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should cut a window around the first match")
+    void snippet_windowAroundFirstMatch() {
+        String content = "jeden dwa trzy cztery pięć sześć siedem plama osiem dziewięć dziesięć jedenaście";
+
+        String snippet = SearchSnippets.snippet(content, List.of("plam"), 5);
+
+        assertThat(snippet).isEqualTo("…sześć siedem <mark>plama</mark> osiem dziewięć…");
+    }
+
+    @Test
+    @DisplayName("should escape HTML in the content before marking the matches")
+    void snippet_escapesContent() {
+        String snippet = SearchSnippets.snippet("<b>Plama</b> & \"rozdarcie\" plamki", List.of("plam"), 12);
+
+        assertThat(snippet).isEqualTo(
+                "&lt;b&gt;<mark>Plama</mark>&lt;/b&gt; &amp; &quot;rozdarcie&quot; <mark>plamki</mark>");
+    }
+}
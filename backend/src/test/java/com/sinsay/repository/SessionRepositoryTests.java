@@ -1,13 +1,23 @@
 package com.sinsay.repository;
 
+import com.sinsay.model.ChatMessage;
 import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
 import com.sinsay.model.Session;
+import com.sinsay.controller.dto.SessionDto;
+import com.sinsay.service.dto.SessionCursor;
+import com.sinsay.service.dto.SessionMessageRow;
+import com.sinsay.service.dto.SessionSearchCriteria;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +30,9 @@ class SessionRepositoryTests {
     @Autowired
     private SessionRepository sessionRepository;
 
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
     private Session testSession;
 
     @BeforeEach
@@ -95,4 +108,118 @@ class SessionRepositoryTests {
         assertThat(saved.getProductName()).isEqualTo("T-Shirt");
         assertThat(saved.getDescription()).isEqualTo("Stains on fabric");
     }
+
+    @Test
+    void findSessionWithMessages_shouldProjectSessionAndMessagePage() {
+        // Given
+        Session saved = sessionRepository.save(testSession);
+        for (int i = 0; i < 4; i++) {
+            chatMessageRepository.save(ChatMessage.builder()
+                    .sessionId(saved.getId())
+                    .role(i % 2 == 0 ? Role.USER : Role.ASSISTANT)
+                    .content("Message " + i)
+                    .sequenceNumber(i)
+                    .build());
+        }
+
+        // When
+        List<SessionMessageRow> rows = sessionRepository.findSessionWithMessages(saved.getId(), 0, Limit.of(2));
+
+        // Then
+        assertThat(rows).extracting(SessionMessageRow::sequenceNumber).containsExactly(1, 2);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.sessionId()).isEqualTo(saved.getId());
+            assertThat(row.orderNumber()).isEqualTo("ORD-12345");
+            assertThat(row.lastSequenceNumber()).isEqualTo(3);
+        });
+        assertThat(rows.get(0).role()).isEqualTo(Role.ASSISTANT);
+        assertThat(rows.get(0).content()).isEqualTo("Message 1");
+    }
+
+    @Test
+    void findSessionWithMessages_withoutMessages_shouldReturnSingleSessionRow() {
+        // Given
+        Session saved = sessionRepository.save(testSession);
+
+        // When
+        List<SessionMessageRow> rows = sessionRepository.findSessionWithMessages(saved.getId(), -1, Limit.unlimited());
+
+        // Then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).sessionId()).isEqualTo(saved.getId());
+        assertThat(rows.get(0).messageId()).isNull();
+        assertThat(rows.get(0).lastSequenceNumber()).isNull();
+    }
+
+    @Test
+    void findSessionWithMessages_withNonExistentId_shouldReturnNoRows() {
+        // When
+        List<SessionMessageRow> rows = sessionRepository.findSessionWithMessages(UUID.randomUUID(), -1, Limit.unlimited());
+
+        // Then
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void findLastSequenceNumber_shouldDistinguishEmptySessionFromMissingSession() {
+        // Given
+        Session saved = sessionRepository.save(testSession);
+
+        // Then
+        assertThat(sessionRepository.findLastSequenceNumber(saved.getId())).contains(-1);
+        assertThat(sessionRepository.findLastSequenceNumber(UUID.randomUUID())).isEmpty();
+
+        chatMessageRepository.save(ChatMessage.builder()
+                .sessionId(saved.getId())
+                .role(Role.USER)
+                .content("Hello")
+                .sequenceNumber(0)
+                .build());
+        assertThat(sessionRepository.findLastSequenceNumber(saved.getId())).contains(0);
+    }
+
+    @Test
+    void search_shouldFilterAndSeekPastCursorNewestFirst() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            sessionRepository.save(Session.builder()
+                    .intent(Intent.RETURN)
+                    .orderNumber("ORD-12345")
+                    .productName("Blue Jeans")
+                    .description("Description " + i)
+                    .build());
+        }
+        sessionRepository.save(Session.builder()
+                .intent(Intent.COMPLAINT)
+                .orderNumber("ORD-12345")
+                .productName("Blue Jeans")
+                .description("Complaint")
+                .build());
+        SessionSearchCriteria criteria = new SessionSearchCriteria("ORD-12345", Intent.RETURN, null, null);
+
+        // When
+        List<SessionDto> all = sessionRepository.search(criteria, null, 10);
+        SessionDto second = all.get(1);
+        List<SessionDto> afterSecond = sessionRepository.search(
+                criteria, new SessionCursor(second.createdAt(), second.id()), 10);
+
+        // Then
+        assertThat(all).hasSize(3);
+        assertThat(all).allSatisfy(session -> assertThat(session.intent()).isEqualTo(Intent.RETURN));
+        assertThat(all).extracting(SessionDto::createdAt).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(afterSecond).containsExactly(all.get(2));
+    }
+
+    @Test
+    void search_withDateRange_shouldExcludeSessionsOutsideRange() {
+        // Given
+        sessionRepository.save(testSession);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Then
+        assertThat(sessionRepository.search(
+                new SessionSearchCriteria(null, null, now.minusHours(1), now.plusHours(1)), null, 10)).hasSize(1);
+        assertThat(sessionRepository.search(
+                new SessionSearchCriteria(null, null, now.plusHours(1), null), null, 10)).isEmpty();
+    }
 }
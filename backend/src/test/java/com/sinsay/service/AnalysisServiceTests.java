@@ -1,28 +1,44 @@
 package com.sinsay.service;
 
 import com.openai.client.OpenAIClient;
+import com.openai.models.chat.completions.ChatCompletion;
+import com.openai.models.chat.completions.ChatCompletionMessage;
 import com.openai.services.blocking.ChatService;
 import com.openai.services.blocking.chat.ChatCompletionService;
+import com.sinsay.model.Decision;
 import com.sinsay.model.Intent;
 import com.sinsay.model.Role;
 import com.sinsay.repository.ChatMessageRepository;
 import com.sinsay.repository.SessionRepository;
+import com.sinsay.service.dto.StoredImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.Base64;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@DisabledInAotMode("Mockito mocks cannot be created in AOT mode or a native image")
 class AnalysisServiceTests {
 
     @Mock
@@ -43,11 +59,26 @@ class AnalysisServiceTests {
     @Mock
     private ChatMessageRepository chatMessageRepository;
 
+    @Mock
+    private PersistenceWriter persistenceWriter;
+
+    @Mock
+    private SessionSnapshotService sessionSnapshotService;
+
+    @Mock
+    private DecisionStatsService decisionStatsService;
+
     private AnalysisService analysisService;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     void setUp() {
-        analysisService = new AnalysisService(openAIClient, policyDocService, sessionRepository, chatMessageRepository, "openai/gpt-4o-mini");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ModelRouter modelRouter = new ModelRouter(registry, "openai/gpt-4o-mini", "", "", "", "");
+        analysisService = new AnalysisService(openAIClient, policyDocService, sessionRepository, chatMessageRepository, persistenceWriter, sessionSnapshotService, decisionStatsService,
+                modelRouter, new BrownoutController(modelRouter, persistenceWriter, registry));
 
         // Setup OpenAI client chain mocks
         when(openAIClient.chat()).thenReturn(chatService);
@@ -58,6 +89,10 @@ class AnalysisServiceTests {
 
         when(sessionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         when(chatMessageRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Run queued writes inline on the calling thread
+        when(persistenceWriter.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
     }
 
     @Test
@@ -77,12 +112,17 @@ class AnalysisServiceTests {
             "ORDER123",
             "Test Product",
             "Test description",
-            testImageData,
-            testMimeType
+            storedImage(testImageData, testMimeType)
         );
 
-        // Assert - verify the OpenAI call was made
-        verify(chatCompletionService).create(any(com.openai.models.chat.completions.ChatCompletionCreateParams.class));
+        // Assert - verify the OpenAI call was made with the image as a data URI
+        ArgumentCaptor<com.openai.models.chat.completions.ChatCompletionCreateParams> paramsCaptor =
+                ArgumentCaptor.forClass(com.openai.models.chat.completions.ChatCompletionCreateParams.class);
+        verify(chatCompletionService).create(paramsCaptor.capture());
+
+        String imageUrl = paramsCaptor.getValue().messages().get(1).asUser().content()
+                .asArrayOfContentParts().get(0).asImageUrl().imageUrl().url();
+        assertEquals(expectedDataUri, imageUrl);
     }
 
     @Test
@@ -101,8 +141,7 @@ class AnalysisServiceTests {
             "ORDER456",
             "Test Product",
             "Test description",
-            testImageData,
-            "image/png"
+            storedImage(testImageData, "image/png")
         );
 
         // Assert - verify policy doc service was called with correct intent
@@ -130,8 +169,7 @@ class AnalysisServiceTests {
             "ORDER789",
             "Test Product Name",
             "Test description here",
-            testImageData,
-            "image/jpeg"
+            storedImage(testImageData, "image/jpeg")
         );
 
         // Assert
@@ -143,9 +181,40 @@ class AnalysisServiceTests {
         assertEquals("ORDER789", savedSession.getOrderNumber());
         assertEquals("Test Product Name", savedSession.getProductName());
         assertEquals("Test description here", savedSession.getDescription());
+        // No response means no decision line, counted apart from UNCLEAR
+        assertEquals(Decision.MISSING, savedSession.getDecision());
+        verify(decisionStatsService).record(any(), eq(Intent.RETURN), eq(Decision.MISSING));
         assertEquals(expectedSessionId, result.sessionId());
     }
 
+    @Test
+    void analyzeAndCreateSession_shouldPersistDecisionFromResponse() {
+        // Arrange
+        byte[] testImageData = "test".getBytes(StandardCharsets.UTF_8);
+        String response = "Decyzja: Prawdopodobnie odrzucone\n\nNa zdjęciu widać ślady użytkowania.";
+
+        when(policyDocService.getSystemPrompt(Intent.COMPLAINT)).thenReturn("Test prompt");
+        when(openAIClient.chat().completions().create((com.openai.models.chat.completions.ChatCompletionCreateParams) any()))
+                .thenReturn(completion(response));
+
+        // Act
+        var result = analysisService.analyzeAndCreateSession(
+            Intent.COMPLAINT,
+            "ORDER202",
+            "Product",
+            "Description",
+            storedImage(testImageData, "image/png")
+        );
+
+        // Assert
+        ArgumentCaptor<com.sinsay.model.Session> sessionCaptor = ArgumentCaptor.forClass(com.sinsay.model.Session.class);
+        verify(sessionRepository).save(sessionCaptor.capture());
+        assertEquals(Decision.REJECTED, sessionCaptor.getValue().getDecision());
+        assertEquals(response, result.message());
+        assertEquals(Decision.REJECTED, result.decision());
+        verify(decisionStatsService).record(eq(LocalDate.now()), eq(Intent.COMPLAINT), eq(Decision.REJECTED));
+    }
+
     @Test
     void analyzeAndCreateSession_shouldPersistUserAndAssistantMessages() {
         // Arrange
@@ -162,8 +231,7 @@ class AnalysisServiceTests {
             "ORDER101",
             "Product",
             userDescription,
-            testImageData,
-            "image/webp"
+            storedImage(testImageData, "image/webp")
         );
 
         // Assert - verify two messages were saved
@@ -183,6 +251,9 @@ class AnalysisServiceTests {
         com.sinsay.model.ChatMessage assistantMessage = savedMessages.get(1);
         assertEquals(Role.ASSISTANT, assistantMessage.getRole());
         assertEquals(1, assistantMessage.getSequenceNumber());
+
+        // Both messages seed the session's read snapshot
+        verify(sessionSnapshotService).create(any(), eq(savedMessages));
     }
 
     @Test
@@ -201,11 +272,36 @@ class AnalysisServiceTests {
             "ORDER202",
             "Test Product",
             description,
-            testImageData,
-            "image/png"
+            storedImage(testImageData, "image/png")
         );
 
         // Assert - verify OpenAI client was called
         verify(openAIClient.chat().completions()).create((com.openai.models.chat.completions.ChatCompletionCreateParams) any());
     }
+
+    private static ChatCompletion completion(String content) {
+        return ChatCompletion.builder()
+                .id("chatcmpl-test")
+                .created(0)
+                .model("openai/gpt-4o-mini")
+                .addChoice(ChatCompletion.Choice.builder()
+                        .index(0)
+                        .finishReason(ChatCompletion.Choice.FinishReason.STOP)
+                        .logprobs(Optional.empty())
+                        .message(ChatCompletionMessage.builder()
+                                .content(content)
+                                .refusal(Optional.empty())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private StoredImage storedImage(byte[] data, String mimeType) {
+        try {
+            Path file = Files.write(tempDir.resolve(UUID.randomUUID() + ".img"), data);
+            return new StoredImage(file, mimeType, "test-hash", data.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package com.sinsay.service;
+
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("BrownoutController Tests")
+@DisabledInAotMode("Mockito mocks cannot be created in AOT mode or a native image")
+class BrownoutControllerTests {
+
+    private SimpleMeterRegistry registry;
+    private BrownoutController controller;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ModelRouter modelRouter = new ModelRouter(registry, "default-model", "", "", "", "");
+        controller = new BrownoutController(modelRouter, mock(PersistenceWriter.class), registry);
+        controller.setThresholds(1.0, 0.7, 10_000);
+        controller.setDegradations(512, 2, "cheap-vision", "cheap-chat", 300);
+    }
+
+    @Nested
+    @DisplayName("level transitions")
+    class TransitionTests {
+
+        @Test
+        @DisplayName("should step up one level per evaluation while pressure is at or above the enter threshold")
+        void update_highPressure_stepsUpOneLevelAtATime() {
+            // When
+            controller.update(1.5, 0);
+            controller.update(1.0, 1_000);
+
+            // Then
+            assertThat(controller.level()).isEqualTo(BrownoutController.Level.TRIMMED_HISTORY);
+            assertThat(registry.get(BrownoutController.LEVEL).gauge().value()).isEqualTo(2);
+            assertThat(registry.get(BrownoutController.TRANSITIONS).tag("direction", "up").counters()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should hold the level while pressure is between the exit and enter thresholds")
+        void update_pressureInHysteresisBand_holdsLevel() {
+            // Given
+            controller.update(1.2, 0);
+
+            // When
+            controller.update(0.9, 60_000);
+
+            // Then
+            assertThat(controller.level()).isEqualTo(BrownoutController.Level.SMALLER_IMAGES);
+        }
+
+        @Test
+        @DisplayName("should step down only after the level has held long enough")
+        void update_lowPressure_stepsDownAfterDwell() {
+            // Given
+            controller.update(1.2, 0);
+            controller.update(1.2, 1_000);
+
+            // When & Then
+            controller.update(0.1, 5_000);
+            assertThat(controller.level()).isEqualTo(BrownoutController.Level.TRIMMED_HISTORY);
+            controller.update(0.1, 11_000);
+            assertThat(controller.level()).isEqualTo(BrownoutController.Level.SMALLER_IMAGES);
+        }
+
+        @Test
+        @DisplayName("should not go past the last level")
+        void update_sustainedPressure_capsAtLastLevel() {
+            // When
+            for (int i = 0; i < 10; i++) {
+                controller.update(2.0, i * 1_000L);
+            }
+
+            // Then
+            assertThat(controller.level()).isEqualTo(BrownoutController.Level.SHORTER_ANSWERS);
+        }
+    }
+
+    @Nested
+    @DisplayName("degradations")
+    class DegradationTests {
+
+        @Test
+        @DisplayName("should change nothing at the normal level")
+        void normalLevel_noDegradation() {
+            // Given
+            List<ChatMessage> history = history(10);
+
+            // Then
+            assertThat(controller.imageMaxEdge()).isEmpty();
+            assertThat(controller.trimHistory(history)).isSameAs(history);
+            assertThat(controller.economyModel(ModelRouter.CallType.CHAT)).isEmpty();
+            assertThat(controller.maxCompletionTokens()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should keep the opening exchange and the latest messages when trimming history")
+        void trimHistory_keepsOpeningAndLatestMessages() {
+            // Given
+            controller.update(1.0, 0);
+            controller.update(1.0, 1);
+
+            // When
+            List<ChatMessage> trimmed = controller.trimHistory(history(10));
+
+            // Then
+            assertThat(trimmed).extracting(ChatMessage::getSequenceNumber).containsExactly(0, 1, 8, 9);
+            assertThat(controller.imageMaxEdge()).hasValue(512);
+            assertThat(controller.economyModel(ModelRouter.CallType.CHAT)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should apply every degradation at the last level")
+        void lastLevel_appliesAllDegradations() {
+            // Given
+            for (int i = 0; i < 4; i++) {
+                controller.update(1.0, i);
+            }
+
+            // Then
+            assertThat(controller.economyModel(ModelRouter.CallType.ANALYSIS)).contains("cheap-vision");
+            assertThat(controller.economyModel(ModelRouter.CallType.CHAT)).contains("cheap-chat");
+            assertThat(controller.maxCompletionTokens()).hasValue(300);
+        }
+    }
+
+    private static List<ChatMessage> history(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> ChatMessage.builder()
+                        .role(i % 2 == 0 ? Role.USER : Role.ASSISTANT)
+                        .content("message " + i)
+                        .sequenceNumber(i)
+                        .build())
+                .toList();
+    }
+}
@@ -9,7 +9,7 @@ import com.sinsay.model.Intent;
 import com.sinsay.model.Role;
 import com.sinsay.model.Session;
 import com.sinsay.repository.ChatMessageRepository;
-import com.sinsay.repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,11 +20,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +34,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 @DisplayName("ChatService")
+@DisabledInAotMode("Mockito mocks cannot be created in AOT mode or a native image")
 class ChatServiceTests {
 
     @Mock(answer = org.mockito.Answers.RETURNS_DEEP_STUBS)
@@ -45,7 +47,7 @@ class ChatServiceTests {
     private ChatMessageRepository chatMessageRepository;
 
     @Mock
-    private SessionRepository sessionRepository;
+    private PersistenceWriter persistenceWriter;
 
     private ChatService chatService;
 
@@ -56,7 +58,15 @@ class ChatServiceTests {
 
     @BeforeEach
     void setUp() {
-        chatService = new ChatService(openAIClient, policyDocService, chatMessageRepository, sessionRepository, "openai/gpt-4o-mini");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ModelRouter modelRouter = new ModelRouter(registry, "openai/gpt-4o-mini", "", "", "", "");
+        chatService = new ChatService(openAIClient, policyDocService, persistenceWriter,
+                modelRouter, new BrownoutController(modelRouter, persistenceWriter, registry));
+
+        // Run queued writes inline against the repository mock
+        when(persistenceWriter.saveMessage(any(ChatMessage.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        chatMessageRepository.save(invocation.getArgument(0))));
 
         testSessionId = UUID.randomUUID();
         testSession = Session.builder()
@@ -97,7 +107,6 @@ class ChatServiceTests {
             // Arrange
             String systemPrompt = "You are a helpful assistant";
 
-            when(sessionRepository.findById(testSessionId)).thenReturn(Optional.of(testSession));
             when(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(testSessionId))
                     .thenReturn(testHistory);
             when(policyDocService.getSystemPrompt(Intent.RETURN)).thenReturn(systemPrompt);
@@ -133,7 +142,6 @@ class ChatServiceTests {
             // Arrange
             String systemPrompt = "You are a helpful assistant";
 
-            when(sessionRepository.findById(testSessionId)).thenReturn(Optional.of(testSession));
             when(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(testSessionId))
                     .thenReturn(testHistory);
             when(policyDocService.getSystemPrompt(Intent.RETURN)).thenReturn(systemPrompt);
@@ -162,7 +170,6 @@ class ChatServiceTests {
         @DisplayName("should complete emitter with error when OpenAI API throws exception")
         void streamResponse_completesWithErrorOnApiException() {
             // Arrange
-            when(sessionRepository.findById(testSessionId)).thenReturn(Optional.of(testSession));
             when(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(testSessionId))
                     .thenReturn(testHistory);
             when(policyDocService.getSystemPrompt(Intent.RETURN)).thenReturn("System prompt");
@@ -0,0 +1,73 @@
+package com.sinsay.service;
+
+import com.sinsay.controller.dto.DecisionStatsResponse;
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+import com.sinsay.repository.DecisionStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("DecisionStatsService")
+class DecisionStatsServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private DecisionStatRepository decisionStatRepository;
+
+    private DecisionStatsService decisionStatsService;
+
+    @BeforeEach
+    void setUp() {
+        decisionStatRepository.deleteAll();
+        decisionStatsService = new DecisionStatsService(decisionStatRepository);
+    }
+
+    @Test
+    @DisplayName("should increment one counter per day, intent and decision")
+    void record_shouldIncrementCounters() {
+        // When
+        decisionStatsService.record(DAY, Intent.RETURN, Decision.ACCEPTED);
+        decisionStatsService.record(DAY, Intent.RETURN, Decision.ACCEPTED);
+        decisionStatsService.record(DAY, Intent.COMPLAINT, Decision.REJECTED);
+
+        // Then
+        DecisionStatsResponse stats = decisionStatsService.stats(DAY, DAY);
+        assertThat(stats.days()).hasSize(2);
+        assertThat(stats.days())
+                .filteredOn(day -> day.intent() == Intent.RETURN)
+                .singleElement()
+                .satisfies(day -> assertThat(day.count()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("should total the requested range and zero-fill missing decisions")
+    void stats_shouldTotalRange() {
+        // Given
+        decisionStatsService.record(DAY.minusDays(1), Intent.RETURN, Decision.ACCEPTED);
+        decisionStatsService.record(DAY, Intent.COMPLAINT, Decision.ACCEPTED);
+        decisionStatsService.record(DAY, Intent.RETURN, Decision.UNCLEAR);
+        decisionStatsService.record(DAY.plusDays(1), Intent.RETURN, Decision.REJECTED);
+
+        // When
+        DecisionStatsResponse stats = decisionStatsService.stats(DAY.minusDays(1), DAY);
+
+        // Then
+        assertThat(stats.totals())
+                .containsEntry(Decision.ACCEPTED, 2L)
+                .containsEntry(Decision.UNCLEAR, 1L)
+                .containsEntry(Decision.REJECTED, 0L);
+        assertThat(stats.days()).extracting(day -> day.day())
+                .containsExactly(DAY.minusDays(1), DAY, DAY);
+    }
+}
@@ -0,0 +1,79 @@
+package com.sinsay.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ImageDownscaler Tests")
+class ImageDownscalerTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("should shrink the longest edge to the limit and re-encode as JPEG")
+    void downscaleToJpeg_largeImage_shrinksKeepingAspectRatio() throws IOException {
+        // Arrange
+        Path png = writePng(2000, 1000);
+
+        // Act
+        Optional<byte[]> result = ImageDownscaler.downscaleToJpeg(png, 500);
+
+        // Assert
+        assertThat(result).isPresent();
+        BufferedImage scaled = ImageIO.read(new ByteArrayInputStream(result.get()));
+        assertThat(scaled.getWidth()).isEqualTo(500);
+        assertThat(scaled.getHeight()).isEqualTo(250);
+        assertThat(result.get()[0]).isEqualTo((byte) 0xFF);
+        assertThat(result.get()[1]).isEqualTo((byte) 0xD8);
+    }
+
+    @Test
+    @DisplayName("should reach the exact limit when the edge is not a multiple of it")
+    void downscaleToJpeg_subsampledImage_reachesExactLimit() throws IOException {
+        // Arrange - decoded at every 3rd pixel (634 x 317), then scaled down smoothly
+        Path png = writePng(1900, 950);
+
+        // Act
+        Optional<byte[]> result = ImageDownscaler.downscaleToJpeg(png, 500);
+
+        // Assert
+        assertThat(result).isPresent();
+        BufferedImage scaled = ImageIO.read(new ByteArrayInputStream(result.get()));
+        assertThat(scaled.getWidth()).isEqualTo(500);
+        assertThat(scaled.getHeight()).isEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("should leave images that already fit")
+    void downscaleToJpeg_smallImage_returnsEmpty() throws IOException {
+        assertThat(ImageDownscaler.downscaleToJpeg(writePng(400, 300), 500)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should leave images it cannot decode")
+    void downscaleToJpeg_undecodableImage_returnsEmpty() throws IOException {
+        // Arrange
+        Path webp = tempDir.resolve("image.webp");
+        Files.write(webp, new byte[]{'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'});
+
+        // Act & Assert
+        assertThat(ImageDownscaler.downscaleToJpeg(webp, 500)).isEmpty();
+    }
+
+    private Path writePng(int width, int height) throws IOException {
+        Path path = tempDir.resolve(width + "x" + height + ".png");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", path.toFile());
+        return path;
+    }
+}
@@ -0,0 +1,118 @@
+package com.sinsay.service;
+
+import com.sinsay.service.dto.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ImageStore")
+class ImageStoreTests {
+
+    private static final byte[] JPEG_BYTES = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0x00, 0x10, 'J', 'F', 'I', 'F'};
+    private static final byte[] PNG_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0x00, 0x00, 0x00, 0x0D};
+
+    @TempDir
+    Path tempDir;
+
+    private ImageStore imageStore;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new ImageStore();
+        imageStore.setUploadsPath(tempDir.toString());
+    }
+
+    @Test
+    @DisplayName("should detect format from file signature regardless of declared content type")
+    void store_detectsFormatFromSignature() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("image", "photo.jpg", "image/jpeg", PNG_BYTES);
+
+        StoredImage stored = imageStore.store(file);
+
+        assertThat(stored.mimeType()).isEqualTo("image/png");
+        assertThat(stored.path().getFileName().toString()).endsWith(".png");
+    }
+
+    @Test
+    @DisplayName("should recognise WebP and GIF signatures")
+    void store_recognisesWebpAndGif() throws IOException {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+        byte[] gif = "GIF87a\1\0\1\0".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(imageStore.store(new MockMultipartFile("image", webp)).mimeType()).isEqualTo("image/webp");
+        assertThat(imageStore.store(new MockMultipartFile("image", gif)).mimeType()).isEqualTo("image/gif");
+    }
+
+    @Test
+    @DisplayName("should write the full content under its SHA-256 name")
+    void store_writesContentAddressedFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "photo.jpg", "image/jpeg", JPEG_BYTES);
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(JPEG_BYTES));
+
+        StoredImage stored = imageStore.store(file);
+
+        assertThat(stored.sha256()).isEqualTo(expectedHash);
+        assertThat(stored.size()).isEqualTo(JPEG_BYTES.length);
+        assertThat(stored.path()).isEqualTo(tempDir.resolve(expectedHash + ".jpg"));
+        assertThat(Files.readAllBytes(stored.path())).isEqualTo(JPEG_BYTES);
+    }
+
+    @Test
+    @DisplayName("should store identical uploads once")
+    void store_deduplicatesIdenticalContent() throws IOException {
+        StoredImage first = imageStore.store(new MockMultipartFile("image", "a.jpg", "image/jpeg", JPEG_BYTES));
+        StoredImage second = imageStore.store(new MockMultipartFile("image", "b.jpg", "image/jpeg", JPEG_BYTES));
+
+        assertThat(second.path()).isEqualTo(first.path());
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("should delete the file on release")
+    void release_deletesFile() throws IOException {
+        StoredImage stored = imageStore.store(new MockMultipartFile("image", "a.jpg", "image/jpeg", JPEG_BYTES));
+
+        imageStore.release(stored);
+
+        assertThat(stored.path()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should keep a shared file until the last identical upload is released")
+    void release_keepsFileWhileStillHeld() throws IOException {
+        StoredImage first = imageStore.store(new MockMultipartFile("image", "a.jpg", "image/jpeg", JPEG_BYTES));
+        StoredImage second = imageStore.store(new MockMultipartFile("image", "b.jpg", "image/jpeg", JPEG_BYTES));
+
+        imageStore.release(first);
+
+        assertThat(Files.readAllBytes(second.path())).isEqualTo(JPEG_BYTES);
+        imageStore.release(second);
+        assertThat(second.path()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should reject non-image content and leave no partial file behind")
+    void store_rejectsUnknownSignature() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("image", "doc.jpg", "image/jpeg", "%PDF-1.7".getBytes());
+
+        assertThatThrownBy(() -> imageStore.store(file))
+                .isInstanceOf(IllegalArgumentException.class);
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.sinsay.service;
+
+import com.sinsay.model.Intent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ModelRouter Tests")
+class ModelRouterTests {
+
+    private SimpleMeterRegistry registry;
+    private ModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        router = new ModelRouter(registry, "default-model",
+                "vision-small, vision-large", "vision-large", "chat-large", "chat-small");
+        router.setShortPromptChars(1000);
+        router.setBudgets(10_000, 2_000);
+        router.setStatistics(0.5, 3, 60_000);
+    }
+
+    @Nested
+    @DisplayName("candidate selection")
+    class CandidateTests {
+
+        @Test
+        @DisplayName("should use the first analysis model, or the complaint list for complaints")
+        void route_analysis_usesIntentSpecificList() {
+            assertThat(router.route(ModelRouter.CallType.ANALYSIS, Intent.RETURN, 5000)).isEqualTo("vision-small");
+            assertThat(router.route(ModelRouter.CallType.ANALYSIS, Intent.COMPLAINT, 5000)).isEqualTo("vision-large");
+        }
+
+        @Test
+        @DisplayName("should send short chat prompts to the small model and long ones to the regular model")
+        void route_chat_dependsOnPromptSize() {
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-small");
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 5000)).isEqualTo("chat-large");
+        }
+
+        @Test
+        @DisplayName("should fall back to openai.model when no lists are configured")
+        void route_noLists_usesDefaultModel() {
+            // Arrange
+            ModelRouter unconfigured = new ModelRouter(registry, "default-model", "", " ", "", "");
+
+            // Act & Assert
+            assertThat(unconfigured.route(ModelRouter.CallType.ANALYSIS, Intent.COMPLAINT, 0)).isEqualTo("default-model");
+            assertThat(unconfigured.route(ModelRouter.CallType.CHAT, Intent.RETURN, 0)).isEqualTo("default-model");
+        }
+    }
+
+    @Nested
+    @DisplayName("latency fallback")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("should skip a model whose p95 is over budget once it has enough samples")
+        void route_degradedModel_fallsBackToNextCandidate() {
+            // Arrange
+            for (int i = 0; i < 2; i++) {
+                router.record(ModelRouter.CallType.CHAT, "chat-small", Duration.ofMillis(5_000), true);
+            }
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-small");
+
+            // Act
+            router.record(ModelRouter.CallType.CHAT, "chat-small", Duration.ofMillis(5_000), true);
+
+            // Assert
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-large");
+            assertThat(registry.get(ModelRouter.DECISIONS).tag("model", "chat-large").tag("reason", "fallback")
+                    .counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should count failures as over budget")
+        void route_failingModel_fallsBackToNextCandidate() {
+            // Arrange
+            for (int i = 0; i < 3; i++) {
+                router.record(ModelRouter.CallType.ANALYSIS, "vision-small", Duration.ofMillis(100), false);
+            }
+
+            // Act & Assert
+            assertThat(router.route(ModelRouter.CallType.ANALYSIS, Intent.RETURN, 0)).isEqualTo("vision-large");
+        }
+
+        @Test
+        @DisplayName("should pick the fastest candidate when all are over budget")
+        void route_allDegraded_picksLowestP95() {
+            // Arrange
+            for (int i = 0; i < 3; i++) {
+                router.record(ModelRouter.CallType.CHAT, "chat-small", Duration.ofMillis(9_000), true);
+                router.record(ModelRouter.CallType.CHAT, "chat-large", Duration.ofMillis(4_000), true);
+            }
+
+            // Act & Assert
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-large");
+            assertThat(registry.get(ModelRouter.DECISIONS).tag("reason", "fastest").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should probe a degraded model again once it has been idle long enough")
+        void route_idleDegradedModel_getsOneProbe() {
+            // Arrange
+            router.setStatistics(0.5, 3, 0);
+            for (int i = 0; i < 3; i++) {
+                router.record(ModelRouter.CallType.CHAT, "chat-small", Duration.ofMillis(5_000), true);
+            }
+
+            // Act & Assert
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-small");
+        }
+
+        @Test
+        @DisplayName("should return to the preferred model once its latency recovers")
+        void route_recoveredModel_isPreferredAgain() {
+            // Arrange
+            for (int i = 0; i < 3; i++) {
+                router.record(ModelRouter.CallType.CHAT, "chat-small", Duration.ofMillis(5_000), true);
+            }
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-large");
+
+            // Act
+            for (int i = 0; i < 6; i++) {
+                router.record(ModelRouter.CallType.CHAT, "chat-small", Duration.ofMillis(300), true);
+            }
+
+            // Assert
+            assertThat(router.route(ModelRouter.CallType.CHAT, Intent.RETURN, 500)).isEqualTo("chat-small");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.sinsay.service;
+
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+import com.sinsay.model.Session;
+import com.sinsay.repository.ChatMessageRepository;
+import com.sinsay.repository.SessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisabledInAotMode("Mockito mocks cannot be created in AOT mode or a native image")
+class PersistenceWriterTests {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    private final SessionSnapshotService sessionSnapshotService = mock(SessionSnapshotService.class);
+    private final AtomicInteger transactions = new AtomicInteger();
+    private PersistenceWriter persistenceWriter;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository.deleteAll();
+        sessionRepository.deleteAll();
+
+        // Count the transactions the writer opens
+        PlatformTransactionManager countingManager = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                transactions.incrementAndGet();
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+        persistenceWriter = new PersistenceWriter(
+                countingManager, chatMessageRepository, sessionRepository, sessionSnapshotService, 1000, 256, 200, 1000);
+        persistenceWriter.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        persistenceWriter.stop();
+    }
+
+    @Test
+    @DisplayName("should complete the future with the saved entity and its generated id")
+    void saveSession_shouldCompleteWithGeneratedId() {
+        Session saved = persistenceWriter.saveSession(session()).join();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(sessionRepository.findById(saved.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("should group writes arriving within the batch window into one transaction")
+    void saveMessage_shouldGroupCommitConcurrentWrites() {
+        UUID sessionId = persistenceWriter.saveSession(session()).join().getId();
+        transactions.set(0);
+
+        List<CompletableFuture<ChatMessage>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(persistenceWriter.saveMessage(message(sessionId, i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(sessionId)).hasSize(50);
+        assertThat(transactions.get()).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("should extend the session snapshot with each saved message")
+    void saveMessage_shouldAppendToSnapshot() {
+        UUID sessionId = persistenceWriter.saveSession(session()).join().getId();
+
+        ChatMessage saved = persistenceWriter.saveMessage(message(sessionId, 0)).join();
+
+        verify(sessionSnapshotService).append(saved);
+    }
+
+    @Test
+    @DisplayName("should fail only the broken write when a batch cannot commit")
+    void submit_withFailingWork_shouldNotFailNeighbours() {
+        UUID sessionId = persistenceWriter.saveSession(session()).join().getId();
+
+        CompletableFuture<ChatMessage> before = persistenceWriter.saveMessage(message(sessionId, 0));
+        CompletableFuture<Object> broken = persistenceWriter.submit(() -> {
+            throw new IllegalStateException("broken write");
+        });
+        CompletableFuture<ChatMessage> after = persistenceWriter.saveMessage(message(sessionId, 1));
+
+        assertThat(before.join().getId()).isNotNull();
+        assertThat(after.join().getId()).isNotNull();
+        assertThatThrownBy(broken::join)
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("broken write");
+        assertThat(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(sessionId))
+                .extracting(ChatMessage::getSequenceNumber)
+                .containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("should reject writes once stopped")
+    void submit_afterStop_shouldFail() throws InterruptedException {
+        persistenceWriter.stop();
+
+        assertThat(persistenceWriter.saveSession(session())).isCompletedExceptionally();
+    }
+
+    private Session session() {
+        return Session.builder()
+                .intent(Intent.RETURN)
+                .orderNumber("ORD-1")
+                .productName("Product")
+                .description("Description")
+                .build();
+    }
+
+    private ChatMessage message(UUID sessionId, int sequenceNumber) {
+        return ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(Role.USER)
+                .content("Message " + sequenceNumber)
+                .sequenceNumber(sequenceNumber)
+                .build();
+    }
+}
@@ -52,6 +52,7 @@ class PolicyDocServiceTests {
 
         // Then - should contain role definition
         assertThat(prompt).contains("Sinsay online store");
+        assertThat(prompt).contains("'Decyzja: <category>'");
         assertThat(prompt).contains("zwrot");
         assertThat(prompt).contains("reklamacja");
 
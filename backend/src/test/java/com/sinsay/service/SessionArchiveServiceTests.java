@@ -0,0 +1,211 @@
+package com.sinsay.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+import com.sinsay.model.Session;
+import com.sinsay.repository.ArchivedSessionRepository;
+import com.sinsay.repository.ChatMessageRepository;
+import com.sinsay.repository.SessionRepository;
+import com.sinsay.repository.SessionSnapshotRepository;
+import com.sinsay.service.dto.SessionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("SessionArchiveService")
+class SessionArchiveServiceTests {
+
+    @TempDir
+    Path archiveDir;
+
+    @Autowired
+    private SessionArchiveService sessionArchiveService;
+
+    @Autowired
+    private SessionQueryService sessionQueryService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ArchivedSessionRepository archivedSessionRepository;
+
+    @Autowired
+    private SessionSnapshotRepository sessionSnapshotRepository;
+
+    @Autowired
+    private PersistenceWriter persistenceWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        sessionArchiveService.setArchivePath(archiveDir.toString());
+        sessionArchiveService.setChunkSize(2);
+    }
+
+    @Test
+    @DisplayName("should move old sessions out of the database into the day file")
+    void archive_movesSessionsToDayFile() {
+        // Given
+        UUID first = createSession("ORD-1", "Hello", "Hi there");
+        UUID second = createSession("ORD-2", "Question");
+        UUID third = createSession("ORD-3");
+
+        // When
+        int archived = sessionArchiveService.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        assertThat(archived).isGreaterThanOrEqualTo(3);
+        assertThat(sessionRepository.findAllById(List.of(first, second, third))).isEmpty();
+        assertThat(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(first)).isEmpty();
+        assertThat(archivedSessionRepository.findAllById(List.of(first, second, third))).hasSize(3);
+        assertThat(Files.exists(archiveDir.resolve("sessions-" + LocalDate.now() + ".ndjson.gz"))).isTrue();
+        assertThat(sessionQueryService.loadSession(first, -1, Limit.unlimited())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should leave sessions newer than the cutoff in place")
+    void archive_keepsRecentSessions() {
+        // Given
+        UUID sessionId = createSession("ORD-1", "Hello");
+
+        // When
+        int archived = sessionArchiveService.archiveSessionsCreatedBefore(LocalDateTime.now().minusDays(1));
+
+        // Then
+        assertThat(archived).isZero();
+        assertThat(sessionRepository.existsById(sessionId)).isTrue();
+        assertThat(archivedSessionRepository.existsById(sessionId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should restore archived sessions from files written across several runs")
+    void findArchived_readsAcrossAppendedRuns() {
+        // Given - two runs append two gzip members to the same day file
+        UUID first = createSession("ORD-1", "Hello", "Hi there");
+        sessionArchiveService.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+        UUID second = createSession("ORD-2", "Zażółć gęślą jaźń");
+        sessionArchiveService.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+
+        // When
+        Optional<SessionView> firstView = sessionArchiveService.findArchived(first, -1, Limit.unlimited());
+        Optional<SessionView> secondView = sessionArchiveService.findArchived(second, -1, Limit.unlimited());
+
+        // Then
+        assertThat(firstView).isPresent();
+        assertThat(firstView.get().response().session().orderNumber()).isEqualTo("ORD-1");
+        assertThat(firstView.get().response().session().decision()).isEqualTo(Decision.REJECTED);
+        assertThat(firstView.get().response().messages()).extracting(m -> m.content())
+                .containsExactly("Hello", "Hi there");
+        assertThat(firstView.get().lastSequenceNumber()).isEqualTo(1);
+        assertThat(secondView).isPresent();
+        assertThat(secondView.get().response().messages().get(0).content()).isEqualTo("Zażółć gęślą jaźń");
+    }
+
+    @Test
+    @DisplayName("should page archived messages like the live query")
+    void findArchived_appliesSequencePaging() {
+        // Given
+        UUID sessionId = createSession("ORD-1", "one", "two", "three");
+        sessionArchiveService.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+
+        // When
+        Optional<SessionView> view = sessionArchiveService.findArchived(sessionId, 0, Limit.of(1));
+
+        // Then
+        assertThat(view).isPresent();
+        assertThat(view.get().response().messages()).extracting(m -> m.content()).containsExactly("two");
+        assertThat(view.get().lastSequenceNumber()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not delete a message saved after the session was written to the day file")
+    void archive_keepsMessageSavedDuringRun() {
+        // Given - a message arrives after the session was read for the day file
+        UUID sessionId = createSession("ORD-1", "Hello", "Hi there");
+        SessionQueryService racingQueries = new SessionQueryService(sessionRepository) {
+            @Override
+            public Optional<SessionView> loadSession(UUID id, int afterSequence, Limit limit) {
+                Optional<SessionView> view = super.loadSession(id, afterSequence, limit);
+                if (chatMessageRepository.findLastSequenceNumber(sessionId).orElse(-1) == 1) {
+                    saveMessage(sessionId, "Late reply", 2);
+                }
+                return view;
+            }
+        };
+        SessionArchiveService racingArchive = new SessionArchiveService(sessionRepository, chatMessageRepository,
+                archivedSessionRepository, sessionSnapshotRepository, racingQueries, persistenceWriter, objectMapper);
+        racingArchive.setArchivePath(archiveDir.toString());
+        racingArchive.setChunkSize(2);
+
+        // When
+        int archived = racingArchive.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+
+        // Then - the session stays live with every message, and the next run archives all of it
+        assertThat(archived).isZero();
+        assertThat(archivedSessionRepository.existsById(sessionId)).isFalse();
+        assertThat(chatMessageRepository.findBySessionIdOrderBySequenceNumberAsc(sessionId)).hasSize(3);
+
+        racingArchive.archiveSessionsCreatedBefore(LocalDateTime.now().plusMinutes(1));
+        assertThat(sessionRepository.existsById(sessionId)).isFalse();
+        assertThat(racingArchive.findArchived(sessionId, -1, Limit.unlimited())).get()
+                .satisfies(view -> assertThat(view.response().messages()).extracting(m -> m.content())
+                        .containsExactly("Hello", "Hi there", "Late reply"));
+    }
+
+    @Test
+    @DisplayName("should return empty for sessions that were never archived")
+    void findArchived_unknownSession_returnsEmpty() {
+        assertThat(sessionArchiveService.findArchived(UUID.randomUUID(), -1, Limit.unlimited())).isEmpty();
+    }
+
+    private UUID createSession(String orderNumber, String... messages) {
+        Session session = sessionRepository.save(Session.builder()
+                .intent(Intent.RETURN)
+                .orderNumber(orderNumber)
+                .productName("Jeans")
+                .description("Too small")
+                .decision(Decision.REJECTED)
+                .build());
+        for (int i = 0; i < messages.length; i++) {
+            saveMessage(session.getId(), messages[i], i);
+        }
+        return session.getId();
+    }
+
+    private void saveMessage(UUID sessionId, String content, int sequenceNumber) {
+        chatMessageRepository.save(ChatMessage.builder()
+                .sessionId(sessionId)
+                .role(sequenceNumber % 2 == 0 ? Role.USER : Role.ASSISTANT)
+                .content(content)
+                .sequenceNumber(sequenceNumber)
+                .build());
+    }
+}
@@ -0,0 +1,138 @@
+package com.sinsay.service;
+
+import com.sinsay.controller.dto.SessionDto;
+import com.sinsay.controller.dto.SessionSearchResponse;
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+import com.sinsay.repository.SessionRepository;
+import com.sinsay.service.dto.SessionCursor;
+import com.sinsay.service.dto.SessionMessageRow;
+import com.sinsay.service.dto.SessionSearchCriteria;
+import com.sinsay.service.dto.SessionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode("Mockito mocks cannot be created in AOT mode or a native image")
+class SessionQueryServiceTests {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    private SessionQueryService sessionQueryService;
+
+    private final UUID sessionId = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.of(2026, 1, 15, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        sessionQueryService = new SessionQueryService(sessionRepository);
+    }
+
+    @Test
+    void loadSession_shouldAssembleSessionAndMessagesFromRows() {
+        // Arrange
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        when(sessionRepository.findSessionWithMessages(eq(sessionId), eq(-1), any(Limit.class))).thenReturn(List.of(
+                row(7, firstId, Role.USER, "Hello", 0),
+                row(7, secondId, Role.ASSISTANT, "Hi there", 1)));
+
+        // Act
+        Optional<SessionView> view = sessionQueryService.loadSession(sessionId, -1, Limit.unlimited());
+
+        // Assert
+        assertTrue(view.isPresent());
+        assertEquals(7, view.get().lastSequenceNumber());
+        assertEquals(sessionId, view.get().response().session().id());
+        assertEquals(Intent.RETURN, view.get().response().session().intent());
+        assertEquals("ORD-123", view.get().response().session().orderNumber());
+        assertEquals(2, view.get().response().messages().size());
+        assertEquals(firstId, view.get().response().messages().get(0).id());
+        assertEquals("Hi there", view.get().response().messages().get(1).content());
+        assertEquals(1, view.get().response().messages().get(1).sequenceNumber());
+    }
+
+    @Test
+    void loadSession_withSessionRowOnly_shouldReturnEmptyMessageList() {
+        // Arrange
+        when(sessionRepository.findSessionWithMessages(eq(sessionId), eq(-1), any(Limit.class)))
+                .thenReturn(List.of(row(null, null, null, null, null)));
+
+        // Act
+        Optional<SessionView> view = sessionQueryService.loadSession(sessionId, -1, Limit.unlimited());
+
+        // Assert
+        assertTrue(view.isPresent());
+        assertEquals(-1, view.get().lastSequenceNumber());
+        assertTrue(view.get().response().messages().isEmpty());
+    }
+
+    @Test
+    void loadSession_withNoRows_shouldReturnEmpty() {
+        // Arrange
+        when(sessionRepository.findSessionWithMessages(eq(sessionId), eq(-1), any(Limit.class)))
+                .thenReturn(List.of());
+
+        // Act & Assert
+        assertTrue(sessionQueryService.loadSession(sessionId, -1, Limit.unlimited()).isEmpty());
+    }
+
+    @Test
+    void search_withMoreRowsThanLimit_shouldTrimPageAndReturnCursorOfLastSession() {
+        // Arrange
+        SessionSearchCriteria criteria = new SessionSearchCriteria(null, Intent.RETURN, null, null);
+        List<SessionDto> rows = List.of(session(3), session(2), session(1));
+        when(sessionRepository.search(criteria, null, 3)).thenReturn(rows);
+
+        // Act
+        SessionSearchResponse response = sessionQueryService.search(criteria, null, 2);
+
+        // Assert
+        assertEquals(rows.subList(0, 2), response.sessions());
+        SessionCursor cursor = SessionCursor.decode(response.nextCursor());
+        assertEquals(rows.get(1).createdAt(), cursor.createdAt());
+        assertEquals(rows.get(1).id(), cursor.id());
+    }
+
+    @Test
+    void search_onLastPage_shouldReturnNoCursor() {
+        // Arrange
+        SessionSearchCriteria criteria = new SessionSearchCriteria("ORD-123", null, null, null);
+        when(sessionRepository.search(criteria, null, 3)).thenReturn(List.of(session(1)));
+
+        // Act
+        SessionSearchResponse response = sessionQueryService.search(criteria, null, 2);
+
+        // Assert
+        assertEquals(1, response.sessions().size());
+        assertNull(response.nextCursor());
+    }
+
+    private SessionDto session(int minutes) {
+        return new SessionDto(UUID.randomUUID(), Intent.RETURN, "ORD-123", "Test Product", "Test description",
+                createdAt.plusMinutes(minutes).plusNanos(123_456_000), Decision.ACCEPTED);
+    }
+
+    private SessionMessageRow row(Integer lastSequence, UUID messageId, Role role, String content, Integer sequence) {
+        return new SessionMessageRow(
+                sessionId, Intent.RETURN, "ORD-123", "Test Product", "Test description", createdAt, Decision.ACCEPTED,
+                lastSequence, messageId, role, content, sequence, messageId != null ? createdAt : null);
+    }
+}
\ No newline at end of file
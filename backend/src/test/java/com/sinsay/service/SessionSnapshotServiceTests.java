@@ -0,0 +1,189 @@
+package com.sinsay.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sinsay.model.ChatMessage;
+import com.sinsay.model.CompressedTextConverter;
+import com.sinsay.model.Decision;
+import com.sinsay.model.Intent;
+import com.sinsay.model.Role;
+import com.sinsay.model.Session;
+import com.sinsay.model.SessionSnapshot;
+import com.sinsay.repository.SessionSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("SessionSnapshotService")
+class SessionSnapshotServiceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired
+    private SessionSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionSnapshotService snapshotService;
+
+    private static final String ANSWER =
+            "Zwracany towar nie może posiadać znamion użytkowania oraz musi być oryginalnie ometkowany. ";
+
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new SessionSnapshotService(snapshotRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("should store the session and its messages as the response JSON")
+    void create_storesResponseJson() throws Exception {
+        // When
+        snapshotService.create(session(), List.of(message(0, Role.USER, "Hello"), message(1, Role.ASSISTANT, "Hi")));
+
+        // Then
+        SessionSnapshot snapshot = snapshotService.find(sessionId).orElseThrow();
+        assertThat(snapshot.getLastSequenceNumber()).isEqualTo(1);
+        JsonNode body = objectMapper.readTree(snapshot.getBody());
+        assertThat(body.at("/session/id").asText()).isEqualTo(sessionId.toString());
+        assertThat(body.at("/session/orderNumber").asText()).isEqualTo("ORD-1");
+        assertThat(body.at("/session/decision").asText()).isEqualTo("ACCEPTED");
+        assertThat(body.at("/messages/0/content").asText()).isEqualTo("Hello");
+        assertThat(body.at("/messages/1/role").asText()).isEqualTo("ASSISTANT");
+    }
+
+    @Test
+    @DisplayName("should splice appended messages into the stored JSON")
+    void append_extendsMessageArray() throws Exception {
+        // Given
+        snapshotService.create(session(), List.of());
+
+        // When
+        snapshotService.append(message(0, Role.USER, "Zwrot \"jeansów\""));
+        snapshotService.append(message(1, Role.ASSISTANT, "OK"));
+
+        // Then
+        SessionSnapshot snapshot = snapshotService.find(sessionId).orElseThrow();
+        assertThat(snapshot.getLastSequenceNumber()).isEqualTo(1);
+        JsonNode messages = objectMapper.readTree(snapshot.getBody()).get("messages");
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(0).get("content").asText()).isEqualTo("Zwrot \"jeansów\"");
+        assertThat(messages.get(1).get("sequenceNumber").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should store a long body as plain text")
+    void longBody_storedPlain() throws Exception {
+        // Given
+        String answer = ANSWER.repeat(20);
+        snapshotService.create(session(), List.of(message(0, Role.USER, "Hello")));
+
+        // When
+        snapshotService.append(message(1, Role.ASSISTANT, answer));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        String stored = storedBody();
+        assertThat(stored).startsWith("{");
+        assertThat(objectMapper.readTree(stored).at("/messages/1/content").asText()).isEqualTo(answer);
+    }
+
+    @Test
+    @DisplayName("should serve a body compressed by an earlier version and store it plain on the next append")
+    void compressedBody_readAndRewrittenPlain() throws Exception {
+        // Given
+        String answer = ANSWER.repeat(20);
+        snapshotService.create(session(), List.of(message(0, Role.USER, "Hello"), message(1, Role.ASSISTANT, answer)));
+        entityManager.flush();
+        CompressedTextConverter codec = new CompressedTextConverter();
+        codec.setEnabled(true);
+        jdbcTemplate.update("update session_snapshots set body = ? where session_id = ?",
+                codec.convertToDatabaseColumn(storedBody()), sessionId);
+        entityManager.clear();
+        assertThat(storedBody()).startsWith("\u0001z1:");
+
+        // When
+        JsonNode served = objectMapper.readTree(snapshotService.find(sessionId).orElseThrow().getBody());
+        snapshotService.append(message(2, Role.USER, "Thanks"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(served.at("/messages/1/content").asText()).isEqualTo(answer);
+        JsonNode messages = objectMapper.readTree(storedBody()).get("messages");
+        assertThat(messages).hasSize(3);
+        assertThat(messages.get(2).get("content").asText()).isEqualTo("Thanks");
+    }
+
+    @Test
+    @DisplayName("should drop the snapshot when a message arrives out of order")
+    void append_outOfOrder_dropsSnapshot() {
+        // Given
+        snapshotService.create(session(), List.of(message(0, Role.USER, "Hello"), message(1, Role.ASSISTANT, "Hi")));
+
+        // When
+        snapshotService.append(message(1, Role.ASSISTANT, "Duplicate"));
+
+        // Then
+        assertThat(snapshotService.find(sessionId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should ignore messages of sessions without a snapshot")
+    void append_withoutSnapshot_isNoOp() {
+        snapshotService.append(message(0, Role.USER, "Hello"));
+
+        assertThat(snapshotService.find(sessionId)).isEmpty();
+    }
+
+    private String storedBody() {
+        return jdbcTemplate.queryForObject(
+                "select body from session_snapshots where session_id = ?", String.class, sessionId);
+    }
+
+    private Session session() {
+        return Session.builder()
+                .id(sessionId)
+                .intent(Intent.RETURN)
+                .orderNumber("ORD-1")
+                .productName("Jeans")
+                .description("Too small")
+                .decision(Decision.ACCEPTED)
+                .createdAt(LocalDateTime.of(2026, 1, 15, 10, 0))
+                .build();
+    }
+
+    private ChatMessage message(int sequenceNumber, Role role, String content) {
+        return ChatMessage.builder()
+                .id(UUID.randomUUID())
+                .sessionId(sessionId)
+                .role(role)
+                .content(content)
+                .sequenceNumber(sequenceNumber)
+                .createdAt(LocalDateTime.of(2026, 1, 15, 10, sequenceNumber))
+                .build();
+    }
+}
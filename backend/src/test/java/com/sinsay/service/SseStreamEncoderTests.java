@@ -3,6 +3,7 @@ package com.sinsay.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.model.Decision;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -152,6 +153,28 @@ class SseStreamEncoderTests {
         }
     }
 
+    @Nested
+    @DisplayName("encodeDecision method")
+    class EncodeDecisionTests {
+
+        @Test
+        @DisplayName("should produce data-decision part with the decision and its label")
+        void encodeDecision_producesCorrectJson() throws JsonProcessingException {
+            // Arrange
+            String messageId = "550e8400-e29b-41d4-a716-446655440000";
+
+            // Act
+            String result = SseStreamEncoder.encodeDecision(messageId, Decision.REJECTED);
+
+            // Assert
+            JsonNode json = objectMapper.readTree(result);
+            assertEquals("data-decision", json.get("type").asText());
+            assertEquals(messageId, json.get("id").asText());
+            assertEquals("REJECTED", json.get("data").get("decision").asText());
+            assertEquals("Prawdopodobnie odrzucone", json.get("data").get("label").asText());
+        }
+    }
+
     @Nested
     @DisplayName("encodeTextEnd method")
     class EncodeTextEndTests {
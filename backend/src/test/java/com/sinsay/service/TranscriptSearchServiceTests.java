@@ -0,0 +1,86 @@
+package com.sinsay.service;
+
+import com.sinsay.controller.dto.MessageSearchHit;
+import com.sinsay.controller.dto.MessageSearchResponse;
+import com.sinsay.repository.ChatMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode("Mockito mocks cannot be created in AOT mode or a native image")
+class TranscriptSearchServiceTests {
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    private TranscriptSearchService transcriptSearchService;
+
+    @BeforeEach
+    void setUp() {
+        transcriptSearchService = new TranscriptSearchService(chatMessageRepository);
+    }
+
+    @Test
+    void terms_shouldLowerCaseSplitAndTrimTrailingVowels() {
+        assertEquals(List.of("rozprut", "szwy"), TranscriptSearchService.terms("Rozprute SZWY!"));
+        assertEquals(List.of("plam", "na", "kurtc"), TranscriptSearchService.terms("plamę, na kurtce"));
+        assertEquals(List.of("zamek"), TranscriptSearchService.terms("zamek zamek"));
+    }
+
+    @Test
+    void terms_shouldIgnoreSearchOperatorsAndCapTermCount() {
+        assertEquals(List.of("plam", "or", "near"), TranscriptSearchService.terms("\"plama\" OR NEAR(*)"));
+        assertEquals(TranscriptSearchService.MAX_TERMS, TranscriptSearchService.terms("a b c d e f g h i j k").size());
+    }
+
+    @Test
+    void search_withoutWords_shouldReject() {
+        assertThrows(IllegalArgumentException.class, () -> transcriptSearchService.search(" ?! ", 0, 20));
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    void search_withMoreHits_shouldReturnNextOffset() {
+        // Arrange
+        when(chatMessageRepository.searchContent(eq(List.of("plam")), eq(20), eq(3))).thenReturn(hits(3));
+
+        // Act
+        MessageSearchResponse response = transcriptSearchService.search("plama", 20, 2);
+
+        // Assert
+        assertEquals(2, response.hits().size());
+        assertEquals(22, response.nextOffset());
+    }
+
+    @Test
+    void search_onLastPage_shouldReturnNoNextOffset() {
+        // Arrange
+        when(chatMessageRepository.searchContent(anyList(), eq(0), eq(21))).thenReturn(hits(1));
+
+        // Act
+        MessageSearchResponse response = transcriptSearchService.search("plama", 0, 20);
+
+        // Assert
+        assertEquals(1, response.hits().size());
+        assertNull(response.nextOffset());
+    }
+
+    private static List<MessageSearchHit> hits(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new MessageSearchHit(UUID.randomUUID(), UUID.randomUUID(), i, "<mark>plama</mark>"))
+                .toList();
+    }
+}
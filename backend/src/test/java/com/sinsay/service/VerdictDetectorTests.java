@@ -0,0 +1,56 @@
+package com.sinsay.service;
+
+import com.sinsay.model.Decision;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerdictDetector Tests")
+class VerdictDetectorTests {
+
+    @Test
+    @DisplayName("should report the verdict once its label is complete across chunks")
+    void accept_verdictSplitAcrossChunks_reportsOnce() {
+        // Arrange
+        VerdictDetector detector = new VerdictDetector();
+
+        // Act & Assert
+        assertThat(detector.accept("Decyzja: Prawdo")).isNull();
+        assertThat(detector.accept("podobnie odrzu")).isNull();
+        assertThat(detector.accept("cone\n\nZgodnie z regulaminem")).isEqualTo(Decision.REJECTED);
+        assertThat(detector.accept(" Prawdopodobnie zaakceptowane")).isNull();
+    }
+
+    @Test
+    @DisplayName("should stop looking once the head of the response has no verdict")
+    void accept_noVerdictInHead_ignoresLaterText() {
+        // Arrange
+        VerdictDetector detector = new VerdictDetector();
+
+        // Act
+        Decision first = detector.accept("x".repeat(VerdictDetector.HEAD_LENGTH));
+        Decision later = detector.accept("Niejasne - wymaga recenzji ręcznej");
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(later).isNull();
+    }
+
+    @Test
+    @DisplayName("should give no verdict when the response does not open with a decision line")
+    void accept_categoryOutsideDecisionLine_reportsNothing() {
+        // Arrange
+        VerdictDetector detector = new VerdictDetector();
+
+        // Act
+        Decision first = detector.accept("Ta kwestia jest niejasne opisana w regulaminie, ");
+        Decision second = detector.accept("ale zwrot jest prawdopodobnie odrzucone.\n");
+        Decision later = detector.accept("Decyzja: Prawdopodobnie zaakceptowane");
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(later).isNull();
+    }
+}
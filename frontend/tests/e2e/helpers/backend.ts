@@ -3,7 +3,8 @@
  */
 
 const BACKEND_URL = 'http://localhost:8080'
-const HEALTH_ENDPOINT = `${BACKEND_URL}/actuator/health`
+// The actuator listens on the backend's management port, not on the API port
+const HEALTH_ENDPOINT = 'http://localhost:8081/actuator/health'
 const TIMEOUT_MS = 5000
 
 /**
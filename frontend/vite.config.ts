@@ -1,10 +1,53 @@
-import { defineConfig } from 'vite'
+import { defineConfig, type Plugin } from 'vite'
 import react from '@vitejs/plugin-react'
 import tailwindcss from '@tailwindcss/vite'
+import fs from 'fs'
 import path from 'path'
+import zlib from 'zlib'
+
+const outDir = '../backend/src/main/resources/static'
+
+// Writes .br and .gz next to every compressible build file, so the backend
+// serves them as-is instead of compressing on each request.
+function precompress(): Plugin {
+  const compressible = /\.(js|mjs|css|html|svg|json|txt|ico)$/
+  const minSize = 1024
+
+  const walk = (dir: string): string[] =>
+    fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+      const file = path.join(dir, entry.name)
+      return entry.isDirectory() ? walk(file) : [file]
+    })
+
+  return {
+    name: 'precompress',
+    apply: 'build',
+    closeBundle() {
+      const root = path.resolve(__dirname, outDir)
+      for (const file of walk(root)) {
+        if (!compressible.test(file)) continue
+        const content = fs.readFileSync(file)
+        if (content.length < minSize) continue
+        fs.writeFileSync(
+          `${file}.br`,
+          zlib.brotliCompressSync(content, {
+            params: {
+              [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+              [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+            },
+          }),
+        )
+        fs.writeFileSync(
+          `${file}.gz`,
+          zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }),
+        )
+      }
+    },
+  }
+}
 
 export default defineConfig({
-  plugins: [react(), tailwindcss()],
+  plugins: [react(), tailwindcss(), precompress()],
   resolve: {
     alias: {
       '@': path.resolve(__dirname, './src'),
@@ -16,7 +59,7 @@ export default defineConfig({
     },
   },
   build: {
-    outDir: '../backend/src/main/resources/static',
+    outDir,
     emptyOutDir: true,
   },
 })
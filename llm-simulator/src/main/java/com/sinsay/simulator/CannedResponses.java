@@ -0,0 +1,71 @@
+package com.sinsay.simulator;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Polish answers in the shape the backend expects: the first analysis starts with the
+ * {@code Decyzja: <category>} line the system prompt asks for, chat follow-ups are shorter.
+ */
+final class CannedResponses {
+
+    private static final List<String> RETURN_ANALYSES = List.of(
+            """
+            Decyzja: Prawdopodobnie zaakceptowane
+
+            Na zdjęciu produkt wygląda na nieużywany: metki są przypięte, nie widać śladów noszenia ani prania. \
+            Zgodnie z regulaminem zwrot jest możliwy w ciągu 30 dni od otrzymania zamówienia, o ile towar nie nosi \
+            śladów użytkowania. Proszę zapakować produkt w oryginalne opakowanie i dołączyć dowód zakupu.""",
+            """
+            Decyzja: Prawdopodobnie odrzucone
+
+            Na zdjęciu widać odcięte metki oraz ślady użytkowania na mankietach. Regulamin zwrotów w ciągu 30 dni \
+            wymaga, aby produkt był w stanie nienaruszonym. W tej sytuacji zwrot najprawdopodobniej nie zostanie \
+            przyjęty, ale ostateczną decyzję podejmie dział obsługi klienta po otrzymaniu przesyłki.""",
+            """
+            Decyzja: Niejasne - wymaga recenzji ręcznej
+
+            Zdjęcie jest nieostre i nie pozwala ocenić, czy produkt był używany. Proszę przesłać wyraźniejsze \
+            zdjęcie całego produktu z widocznymi metkami albo skontaktować się z obsługą klienta."""
+    );
+
+    private static final List<String> COMPLAINT_ANALYSES = List.of(
+            """
+            Decyzja: Prawdopodobnie zaakceptowane
+
+            Na zdjęciu widoczne jest rozejście szwu wzdłuż boku, typowe dla wady produkcyjnej. Reklamacja \
+            z tytułu niezgodności towaru z umową przysługuje przez dwa lata od wydania towaru. Sklep ma 14 dni \
+            na ustosunkowanie się do reklamacji; może zaproponować naprawę, wymianę albo zwrot pieniędzy.""",
+            """
+            Decyzja: Prawdopodobnie odrzucone
+
+            Uszkodzenie na zdjęciu wygląda na mechaniczne przetarcie powstałe w trakcie użytkowania, a nie na \
+            wadę materiału. Takie uszkodzenia zwykle nie są objęte reklamacją. Jeśli jednak produkt był noszony \
+            krótko i zgodnie z instrukcją, warto opisać okoliczności powstania uszkodzenia.""",
+            """
+            Decyzja: Niejasne - wymaga recenzji ręcznej
+
+            Na zdjęciu widać przebarwienie, ale nie da się stwierdzić, czy powstało podczas prania niezgodnego \
+            z metką, czy wynika z wady barwienia. Reklamację rozpatrzy pracownik po oględzinach produktu."""
+    );
+
+    private static final List<String> FOLLOW_UPS = List.of(
+            "Tak, do przesyłki wystarczy dołączyć paragon lub potwierdzenie zamówienia z numerem.",
+            "Zwrot pieniędzy następuje w ciągu 14 dni od otrzymania przesyłki, tą samą metodą płatności.",
+            "Możesz nadać paczkę w dowolnym punkcie przewoźnika; etykieta zwrotna jest w zakładce Moje zamówienia. "
+                    + "Pamiętaj, aby dobrze zabezpieczyć produkt w opakowaniu.",
+            "Jeśli reklamacja zostanie uznana, możesz wybrać wymianę na nowy egzemplarz albo zwrot pieniędzy."
+    );
+
+    private CannedResponses() {
+    }
+
+    /**
+     * @param analysis  True for the first, image-based analysis
+     * @param complaint True if the system prompt is about complaints rather than returns
+     */
+    static String pick(boolean analysis, boolean complaint, RandomGenerator random) {
+        List<String> pool = !analysis ? FOLLOW_UPS : complaint ? COMPLAINT_ANALYSES : RETURN_ANALYSES;
+        return pool.get(random.nextInt(pool.size()));
+    }
+}
@@ -0,0 +1,239 @@
+package com.sinsay.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@code POST /chat/completions} in the shapes the OpenAI SDK parses: a {@code chat.completion}
+ * object, or with {@code "stream": true} a series of {@code chat.completion.chunk} SSE events
+ * ending with {@code [DONE]}. Latency, errors and rate limiting follow {@link SimulatorConfig}.
+ */
+class ChatCompletionsHandler implements HttpHandler {
+
+    // The complaint policy document is only part of the system prompt for complaints
+    private static final String COMPLAINT_MARKER = "Jak złożyć reklamację";
+
+    private final SimulatorConfig config;
+    private final RandomGenerator random;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ChatCompletionsHandler(SimulatorConfig config, RandomGenerator random) {
+        this.config = config;
+        this.random = random;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "invalid_request_error", "Only POST is supported");
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+
+            double roll = random.nextDouble();
+            if (roll < config.rateLimitRate()) {
+                exchange.getResponseHeaders().add("retry-after", "1");
+                sendError(exchange, 429, "rate_limit_error", "Rate limit exceeded (simulated)");
+                return;
+            }
+            if (roll < config.rateLimitRate() + config.errorRate()) {
+                sendError(exchange, 500, "server_error", "Internal server error (simulated)");
+                return;
+            }
+
+            String model = request.path("model").asText("simulated-model");
+            boolean analysis = hasImage(request);
+            boolean complaint = systemPrompt(request).contains(COMPLAINT_MARKER);
+            List<String> tokens = tokenize(CannedResponses.pick(analysis, complaint, random));
+
+            long maxTokens = request.path("max_completion_tokens").asLong(request.path("max_tokens").asLong(0));
+            String finishReason = "stop";
+            if (maxTokens > 0 && tokens.size() > maxTokens) {
+                tokens = tokens.subList(0, (int) maxTokens);
+                finishReason = "length";
+            }
+            int promptTokens = request.toString().length() / 4;
+
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, model, tokens, finishReason, promptTokens,
+                        request.path("stream_options").path("include_usage").asBoolean(false));
+            } else {
+                complete(exchange, model, tokens, finishReason, promptTokens);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void complete(HttpExchange exchange, String model, List<String> tokens, String finishReason,
+                          int promptTokens) throws IOException, InterruptedException {
+        // A non-streaming call still pays for generating every token
+        sleep(config.ttftMs());
+        for (int i = 1; i < tokens.size(); i++) {
+            sleep(tokenIntervalMs());
+        }
+
+        ObjectNode completion = envelope("chat.completion", model);
+        ObjectNode choice = completion.putArray("choices").addObject();
+        choice.put("index", 0);
+        ObjectNode message = choice.putObject("message");
+        message.put("role", "assistant");
+        message.put("content", String.join("", tokens));
+        message.putNull("refusal");
+        choice.putNull("logprobs");
+        choice.put("finish_reason", finishReason);
+        completion.set("usage", usage(promptTokens, tokens.size()));
+
+        sendJson(exchange, 200, completion);
+    }
+
+    private void stream(HttpExchange exchange, String model, List<String> tokens, String finishReason,
+                        int promptTokens, boolean includeUsage) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        String id = "chatcmpl-sim-" + UUID.randomUUID();
+
+        sleep(config.ttftMs());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                sleep(tokenIntervalMs());
+            }
+            ObjectNode delta = objectMapper.createObjectNode();
+            if (i == 0) {
+                delta.put("role", "assistant");
+            }
+            delta.put("content", tokens.get(i));
+            sendEvent(body, chunk(id, model, delta, null));
+        }
+        sendEvent(body, chunk(id, model, objectMapper.createObjectNode(), finishReason));
+        if (includeUsage) {
+            ObjectNode usageChunk = envelope("chat.completion.chunk", model);
+            usageChunk.put("id", id);
+            usageChunk.putArray("choices");
+            usageChunk.set("usage", usage(promptTokens, tokens.size()));
+            sendEvent(body, usageChunk);
+        }
+        body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private ObjectNode chunk(String id, String model, ObjectNode delta, String finishReason) {
+        ObjectNode chunk = envelope("chat.completion.chunk", model);
+        chunk.put("id", id);
+        ObjectNode choice = chunk.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.set("delta", delta);
+        choice.putNull("logprobs");
+        if (finishReason != null) {
+            choice.put("finish_reason", finishReason);
+        } else {
+            choice.putNull("finish_reason");
+        }
+        return chunk;
+    }
+
+    private ObjectNode envelope(String object, String model) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", "chatcmpl-sim-" + UUID.randomUUID());
+        node.put("object", object);
+        node.put("created", System.currentTimeMillis() / 1000);
+        node.put("model", model);
+        return node;
+    }
+
+    private ObjectNode usage(int promptTokens, int completionTokens) {
+        ObjectNode usage = objectMapper.createObjectNode();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        return usage;
+    }
+
+    private void sendEvent(OutputStream body, ObjectNode event) throws IOException {
+        body.write(("data: " + objectMapper.writeValueAsString(event) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private void sendError(HttpExchange exchange, int status, String type, String message) throws IOException {
+        ObjectNode error = objectMapper.createObjectNode();
+        ObjectNode details = error.putObject("error");
+        details.put("message", message);
+        details.put("type", type);
+        details.putNull("param");
+        details.putNull("code");
+        sendJson(exchange, status, error);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, ObjectNode json) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(json);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private long tokenIntervalMs() {
+        return config.tokensPerSecond() > 0 ? Math.round(1000 / config.tokensPerSecond()) : 0;
+    }
+
+    /**
+     * Sleeps for the mean delay with Gaussian jitter; virtual threads make this cheap even with
+     * thousands of concurrent streams.
+     */
+    private void sleep(long meanMs) throws InterruptedException {
+        if (meanMs <= 0) {
+            return;
+        }
+        double factor = Math.max(0, 1 + config.jitter() * random.nextGaussian());
+        Thread.sleep(Math.round(meanMs * factor));
+    }
+
+    private static boolean hasImage(JsonNode request) {
+        for (JsonNode message : request.path("messages")) {
+            for (JsonNode part : message.path("content")) {
+                if ("image_url".equals(part.path("type").asText())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String systemPrompt(JsonNode request) {
+        for (JsonNode message : request.path("messages")) {
+            String role = message.path("role").asText();
+            if ("system".equals(role) || "developer".equals(role)) {
+                return message.path("content").asText("");
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Splits text into word-sized tokens, each keeping its trailing whitespace.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= text.length(); i++) {
+            if (i == text.length() || (Character.isWhitespace(text.charAt(i - 1)) && !Character.isWhitespace(text.charAt(i)))) {
+                tokens.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,60 @@
+package com.sinsay.simulator;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Standalone OpenAI-compatible server for performance tests without a provider key.
+ * Serves {@code /v1/chat/completions} (and {@code /chat/completions}); point the backend's
+ * {@code OPENAI_BASE_URL} at {@code http://localhost:<port>/v1}.
+ */
+public class LlmSimulator implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public LlmSimulator(SimulatorConfig config) throws IOException {
+        Random random = config.seed() != null ? new Random(config.seed()) : new Random();
+        ChatCompletionsHandler handler = new ChatCompletionsHandler(config, random);
+
+        server = HttpServer.create(new InetSocketAddress(config.port()), 0);
+        server.createContext("/v1/chat/completions", handler);
+        server.createContext("/chat/completions", handler);
+        // Any other path (e.g. the backend's connection pre-warm) gets an empty 200
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.sendResponseHeaders(200, -1);
+            }
+        });
+        // Each request sleeps most of its time away: one virtual thread per request
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+    }
+
+    public LlmSimulator start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        SimulatorConfig config = SimulatorConfig.fromArgs(args);
+        LlmSimulator simulator = new LlmSimulator(config).start();
+        System.out.printf("LLM simulator listening on http://localhost:%d/v1 (%s)%n", simulator.port(), config);
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+    }
+}
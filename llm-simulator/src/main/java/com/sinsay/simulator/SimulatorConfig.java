@@ -0,0 +1,54 @@
+package com.sinsay.simulator;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Simulator settings. Each one is read from a {@code --name=value} argument, then from the
+ * environment variable {@code SIM_NAME} (upper case, dashes as underscores), then the default.
+ *
+ * @param port            HTTP port (0 picks a free one)
+ * @param ttftMs          Mean time to first token, in milliseconds
+ * @param tokensPerSecond Mean streaming rate after the first token (0 = no delay)
+ * @param jitter          Relative standard deviation applied to every delay (0.2 = ±20%)
+ * @param errorRate       Share of requests answered with 500
+ * @param rateLimitRate   Share of requests answered with 429 and {@code retry-after}
+ * @param seed            Random seed, or null for a random one
+ */
+public record SimulatorConfig(
+        int port,
+        long ttftMs,
+        double tokensPerSecond,
+        double jitter,
+        double errorRate,
+        double rateLimitRate,
+        Long seed) {
+
+    public static SimulatorConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        String seed = value(values, "seed", "");
+        return new SimulatorConfig(
+                Integer.parseInt(value(values, "port", "8089")),
+                Long.parseLong(value(values, "ttft-ms", "400")),
+                Double.parseDouble(value(values, "tokens-per-second", "40")),
+                Double.parseDouble(value(values, "jitter", "0.2")),
+                Double.parseDouble(value(values, "error-rate", "0")),
+                Double.parseDouble(value(values, "rate-limit-rate", "0")),
+                seed.isBlank() ? null : Long.parseLong(seed));
+    }
+
+    private static String value(Map<String, String> args, String name, String defaultValue) {
+        String fromArgs = args.get(name);
+        if (fromArgs != null) {
+            return fromArgs;
+        }
+        String fromEnv = System.getenv("SIM_" + name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        return fromEnv != null ? fromEnv : defaultValue;
+    }
+}
@@ -0,0 +1,133 @@
+package com.sinsay.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LlmSimulator Tests")
+class LlmSimulatorTests {
+
+    private static final String ANALYSIS_REQUEST = """
+            {"model":"vision-model","messages":[
+              {"role":"system","content":"# Jak złożyć reklamację?"},
+              {"role":"user","content":[
+                {"type":"image_url","image_url":{"url":"data:image/jpeg;base64,AAAA"}},
+                {"type":"text","text":"Szew się rozszedł"}]}]}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private LlmSimulator simulator;
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    @DisplayName("should answer an image analysis with a chat.completion starting with the verdict line")
+    void nonStreaming_analysis_returnsCompletionWithVerdict() throws Exception {
+        // Arrange
+        simulator = start(0, 0);
+
+        // Act
+        HttpResponse<String> response = post(ANALYSIS_REQUEST);
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode completion = objectMapper.readTree(response.body());
+        assertThat(completion.path("object").asText()).isEqualTo("chat.completion");
+        assertThat(completion.path("model").asText()).isEqualTo("vision-model");
+        assertThat(completion.path("choices").get(0).path("message").path("content").asText())
+                .startsWith("Decyzja: ");
+        assertThat(completion.path("choices").get(0).path("finish_reason").asText()).isEqualTo("stop");
+        assertThat(completion.path("usage").path("completion_tokens").asInt()).isPositive();
+    }
+
+    @Test
+    @DisplayName("should stream chunks ending with [DONE] and cut the answer at max_completion_tokens")
+    void streaming_followUp_streamsChunksAndHonoursTokenLimit() throws Exception {
+        // Arrange
+        simulator = start(0, 0);
+        String request = """
+                {"model":"chat-model","stream":true,"max_completion_tokens":3,
+                 "messages":[{"role":"developer","content":"prompt"},{"role":"user","content":"Jak odesłać paczkę?"}]}""";
+
+        // Act
+        HttpResponse<String> response = post(request);
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("content-type")).contains("text/event-stream");
+        List<JsonNode> chunks = new ArrayList<>();
+        for (String event : response.body().split("\n\n")) {
+            assertThat(event).startsWith("data: ");
+            if (!event.equals("data: [DONE]")) {
+                chunks.add(objectMapper.readTree(event.substring("data: ".length())));
+            }
+        }
+        assertThat(response.body()).endsWith("data: [DONE]\n\n");
+        assertThat(chunks).hasSize(4);
+        assertThat(chunks.get(0).path("choices").get(0).path("delta").path("role").asText()).isEqualTo("assistant");
+        assertThat(chunks.get(3).path("choices").get(0).path("finish_reason").asText()).isEqualTo("length");
+    }
+
+    @Test
+    @DisplayName("should answer 429 with retry-after when rate limiting is injected")
+    void rateLimitInjection_returns429() throws Exception {
+        // Arrange
+        simulator = start(1.0, 0);
+
+        // Act
+        HttpResponse<String> response = post(ANALYSIS_REQUEST);
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(429);
+        assertThat(response.headers().firstValue("retry-after")).contains("1");
+        assertThat(objectMapper.readTree(response.body()).path("error").path("type").asText())
+                .isEqualTo("rate_limit_error");
+    }
+
+    @Test
+    @DisplayName("should answer 500 when errors are injected")
+    void errorInjection_returns500() throws Exception {
+        // Arrange
+        simulator = start(0, 1.0);
+
+        // Act & Assert
+        assertThat(post(ANALYSIS_REQUEST).statusCode()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("should split text into tokens that keep their trailing whitespace")
+    void tokenize_keepsWhitespace() {
+        assertThat(ChatCompletionsHandler.tokenize("Decyzja: Niejasne\n\nZdjęcie"))
+                .containsExactly("Decyzja: ", "Niejasne\n\n", "Zdjęcie");
+    }
+
+    private LlmSimulator start(double rateLimitRate, double errorRate) throws IOException {
+        return new LlmSimulator(new SimulatorConfig(0, 0, 0, 0, errorRate, rateLimitRate, 42L)).start();
+    }
+
+    private HttpResponse<String> post(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + simulator.port() + "/v1/chat/completions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
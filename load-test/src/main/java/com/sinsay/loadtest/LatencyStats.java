@@ -0,0 +1,69 @@
+package com.sinsay.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe collector of latency samples for one measurement. Every sample is kept, so the
+ * percentiles are exact; a run produces at most a few hundred thousand samples.
+ */
+final class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long millis) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = millis;
+    }
+
+    synchronized void recordError() {
+        errors++;
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        long attempts = count + errors;
+        return new Summary(
+                count,
+                errors,
+                attempts == 0 ? 0 : (double) errors / attempts,
+                count == 0 ? 0 : (double) total / count,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1]);
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples.
+     */
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * @param count     Successful samples
+     * @param errors    Failed attempts, not part of the latencies
+     * @param errorRate Failed share of all attempts
+     * @param meanMs    Mean latency
+     * @param p50Ms     Median latency
+     * @param p95Ms     95th percentile latency
+     * @param p99Ms     99th percentile latency
+     * @param maxMs     Slowest sample
+     */
+    record Summary(long count, long errors, double errorRate, double meanMs, long p50Ms, long p95Ms, long p99Ms,
+                   long maxMs) {
+    }
+}
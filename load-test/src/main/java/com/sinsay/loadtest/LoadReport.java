@@ -0,0 +1,154 @@
+package com.sinsay.loadtest;
+
+import com.sinsay.loadtest.LatencyStats.Summary;
+import com.sinsay.loadtest.ResourceSampler.Usage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of one run, stored as JSON so that a later run can be compared against it.
+ *
+ * @param startedAt         Start of the run, ISO-8601
+ * @param users             Concurrent virtual users
+ * @param turns             Chat turns per session
+ * @param elapsedSeconds    Wall-clock time from the first request to the last response
+ * @param requestsPerSecond Successful requests (session creations and chat turns) per second
+ * @param sessionsPerSecond Completed journeys per second
+ * @param latencies         Latency summary per measurement, keyed by {@code session.create},
+ *                          {@code chat.ttft} and {@code chat.response}
+ * @param resources         Backend heap and thread usage during the run
+ */
+record LoadReport(
+        String startedAt,
+        int users,
+        int turns,
+        double elapsedSeconds,
+        double requestsPerSecond,
+        double sessionsPerSecond,
+        Map<String, Summary> latencies,
+        Usage resources) {
+
+    static final String SESSION_CREATE = "session.create";
+    static final String CHAT_TTFT = "chat.ttft";
+    static final String CHAT_RESPONSE = "chat.response";
+
+    // Latency differences below this are noise on a local machine, whatever the percentage
+    private static final long MIN_REGRESSION_MS = 50;
+    // Error rates may rise by up to one percentage point before counting as a regression
+    private static final double ERROR_RATE_SLACK = 0.01;
+
+    static LoadReport of(LoadTestConfig config, String startedAt, double elapsedSeconds,
+                         Measurements measurements, Usage resources) {
+        Map<String, Summary> latencies = new LinkedHashMap<>();
+        latencies.put(SESSION_CREATE, measurements.sessionCreate.summarize());
+        latencies.put(CHAT_TTFT, measurements.chatTtft.summarize());
+        latencies.put(CHAT_RESPONSE, measurements.chatResponse.summarize());
+        long requests = latencies.get(SESSION_CREATE).count() + latencies.get(CHAT_RESPONSE).count();
+        return new LoadReport(
+                startedAt,
+                config.users(),
+                config.turns(),
+                elapsedSeconds,
+                elapsedSeconds > 0 ? requests / elapsedSeconds : 0,
+                elapsedSeconds > 0 ? measurements.sessionsCompleted.sum() / elapsedSeconds : 0,
+                latencies,
+                resources);
+    }
+
+    /**
+     * @return One line per objective the run missed; empty if every objective was met
+     */
+    List<String> sloViolations(LoadTestConfig config) {
+        List<String> violations = new ArrayList<>();
+        Summary ttft = latencies.get(CHAT_TTFT);
+        if (ttft.p95Ms() > config.sloTtftP95Ms()) {
+            violations.add(String.format(Locale.ROOT, "%s p95 %d ms exceeds the %d ms objective",
+                    CHAT_TTFT, ttft.p95Ms(), config.sloTtftP95Ms()));
+        }
+        for (String name : List.of(SESSION_CREATE, CHAT_RESPONSE)) {
+            Summary summary = latencies.get(name);
+            if (summary.p95Ms() > config.sloResponseP95Ms()) {
+                violations.add(String.format(Locale.ROOT, "%s p95 %d ms exceeds the %d ms objective",
+                        name, summary.p95Ms(), config.sloResponseP95Ms()));
+            }
+            if (summary.errorRate() > config.sloErrorRate()) {
+                violations.add(String.format(Locale.ROOT, "%s error rate %.2f%% exceeds the %.2f%% objective",
+                        name, summary.errorRate() * 100, config.sloErrorRate() * 100));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Compares this run against a stored one.
+     *
+     * @param baseline  Earlier report, usually from the main branch
+     * @param tolerance Relative change allowed before a metric counts as regressed (0.2 = 20%)
+     * @return One line per regressed metric; empty if nothing regressed
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        if (requestsPerSecond < baseline.requestsPerSecond() * (1 - tolerance)) {
+            regressions.add(String.format(Locale.ROOT, "throughput %.2f req/s is below the baseline %.2f req/s",
+                    requestsPerSecond, baseline.requestsPerSecond()));
+        }
+        for (Map.Entry<String, Summary> entry : latencies.entrySet()) {
+            Summary before = baseline.latencies().get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Summary now = entry.getValue();
+            compareLatency(regressions, entry.getKey() + " p95", now.p95Ms(), before.p95Ms(), tolerance);
+            compareLatency(regressions, entry.getKey() + " p99", now.p99Ms(), before.p99Ms(), tolerance);
+            if (now.errorRate() > before.errorRate() + ERROR_RATE_SLACK) {
+                regressions.add(String.format(Locale.ROOT, "%s error rate %.2f%% is above the baseline %.2f%%",
+                        entry.getKey(), now.errorRate() * 100, before.errorRate() * 100));
+            }
+        }
+        // Resource usage is only comparable when both runs could read the backend's metrics
+        if (resources.samples() > 0 && baseline.resources().samples() > 0) {
+            if (resources.heapUsedMaxMb() > baseline.resources().heapUsedMaxMb() * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "max heap %.0f MB is above the baseline %.0f MB",
+                        resources.heapUsedMaxMb(), baseline.resources().heapUsedMaxMb()));
+            }
+            if (resources.threadsLiveMax() > baseline.resources().threadsLiveMax() * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "max live threads %d is above the baseline %d",
+                        resources.threadsLiveMax(), baseline.resources().threadsLiveMax()));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Human-readable summary for the console.
+     */
+    String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%d users, %d turns, %.1f s: %.2f req/s, %.2f sessions/s%n",
+                users, turns, elapsedSeconds, requestsPerSecond, sessionsPerSecond));
+        text.append(String.format(Locale.ROOT, "%-15s %8s %7s %8s %8s %8s %8s %8s%n",
+                "", "count", "errors", "mean", "p50", "p95", "p99", "max"));
+        latencies.forEach((name, s) -> text.append(String.format(Locale.ROOT,
+                "%-15s %8d %6.2f%% %6.0fms %6dms %6dms %6dms %6dms%n",
+                name, s.count(), s.errorRate() * 100, s.meanMs(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs())));
+        if (resources.samples() > 0) {
+            text.append(String.format(Locale.ROOT, "heap used: max %.0f MB, mean %.0f MB; live threads: max %d, mean %.0f%n",
+                    resources.heapUsedMaxMb(), resources.heapUsedMeanMb(), resources.threadsLiveMax(),
+                    resources.threadsLiveMean()));
+        } else {
+            text.append("heap and thread usage unavailable (is /actuator/metrics exposed?)").append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    private static void compareLatency(List<String> regressions, String name, long now, long before,
+                                       double tolerance) {
+        if (now > before * (1 + tolerance) && now - before >= MIN_REGRESSION_MS) {
+            regressions.add(String.format(Locale.ROOT, "%s %d ms is above the baseline %d ms", name, now, before));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.sinsay.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: virtual users create sessions and stream chat turns against a running
+ * backend (normally pointed at the LLM simulator), then the run is reported, checked against the
+ * latency objectives and compared with the stored baseline. Exits with 1 if an objective is
+ * missed or a metric regressed, so it can gate a CI job.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        LoadReport report = run(config);
+        System.out.print(report.format());
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        write(objectMapper, report, config.reportPath());
+        System.out.println("Report written to " + config.reportPath());
+
+        List<String> failures = new ArrayList<>(report.sloViolations(config));
+        if (Files.exists(config.baselinePath())) {
+            LoadReport baseline = objectMapper.readValue(config.baselinePath().toFile(), LoadReport.class);
+            failures.addAll(report.regressionsAgainst(baseline, config.tolerance()));
+        } else {
+            System.out.println("No baseline at " + config.baselinePath() + ", skipping the comparison");
+        }
+        if (config.writeBaseline()) {
+            write(objectMapper, report, config.baselinePath());
+            System.out.println("Baseline written to " + config.baselinePath());
+        }
+
+        failures.forEach(failure -> System.out.println("FAIL: " + failure));
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    static LoadReport run(LoadTestConfig config) throws IOException, InterruptedException {
+        long seed = config.seed() != null ? config.seed() : System.nanoTime();
+        SampleImages images = new SampleImages(config.imageSizes(), seed);
+        images.all().forEach((size, bytes) ->
+                System.out.printf("Image %s: %d KB%n", size, bytes.length / 1024));
+
+        // HTTP/1.1 like a browser talking to Tomcat; one virtual thread per user keeps
+        // thousands of open streams cheap on the load generator side
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Measurements measurements = new Measurements();
+        Random seeds = new Random(seed);
+
+        String startedAt = Instant.now().toString();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        long rampStepNanos = config.users() > 1
+                ? TimeUnit.SECONDS.toNanos(config.rampUpSeconds()) / (config.users() - 1) : 0;
+
+        try (ResourceSampler sampler = new ResourceSampler(httpClient, config.managementUrl())
+                .start(config.sampleIntervalMs());
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                users.submit(new VirtualUser(config, httpClient, images, measurements,
+                        new Random(seeds.nextLong()), deadline));
+                if (rampStepNanos > 0 && i < config.users() - 1) {
+                    TimeUnit.NANOSECONDS.sleep(rampStepNanos);
+                }
+            }
+            users.shutdown();
+            // Journeys started before the deadline are allowed to finish
+            long grace = config.requestTimeoutMs() * (config.turns() + 1);
+            if (!users.awaitTermination(config.durationSeconds() * 1000L + grace, TimeUnit.MILLISECONDS)) {
+                users.shutdownNow();
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            sampler.sample();
+            return LoadReport.of(config, startedAt, elapsedSeconds, measurements, sampler.usage());
+        }
+    }
+
+    private static void write(ObjectMapper objectMapper, LoadReport report, Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        objectMapper.writeValue(path.toFile(), report);
+    }
+}
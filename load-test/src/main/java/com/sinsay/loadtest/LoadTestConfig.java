@@ -0,0 +1,119 @@
+package com.sinsay.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings. Each one is read from a {@code --name=value} argument, then from the
+ * environment variable {@code LOAD_NAME} (upper case, dashes as underscores), then the default.
+ *
+ * @param baseUrl            Backend URL, without a trailing slash
+ * @param managementUrl      Backend actuator URL (the management port), without a trailing slash
+ * @param users              Concurrent virtual users
+ * @param rampUpSeconds      Time over which the users are started
+ * @param durationSeconds    Time after which no new session is started
+ * @param turns              Streamed chat turns per session after the analysis
+ * @param thinkTimeMs        Mean pause before each chat turn
+ * @param complaintShare     Share of sessions created with the COMPLAINT intent
+ * @param imageSizes         Uploaded image dimensions; each session picks one at random
+ * @param requestTimeoutMs   Timeout of a single request, including the whole stream
+ * @param sampleIntervalMs   How often heap and thread usage are read from the actuator
+ * @param reportPath         Where the JSON report is written
+ * @param baselinePath       Report to compare against, if the file exists
+ * @param writeBaseline      Whether to store this run's report as the new baseline
+ * @param tolerance          Relative regression allowed against the baseline (0.2 = 20%)
+ * @param sloTtftP95Ms       Time-to-first-token p95 objective for chat turns
+ * @param sloResponseP95Ms   Full-response p95 objective for chat turns and session creation
+ * @param sloErrorRate       Highest acceptable share of failed requests
+ * @param seed               Random seed, or null for a random one
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        String managementUrl,
+        int users,
+        int rampUpSeconds,
+        int durationSeconds,
+        int turns,
+        long thinkTimeMs,
+        double complaintShare,
+        List<ImageSize> imageSizes,
+        long requestTimeoutMs,
+        long sampleIntervalMs,
+        Path reportPath,
+        Path baselinePath,
+        boolean writeBaseline,
+        double tolerance,
+        long sloTtftP95Ms,
+        long sloResponseP95Ms,
+        double sloErrorRate,
+        Long seed) {
+
+    /**
+     * Width and height of an uploaded image, in pixels.
+     */
+    public record ImageSize(int width, int height) {
+
+        static ImageSize parse(String value) {
+            String[] parts = value.trim().toLowerCase(Locale.ROOT).split("x");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Image size must look like 1600x1200: " + value);
+            }
+            return new ImageSize(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+
+        @Override
+        public String toString() {
+            return width + "x" + height;
+        }
+    }
+
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        // Phone photos are the common case; the small one matches a screenshot or a resized upload
+        List<ImageSize> imageSizes = new ArrayList<>();
+        for (String size : value(values, "image-sizes", "800x600,1600x1200,4032x3024").split(",")) {
+            imageSizes.add(ImageSize.parse(size));
+        }
+        String baseUrl = value(values, "base-url", "http://localhost:8080");
+        String managementUrl = value(values, "management-url", "http://localhost:8081");
+        String seed = value(values, "seed", "");
+        return new LoadTestConfig(
+                baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl,
+                managementUrl.endsWith("/") ? managementUrl.substring(0, managementUrl.length() - 1) : managementUrl,
+                Integer.parseInt(value(values, "users", "20")),
+                Integer.parseInt(value(values, "ramp-up-seconds", "10")),
+                Integer.parseInt(value(values, "duration-seconds", "60")),
+                Integer.parseInt(value(values, "turns", "3")),
+                Long.parseLong(value(values, "think-time-ms", "2000")),
+                Double.parseDouble(value(values, "complaint-share", "0.5")),
+                List.copyOf(imageSizes),
+                Long.parseLong(value(values, "request-timeout-ms", "120000")),
+                Long.parseLong(value(values, "sample-interval-ms", "1000")),
+                Path.of(value(values, "report", "target/load-test-report.json")),
+                Path.of(value(values, "baseline", "baseline.json")),
+                Boolean.parseBoolean(value(values, "write-baseline", "false")),
+                Double.parseDouble(value(values, "tolerance", "0.2")),
+                Long.parseLong(value(values, "slo-ttft-p95-ms", "2000")),
+                Long.parseLong(value(values, "slo-response-p95-ms", "15000")),
+                Double.parseDouble(value(values, "slo-error-rate", "0.01")),
+                seed.isBlank() ? null : Long.parseLong(seed));
+    }
+
+    private static String value(Map<String, String> args, String name, String defaultValue) {
+        String fromArgs = args.get(name);
+        if (fromArgs != null) {
+            return fromArgs;
+        }
+        String fromEnv = System.getenv("LOAD_" + name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        return fromEnv != null ? fromEnv : defaultValue;
+    }
+}
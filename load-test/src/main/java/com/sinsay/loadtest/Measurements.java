@@ -0,0 +1,19 @@
+package com.sinsay.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Everything the virtual users measure, shared between them.
+ */
+final class Measurements {
+
+    /** Multipart upload through to the analysis response. */
+    final LatencyStats sessionCreate = new LatencyStats();
+    /** Chat request sent to the first {@code text-delta}. */
+    final LatencyStats chatTtft = new LatencyStats();
+    /** Chat request sent to {@code text-end}; failed turns are counted here. */
+    final LatencyStats chatResponse = new LatencyStats();
+
+    final LongAdder sessionsStarted = new LongAdder();
+    final LongAdder sessionsCompleted = new LongAdder();
+}
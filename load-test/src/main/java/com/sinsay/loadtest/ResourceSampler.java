@@ -0,0 +1,108 @@
+package com.sinsay.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.OptionalDouble;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the backend's actuator metrics endpoint for heap and thread usage while the test runs.
+ * A backend without the metrics endpoint exposed simply yields an empty {@link Usage}.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final HttpClient httpClient;
+    private final String managementUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("resource-sampler").factory());
+
+    private int samples;
+    private double heapMaxMb;
+    private double heapTotalMb;
+    private double threadsMax;
+    private double threadsTotal;
+
+    ResourceSampler(HttpClient httpClient, String managementUrl) {
+        this.httpClient = httpClient;
+        this.managementUrl = managementUrl;
+    }
+
+    ResourceSampler start(long intervalMs) {
+        scheduler.scheduleAtFixedRate(this::sample, 0, intervalMs, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    void sample() {
+        OptionalDouble heapBytes = read("jvm.memory.used?tag=area:heap");
+        OptionalDouble threads = read("jvm.threads.live");
+        if (heapBytes.isEmpty() || threads.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            samples++;
+            heapMaxMb = Math.max(heapMaxMb, heapBytes.getAsDouble() / BYTES_PER_MB);
+            heapTotalMb += heapBytes.getAsDouble() / BYTES_PER_MB;
+            threadsMax = Math.max(threadsMax, threads.getAsDouble());
+            threadsTotal += threads.getAsDouble();
+        }
+    }
+
+    synchronized Usage usage() {
+        if (samples == 0) {
+            return new Usage(0, 0, 0, 0, 0);
+        }
+        return new Usage(samples, heapMaxMb, heapTotalMb / samples, (int) threadsMax, threadsTotal / samples);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private OptionalDouble read(String metric) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/metrics/" + metric))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return OptionalDouble.empty();
+            }
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                if ("VALUE".equals(measurement.path("statistic").asText())) {
+                    return OptionalDouble.of(measurement.path("value").asDouble());
+                }
+            }
+            return OptionalDouble.empty();
+        } catch (IOException e) {
+            return OptionalDouble.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * @param samples         Successful reads; 0 if the metrics endpoint was unavailable
+     * @param heapUsedMaxMb   Highest heap usage seen
+     * @param heapUsedMeanMb  Mean heap usage
+     * @param threadsLiveMax  Highest live platform thread count seen
+     * @param threadsLiveMean Mean live platform thread count
+     */
+    record Usage(int samples, double heapUsedMaxMb, double heapUsedMeanMb, int threadsLiveMax,
+                 double threadsLiveMean) {
+    }
+}
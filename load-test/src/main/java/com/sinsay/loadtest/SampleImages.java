@@ -0,0 +1,96 @@
+package com.sinsay.loadtest;
+
+import com.sinsay.loadtest.LoadTestConfig.ImageSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Photo-like JPEG uploads, generated once per size. Flat synthetic images compress to a few
+ * kilobytes, so sensor-like noise is added to bring the file size close to a real phone photo
+ * of the same dimensions.
+ */
+final class SampleImages {
+
+    private static final float JPEG_QUALITY = 0.9f;
+    private static final int NOISE_AMPLITUDE = 10;
+
+    private final Map<ImageSize, byte[]> images = new LinkedHashMap<>();
+
+    SampleImages(List<ImageSize> sizes, long seed) throws IOException {
+        Random random = new Random(seed);
+        for (ImageSize size : sizes) {
+            images.put(size, generate(size, random));
+        }
+    }
+
+    byte[] pick(RandomGenerator random) {
+        List<byte[]> all = List.copyOf(images.values());
+        return all.get(random.nextInt(all.size()));
+    }
+
+    Map<ImageSize, byte[]> all() {
+        return images;
+    }
+
+    private static byte[] generate(ImageSize size, Random random) throws IOException {
+        BufferedImage image = new BufferedImage(size.width(), size.height(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            // Background, then a garment-sized shape with a seam across it
+            graphics.setPaint(new GradientPaint(0, 0, new Color(214, 206, 196),
+                    size.width(), size.height(), new Color(158, 150, 142)));
+            graphics.fillRect(0, 0, size.width(), size.height());
+            graphics.setColor(new Color(random.nextInt(200), random.nextInt(200), random.nextInt(200)));
+            graphics.fillRoundRect(size.width() / 6, size.height() / 8, size.width() * 2 / 3, size.height() * 3 / 4,
+                    size.width() / 10, size.width() / 10);
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.drawLine(size.width() / 2, size.height() / 8, size.width() / 2, size.height() * 7 / 8);
+        } finally {
+            graphics.dispose();
+        }
+
+        int[] row = new int[size.width()];
+        for (int y = 0; y < size.height(); y++) {
+            image.getRGB(0, y, size.width(), 1, row, 0, size.width());
+            for (int x = 0; x < row.length; x++) {
+                int noise = random.nextInt(2 * NOISE_AMPLITUDE + 1) - NOISE_AMPLITUDE;
+                row[x] = (clamp(((row[x] >> 16) & 0xff) + noise) << 16)
+                        | (clamp(((row[x] >> 8) & 0xff) + noise) << 8)
+                        | clamp((row[x] & 0xff) + noise);
+            }
+            image.setRGB(0, y, size.width(), 1, row, 0, size.width());
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(buffer)) {
+            writer.setOutput(output);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return buffer.toByteArray();
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
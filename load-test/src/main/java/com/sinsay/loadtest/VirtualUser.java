@@ -0,0 +1,236 @@
+package com.sinsay.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * One simulated customer: creates a session with a photo upload, then asks follow-up questions
+ * over the streamed chat endpoint, the way the frontend does. Repeats until the deadline.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final List<String> QUESTIONS = List.of(
+            "Czy muszę dołączyć paragon do paczki?",
+            "Ile czasu trwa zwrot pieniędzy?",
+            "Gdzie mogę nadać paczkę ze zwrotem?",
+            "Czy mogę wymienić produkt na inny rozmiar?",
+            "Co jeśli reklamacja zostanie odrzucona?");
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final SampleImages images;
+    private final Measurements measurements;
+    private final RandomGenerator random;
+    private final long deadlineNanos;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    VirtualUser(LoadTestConfig config, HttpClient httpClient, SampleImages images, Measurements measurements,
+                RandomGenerator random, long deadlineNanos) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.images = images;
+        this.measurements = measurements;
+        this.random = random;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            try {
+                runSession();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * One complete journey: the analysis, then {@code turns} chat messages. A failed step ends the
+     * journey, since the next step would fail the same way.
+     */
+    void runSession() throws InterruptedException {
+        ArrayNode history = objectMapper.createArrayNode();
+        UUID sessionId = createSession(history);
+        if (sessionId == null) {
+            return;
+        }
+        measurements.sessionsStarted.increment();
+        for (int turn = 0; turn < config.turns(); turn++) {
+            think();
+            if (!chat(sessionId, history, QUESTIONS.get(random.nextInt(QUESTIONS.size())))) {
+                return;
+            }
+        }
+        measurements.sessionsCompleted.increment();
+    }
+
+    private UUID createSession(ArrayNode history) throws InterruptedException {
+        String intent = random.nextDouble() < config.complaintShare() ? "COMPLAINT" : "RETURN";
+        String boundary = "----load-test-" + UUID.randomUUID();
+        MultipartBody body = new MultipartBody(boundary)
+                .field("intent", intent)
+                .field("orderNumber", "PL" + (100000 + random.nextInt(900000)))
+                .field("productName", "Sukienka midi")
+                .field("description", "Rozszedł się szew po pierwszym praniu")
+                .file("image", "photo.jpg", "image/jpeg", images.pick(random));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/api/sessions"))
+                .timeout(Duration.ofMillis(config.requestTimeoutMs()))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.build()))
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                measurements.sessionCreate.recordError();
+                return null;
+            }
+            measurements.sessionCreate.record(elapsedMs(start));
+            JsonNode analysis = objectMapper.readTree(response.body());
+            history.add(message("assistant", analysis.path("message").asText()));
+            return UUID.fromString(analysis.path("sessionId").asText());
+        } catch (IOException | IllegalArgumentException e) {
+            measurements.sessionCreate.recordError();
+            return null;
+        }
+    }
+
+    /**
+     * Sends one chat turn and reads the UI message stream to the end. Time to first token is the
+     * first {@code text-delta}; the response is complete at {@code text-end}, so a stream the
+     * backend closes with an error counts as failed. Like the frontend, the next turn waits for
+     * the stream to close: the backend only closes it once both messages are persisted.
+     */
+    private boolean chat(UUID sessionId, ArrayNode history, String question) throws InterruptedException {
+        history.add(message("user", question));
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.set("messages", history);
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(config.baseUrl() + "/api/sessions/" + sessionId + "/messages"))
+                .timeout(Duration.ofMillis(config.requestTimeoutMs()))
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                if (response.statusCode() != 200) {
+                    measurements.chatResponse.recordError();
+                    return false;
+                }
+                StringBuilder answer = new StringBuilder();
+                boolean firstToken = true;
+                boolean complete = false;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    JsonNode event = objectMapper.readTree(line.substring("data:".length()).trim());
+                    switch (event.path("type").asText()) {
+                        case "text-delta" -> {
+                            if (firstToken) {
+                                measurements.chatTtft.record(elapsedMs(start));
+                                firstToken = false;
+                            }
+                            answer.append(event.path("delta").asText());
+                        }
+                        case "text-end" -> {
+                            measurements.chatResponse.record(elapsedMs(start));
+                            history.add(message("assistant", answer.toString()));
+                            complete = true;
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                if (!complete) {
+                    measurements.chatResponse.recordError();
+                }
+                return complete;
+            }
+        } catch (IOException e) {
+            measurements.chatResponse.recordError();
+            return false;
+        }
+    }
+
+    /**
+     * Pause while the customer reads the answer and types the next question, ±50%.
+     */
+    private void think() throws InterruptedException {
+        if (config.thinkTimeMs() > 0) {
+            Thread.sleep(Math.round(config.thinkTimeMs() * (0.5 + random.nextDouble())));
+        }
+    }
+
+    private ObjectNode message(String role, String text) {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("role", role);
+        message.putArray("content").addObject().put("type", "text").put("text", text);
+        return message;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Minimal {@code multipart/form-data} encoder; the JDK client has no body publisher for it.
+     */
+    private static final class MultipartBody {
+
+        private final String boundary;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        MultipartBody(String boundary) {
+            this.boundary = boundary;
+        }
+
+        MultipartBody field(String name, String value) {
+            write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                    + value + "\r\n");
+            return this;
+        }
+
+        MultipartBody file(String name, String filename, String contentType, byte[] content) {
+            write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                    + filename + "\"\r\nContent-Type: " + contentType + "\r\n\r\n");
+            buffer.writeBytes(content);
+            write("\r\n");
+            return this;
+        }
+
+        byte[] build() {
+            write("--" + boundary + "--\r\n");
+            return buffer.toByteArray();
+        }
+
+        private void write(String text) {
+            buffer.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
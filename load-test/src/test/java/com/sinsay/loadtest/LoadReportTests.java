@@ -0,0 +1,128 @@
+package com.sinsay.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sinsay.loadtest.LatencyStats.Summary;
+import com.sinsay.loadtest.ResourceSampler.Usage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LoadReport Tests")
+class LoadReportTests {
+
+    private static final LoadTestConfig CONFIG = LoadTestConfig.fromArgs(new String[]{
+            "--slo-ttft-p95-ms=1000", "--slo-response-p95-ms=5000", "--slo-error-rate=0.01"});
+
+    @Nested
+    @DisplayName("LatencyStats")
+    class LatencyStatsTests {
+
+        @Test
+        @DisplayName("should report nearest-rank percentiles and the error rate")
+        void summarize_computesPercentilesAndErrorRate() {
+            // Arrange
+            LatencyStats stats = new LatencyStats();
+            for (int i = 1; i <= 2000; i++) {
+                stats.record(i);
+            }
+            stats.recordError();
+            stats.recordError();
+
+            // Act
+            Summary summary = stats.summarize();
+
+            // Assert
+            assertThat(summary.count()).isEqualTo(2000);
+            assertThat(summary.p50Ms()).isEqualTo(1000);
+            assertThat(summary.p95Ms()).isEqualTo(1900);
+            assertThat(summary.p99Ms()).isEqualTo(1980);
+            assertThat(summary.maxMs()).isEqualTo(2000);
+            assertThat(summary.meanMs()).isEqualTo(1000.5);
+            assertThat(summary.errorRate()).isEqualTo(2.0 / 2002);
+        }
+
+        @Test
+        @DisplayName("should summarize an empty measurement as zeros")
+        void summarize_empty_returnsZeros() {
+            Summary summary = new LatencyStats().summarize();
+
+            assertThat(summary.count()).isZero();
+            assertThat(summary.p99Ms()).isZero();
+            assertThat(summary.errorRate()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Objectives and baseline comparison")
+    class ComparisonTests {
+
+        @Test
+        @DisplayName("should list every missed latency and error objective")
+        void sloViolations_reportsMissedObjectives() {
+            // Arrange
+            LoadReport report = report(10, 400, 1200, 6000, 0.05, 512, 40);
+
+            // Act & Assert
+            assertThat(report.sloViolations(CONFIG)).containsExactly(
+                    "chat.ttft p95 1200 ms exceeds the 1000 ms objective",
+                    "chat.response p95 6000 ms exceeds the 5000 ms objective",
+                    "chat.response error rate 5.00% exceeds the 1.00% objective");
+        }
+
+        @Test
+        @DisplayName("should flag slower percentiles, lower throughput and higher resource usage")
+        void regressionsAgainst_flagsRegressedMetrics() {
+            // Arrange
+            LoadReport baseline = report(10, 400, 500, 3000, 0, 512, 40);
+            LoadReport current = report(7, 410, 800, 3000, 0, 700, 41);
+
+            // Act & Assert
+            assertThat(current.regressionsAgainst(baseline, 0.2)).containsExactly(
+                    "throughput 7.00 req/s is below the baseline 10.00 req/s",
+                    "chat.ttft p95 800 ms is above the baseline 500 ms",
+                    "chat.ttft p99 800 ms is above the baseline 500 ms",
+                    "max heap 700 MB is above the baseline 512 MB");
+        }
+
+        @Test
+        @DisplayName("should ignore small absolute latency changes and changes within tolerance")
+        void regressionsAgainst_withinTolerance_returnsEmpty() {
+            // Arrange
+            LoadReport baseline = report(10, 20, 500, 3000, 0, 512, 40);
+            LoadReport current = report(9, 60, 590, 3500, 0.005, 600, 44);
+
+            // Act & Assert
+            assertThat(current.regressionsAgainst(baseline, 0.2)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should read back the JSON it writes")
+        void json_roundTrips() throws Exception {
+            // Arrange
+            ObjectMapper objectMapper = new ObjectMapper();
+            LoadReport report = report(10, 400, 500, 3000, 0.01, 512, 40);
+
+            // Act
+            LoadReport read = objectMapper.readValue(objectMapper.writeValueAsString(report), LoadReport.class);
+
+            // Assert
+            assertThat(read).isEqualTo(report);
+        }
+    }
+
+    private static LoadReport report(double requestsPerSecond, long createP95, long ttftP95, long responseP95,
+                                     double chatErrorRate, double heapMaxMb, int threadsMax) {
+        Map<String, Summary> latencies = new LinkedHashMap<>();
+        latencies.put(LoadReport.SESSION_CREATE, new Summary(100, 0, 0, createP95, createP95, createP95, createP95, createP95));
+        latencies.put(LoadReport.CHAT_TTFT, new Summary(300, 0, 0, ttftP95, ttftP95, ttftP95, ttftP95, ttftP95));
+        latencies.put(LoadReport.CHAT_RESPONSE,
+                new Summary(300, 0, chatErrorRate, responseP95, responseP95, responseP95, responseP95, responseP95));
+        return new LoadReport("2026-01-01T00:00:00Z", 20, 3, 60, requestsPerSecond, requestsPerSecond / 4,
+                latencies, new Usage(60, heapMaxMb, heapMaxMb / 2, threadsMax, threadsMax));
+    }
+}
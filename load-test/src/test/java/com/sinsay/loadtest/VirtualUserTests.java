@@ -0,0 +1,120 @@
+package com.sinsay.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VirtualUser Tests")
+class VirtualUserTests {
+
+    private static final String SESSION_ID = UUID.randomUUID().toString();
+
+    private HttpServer server;
+    private final List<String> uploads = new CopyOnWriteArrayList<>();
+    private volatile boolean completeStreams = true;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Stands in for the backend: the analysis JSON, then a UI message stream per chat turn
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/sessions", exchange -> {
+            try (exchange) {
+                if (exchange.getRequestURI().getPath().endsWith("/messages")) {
+                    stream(exchange);
+                } else {
+                    uploads.add(exchange.getRequestHeaders().getFirst("Content-Type")
+                            + "\n" + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1));
+                    send(exchange, "application/json",
+                            "{\"sessionId\":\"" + SESSION_ID + "\",\"message\":\"Decyzja: Niejasne\"}");
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("should upload the form with an image and measure every streamed chat turn")
+    void runSession_completeJourney_recordsAllMeasurements() throws Exception {
+        // Arrange
+        Measurements measurements = new Measurements();
+        VirtualUser user = user(measurements);
+
+        // Act
+        user.runSession();
+
+        // Assert
+        assertThat(uploads).hasSize(1);
+        assertThat(uploads.getFirst()).startsWith("multipart/form-data; boundary=")
+                .contains("name=\"intent\"", "name=\"orderNumber\"", "filename=\"photo.jpg\"");
+        assertThat(measurements.sessionCreate.summarize().count()).isEqualTo(1);
+        assertThat(measurements.chatTtft.summarize().count()).isEqualTo(2);
+        assertThat(measurements.chatResponse.summarize().count()).isEqualTo(2);
+        assertThat(measurements.chatResponse.summarize().errors()).isZero();
+        assertThat(measurements.sessionsCompleted.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should count a stream closed before text-end as a failed turn and stop the journey")
+    void runSession_truncatedStream_recordsError() throws Exception {
+        // Arrange
+        completeStreams = false;
+        Measurements measurements = new Measurements();
+
+        // Act
+        user(measurements).runSession();
+
+        // Assert
+        assertThat(measurements.chatTtft.summarize().count()).isEqualTo(1);
+        assertThat(measurements.chatResponse.summarize().count()).isZero();
+        assertThat(measurements.chatResponse.summarize().errors()).isEqualTo(1);
+        assertThat(measurements.sessionsStarted.sum()).isEqualTo(1);
+        assertThat(measurements.sessionsCompleted.sum()).isZero();
+    }
+
+    private VirtualUser user(Measurements measurements) throws IOException {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[]{
+                "--base-url=http://localhost:" + server.getAddress().getPort() + "/",
+                "--turns=2", "--think-time-ms=0", "--image-sizes=64x48", "--request-timeout-ms=5000"});
+        return new VirtualUser(config, HttpClient.newHttpClient(), new SampleImages(config.imageSizes(), 1),
+                measurements, new Random(1), System.nanoTime());
+    }
+
+    private void stream(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        StringBuilder events = new StringBuilder()
+                .append("data: {\"type\":\"start\",\"messageId\":\"m\"}\n\n")
+                .append("data: {\"type\":\"text-start\",\"id\":\"m\"}\n\n")
+                .append("data: {\"type\":\"text-delta\",\"id\":\"m\",\"delta\":\"Tak, \"}\n\n")
+                .append("data: {\"type\":\"text-delta\",\"id\":\"m\",\"delta\":\"wystarczy paragon.\"}\n\n");
+        if (completeStreams) {
+            events.append("data: {\"type\":\"text-end\",\"id\":\"m\"}\n\n");
+        }
+        send(exchange, "text/event-stream", events.toString());
+    }
+
+    private static void send(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}